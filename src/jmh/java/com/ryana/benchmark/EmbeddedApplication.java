@@ -0,0 +1,26 @@
+package com.ryana.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ryana.Application;
+
+/*
+ * Starts the application without a web server on the embedded profile (in-memory H2)
+ * and lets EmployeeSeeder generate the given number of synthetic employees.
+ */
+final class EmbeddedApplication {
+
+	private EmbeddedApplication() {
+	}
+
+	static ConfigurableApplicationContext start(int employees) {
+		final var application = new SpringApplication(Application.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		return application.run("--spring.profiles.active=embedded", "--employee.seed.location=",
+				"--employee.seed.generated=" + employees, "--spring.main.banner-mode=off",
+				"--logging.level.root=WARN", "--logging.level.com.ryana=WARN");
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.ryana.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryana.config.CompressionProperties;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.mapper.EmployeeMapper;
+import com.ryana.service.GzipCompressor;
+
+/*
+ * CPU cost of gzipping a GET /employees body: a GZIPOutputStream per response, as EmployeeResponseCache
+ * used to, against the pooled Deflaters of GzipCompressor, at the fastest and the default level.
+ * The bytes on the wire for each level are reported next to the score as the jsonBytes and gzipBytes
+ * secondary results, run with -prof gc for the allocation of each variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeCompressionBenchmark {
+
+	@Param({ "100", "10000" })
+	private int size;
+
+	@Param({ "1", "6" })
+	private int level;
+
+	private byte[] json;
+	private GzipCompressor gzipCompressor;
+
+	@Setup
+	public void setup() throws IOException {
+		final var objectMapper = new ObjectMapper();
+		objectMapper.findAndRegisterModules();
+		json = objectMapper.writerFor(new TypeReference<List<EmployeeDTO>>() {
+		}).writeValueAsBytes(EmployeeMapper.INSTANCE.toEmployeeDTOs(Employees.generate(size)));
+		gzipCompressor = new GzipCompressor(new CompressionProperties(0, level, 16));
+	}
+
+	@Benchmark
+	public byte[] gzipOutputStream(WireBytes wireBytes) throws IOException {
+		final var out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+		try (final var gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] pooledGzip(WireBytes wireBytes) {
+		return gzipCompressor.gzip(json);
+	}
+
+	/*
+	 * Size of one response body, identity and gzip coded. The counters are set rather than incremented
+	 * so every iteration reports the size itself, not a total that grows with the number of operations.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class WireBytes {
+
+		public long jsonBytes;
+		public long gzipBytes;
+
+		@Setup(Level.Iteration)
+		public void measure(EmployeeCompressionBenchmark benchmark) {
+			jsonBytes = benchmark.json.length;
+			gzipBytes = benchmark.gzipCompressor.gzip(benchmark.json).length;
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.ryana.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+
+import com.ryana.domain.Employee;
+import com.ryana.mapper.EmployeeMapper;
+
+/*
+ * Reflective BeanUtils copy EmployeeService.update used to apply to the managed entity,
+ * against the generated MapStruct update it applies now and plain setters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeCopyBenchmark {
+
+	private Employee source;
+	private Employee target;
+
+	@Setup
+	public void setup() {
+		final var random = new SplittableRandom(42);
+		source = Employees.employee(1, random);
+		target = Employees.employee(1, random);
+	}
+
+	@Benchmark
+	public Employee beanUtilsCopyProperties() {
+		BeanUtils.copyProperties(source, target, Employee.class);
+		return target;
+	}
+
+	@Benchmark
+	public Employee mapStructUpdateEmployee() {
+		EmployeeMapper.INSTANCE.updateEmployee(source, target);
+		return target;
+	}
+
+	@Benchmark
+	public Employee setters() {
+		target.setName(source.getName());
+		target.setGender(source.getGender());
+		target.setDoj(source.getDoj());
+		target.setSalary(source.getSalary());
+		return target;
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.ryana.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.ryana.config.JournalProperties;
+import com.ryana.config.JournalProperties.Fsync;
+import com.ryana.domain.Employee;
+import com.ryana.repository.DurableEmployeeStore;
+import com.ryana.repository.InMemoryEmployeeRepository;
+
+/*
+ * Committed writes per second into the journaled in-memory store, every save outside of a transaction
+ * so each one waits for its own commit. With ALWAYS the 8 writers share the forces (group commit),
+ * INTERVAL and NEVER show the cost of the log append alone. Plain in-memory saves are the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class EmployeeJournalBenchmark {
+
+	@Param({ "none", "ALWAYS", "INTERVAL", "NEVER" })
+	private String fsync;
+
+	@Param({ "10000" })
+	private int employees;
+
+	private Path directory;
+	private DurableEmployeeStore store;
+	private InMemoryEmployeeRepository employeeRepository;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		if ("none".equals(fsync)) {
+			employeeRepository = new InMemoryEmployeeRepository();
+		} else {
+			directory = Files.createTempDirectory("employee-journal");
+			store = new DurableEmployeeStore(new JournalProperties(directory, Fsync.valueOf(fsync),
+					Duration.ofMillis(10), DataSize.ofMegabytes(64), Duration.ofMinutes(10)));
+			employeeRepository = store.open();
+		}
+		employeeRepository.saveAll(Employees.generate(employees));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		if (store != null) {
+			store.close();
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Benchmark
+	public Employee save() {
+		final var random = ThreadLocalRandom.current();
+		final var employee = Employees.employee(random.nextLong(1, employees + 1), new SplittableRandom(random.nextLong()));
+		return employeeRepository.save(employee);
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.ryana.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ryana.Application;
+
+/*
+ * Request throughput of GET /employees?after=&limit=20 over HTTP, every page a query, under the logging
+ * of the default profile (synchronous console and file appenders, com.ryana at TRACE, Hibernate SQL at
+ * DEBUG and the bound parameters at TRACE) and of the prod profile (async garbage-free loggers, SQL and
+ * binder logging off). Both write to the console and ./logs as the application does, the fork's console
+ * output is what JMH prints between iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class EmployeeLoggingBenchmark {
+
+	@Param({ "10000" })
+	private int employees;
+
+	@Param({ "default", "prod" })
+	private String logging;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private String pages;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final var args = new ArrayList<>(List.of("--server.port=0", "--employee.seed.location=",
+				"--employee.seed.generated=" + employees, "--spring.main.banner-mode=off"));
+		if ("prod".equals(logging)) {
+			args.add("--spring.profiles.active=embedded,prod");
+		} else {
+			// the embedded profile turns SQL logging off, the default one logs it
+			args.addAll(List.of("--spring.profiles.active=embedded", "--logging.level.org.hibernate.SQL=DEBUG",
+					"--logging.level.org.hibernate.orm.jdbc.bind=TRACE"));
+		}
+		final var arguments = args.toArray(String[]::new);
+		Application.configureLogging(arguments);
+		context = new SpringApplication(Application.class).run(arguments);
+		final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		pages = "http://localhost:" + port + "/employees?limit=20&after=";
+		httpClient = HttpClient.newHttpClient();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int findPage() throws IOException, InterruptedException {
+		final var after = ThreadLocalRandom.current().nextLong(0, employees);
+		return httpClient.send(HttpRequest.newBuilder(URI.create(pages + after)).build(), BodyHandlers.discarding())
+				.statusCode();
+	}
+
+}
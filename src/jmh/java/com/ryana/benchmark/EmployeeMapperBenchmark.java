@@ -0,0 +1,46 @@
+package com.ryana.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ryana.domain.Employee;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.mapper.EmployeeMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeMapperBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private List<Employee> employees;
+	private List<EmployeeDTO> employeeDTOs;
+
+	@Setup
+	public void setup() {
+		employees = Employees.generate(size);
+		employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> toEmployeeDTOs() {
+		return EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+	}
+
+	@Benchmark
+	public List<Employee> toEmployees() {
+		return EmployeeMapper.INSTANCE.toEmployees(employeeDTOs);
+	}
+
+}
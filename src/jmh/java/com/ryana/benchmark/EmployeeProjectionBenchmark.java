@@ -0,0 +1,98 @@
+package com.ryana.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.mapper.EmployeeMapper;
+import com.ryana.repository.EmployeeRepository;
+
+/*
+ * Managed entities copied by EmployeeMapper, as the read endpoints used to load them,
+ * against the EmployeeDTO projections they use now, each in its own transaction.
+ * The gc profiler reports the bytes allocated per call as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeProjectionBenchmark {
+
+	@Param({ "10000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeRepository employeeRepository;
+	private TransactionTemplate transactionTemplate;
+	private SplittableRandom random;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = EmbeddedApplication.start(employees);
+		employeeRepository = context.getBean(EmployeeRepository.class);
+		transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		transactionTemplate.setReadOnly(true);
+		random = new SplittableRandom(7);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> findAllEntities() {
+		return transactionTemplate
+				.execute(status -> EmployeeMapper.INSTANCE.toEmployeeDTOs(employeeRepository.findAll()));
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> findAllProjected() {
+		return transactionTemplate.execute(status -> employeeRepository.findAllDTOs());
+	}
+
+	@Benchmark
+	public Optional<EmployeeDTO> findByIdEntity() {
+		final var id = random.nextLong(1, employees + 1);
+		return transactionTemplate
+				.execute(status -> employeeRepository.findById(id).map(EmployeeMapper.INSTANCE::toEmployeeDTO));
+	}
+
+	@Benchmark
+	public Optional<EmployeeDTO> findByIdProjected() {
+		final var id = random.nextLong(1, employees + 1);
+		return transactionTemplate.execute(status -> employeeRepository.findDTOById(id));
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> findByYearEntities() {
+		final var from = LocalDate.of(random.nextInt(2010, 2025), 1, 1);
+		return transactionTemplate.execute(status -> EmployeeMapper.INSTANCE
+				.toEmployeeDTOs(employeeRepository.findJoinedBetween(from, from.plusYears(1), Pageable.unpaged())));
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> findByYearProjected() {
+		final var from = LocalDate.of(random.nextInt(2010, 2025), 1, 1);
+		return transactionTemplate
+				.execute(status -> employeeRepository.findDTOsJoinedBetween(from, from.plusYears(1)));
+	}
+
+}
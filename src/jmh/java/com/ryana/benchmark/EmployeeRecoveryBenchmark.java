@@ -0,0 +1,144 @@
+package com.ryana.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.ryana.config.JournalProperties;
+import com.ryana.config.JournalProperties.Fsync;
+import com.ryana.domain.Gender;
+import com.ryana.repository.DurableEmployeeStore;
+import com.ryana.repository.EmployeeJournal;
+import com.ryana.repository.EmployeeRepository;
+import com.ryana.repository.InMemoryEmployeeRepository;
+import com.ryana.repository.MappedEmployeeJournal;
+
+/*
+ * Time to restart a journaled store of records employees, from the journal alone and from a snapshot
+ * taken after the last write. The files are written once per trial and copied before every iteration,
+ * the recovered store is closed after it, so each open() starts from the same crash image.
+ * The recovered records and the bytes read from disk are reported as secondary results.
+ * 10M employees need about 6 GB of heap, set jvmArgsAppend = ['-Xmx8g'] for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeRecoveryBenchmark {
+
+	// the journal variant writes into a new directory, there is nothing to recover
+	private static final EmployeeJournal.Replay EMPTY = new EmployeeJournal.Replay() {
+
+		@Override
+		public void put(long id, String name, Gender gender, int joinDay, double salary, long version) {
+			throw new IllegalStateException("not a new directory");
+		}
+
+		@Override
+		public void delete(long id) {
+			throw new IllegalStateException("not a new directory");
+		}
+
+		@Override
+		public void clear() {
+			throw new IllegalStateException("not a new directory");
+		}
+
+	};
+
+	@Param({ "10000000" })
+	private int records;
+
+	@Param({ "journal", "snapshot" })
+	private String from;
+
+	private Path source;
+	private Path directory;
+	private DurableEmployeeStore store;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		source = Files.createTempDirectory("employee-recovery");
+		if ("snapshot".equals(from)) {
+			// closing checkpoints, the journal holds nothing after the snapshot
+			try (final var store = new DurableEmployeeStore(properties(source))) {
+				save(store.open());
+			}
+		} else {
+			try (final var journal = new MappedEmployeeJournal(properties(source))) {
+				journal.open(0, EMPTY);
+				save(new InMemoryEmployeeRepository(journal));
+			}
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void copy() throws IOException {
+		directory = Files.createTempDirectory("employee-recovery");
+		FileSystemUtils.copyRecursively(source, directory);
+	}
+
+	@TearDown(Level.Iteration)
+	public void close() throws IOException {
+		store.close();
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(source);
+	}
+
+	@Benchmark
+	public long recover(Recovered recovered) {
+		store = new DurableEmployeeStore(properties(directory));
+		recovered.records = store.open().count();
+		return recovered.records;
+	}
+
+	// diskBytes is what open() reads, the copy is of the same files
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Recovered {
+
+		public long records;
+		public long diskBytes;
+
+		@Setup(Level.Iteration)
+		public void measure(EmployeeRecoveryBenchmark benchmark) throws IOException {
+			try (final var files = Files.walk(benchmark.source)) {
+				diskBytes = files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+			}
+		}
+
+	}
+
+	private void save(EmployeeRepository employeeRepository) {
+		final var random = new SplittableRandom(records);
+		for (var id = 1; id <= records; id++) {
+			employeeRepository.save(Employees.employee(id, random));
+		}
+	}
+
+	private static JournalProperties properties(Path directory) {
+		return new JournalProperties(directory, Fsync.NEVER, Duration.ofMillis(10), DataSize.ofMegabytes(64),
+				Duration.ofDays(1));
+	}
+
+}
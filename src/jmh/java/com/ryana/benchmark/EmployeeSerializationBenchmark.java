@@ -0,0 +1,88 @@
+package com.ryana.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.mapper.EmployeeMapper;
+
+/*
+ * Jackson round trip of List<EmployeeDTO>, doj goes through the @JsonFormat LocalDate path.
+ * format compares text JSON with the binary CBOR and Smile encodings the controller negotiates,
+ * the payload size of each is reported as the payloadBytes secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeSerializationBenchmark {
+
+	@Param({ "100", "10000" })
+	private int size;
+
+	@Param({ "json", "cbor", "smile" })
+	private String format;
+
+	private List<EmployeeDTO> employeeDTOs;
+	private byte[] encoded;
+	private ObjectWriter writer;
+	private ObjectReader reader;
+
+	@Setup
+	public void setup() throws IOException {
+		final var objectMapper = switch (format) {
+		case "cbor" -> new ObjectMapper(new CBORFactory());
+		case "smile" -> new ObjectMapper(new SmileFactory());
+		default -> new ObjectMapper();
+		};
+		objectMapper.findAndRegisterModules();
+		final var type = new TypeReference<List<EmployeeDTO>>() {
+		};
+		writer = objectMapper.writerFor(type);
+		reader = objectMapper.readerFor(type);
+		employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(Employees.generate(size));
+		encoded = writer.writeValueAsBytes(employeeDTOs);
+	}
+
+	@Benchmark
+	public byte[] serialize(Payload payload) throws IOException {
+		return writer.writeValueAsBytes(employeeDTOs);
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> deserialize(Payload payload) throws IOException {
+		return reader.readValue(encoded);
+	}
+
+	// set once per iteration, so the result is the size of one payload and not a running total
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Payload {
+
+		public long payloadBytes;
+
+		@Setup(Level.Iteration)
+		public void measure(EmployeeSerializationBenchmark benchmark) {
+			payloadBytes = benchmark.encoded.length;
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.ryana.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.service.EmployeeService;
+
+/*
+ * End to end EmployeeService calls, including caching and transactions, against embedded H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+	@Param({ "100000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private SplittableRandom random;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = EmbeddedApplication.start(employees);
+		employeeService = context.getBean(EmployeeService.class);
+		random = new SplittableRandom(7);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<EmployeeDTO> findDTOById() {
+		return employeeService.findDTOById(random.nextLong(1, employees + 1));
+	}
+
+	@Benchmark
+	public Optional<Employee> findById() {
+		return employeeService.findById(random.nextLong(1, employees + 1));
+	}
+
+	@Benchmark
+	public Double findAverageSalaryByGender() {
+		return employeeService.findAverageSalaryByGender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE);
+	}
+
+	@Benchmark
+	public List<EmployeeDTO> findByYear() {
+		return employeeService.findByYear(random.nextInt(2010, 2025));
+	}
+
+	@Benchmark
+	public List<Employee> findPage() {
+		return employeeService.findPage(random.nextLong(0, employees), 100);
+	}
+
+}
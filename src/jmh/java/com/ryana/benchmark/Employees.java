@@ -0,0 +1,34 @@
+package com.ryana.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+
+/*
+ * Deterministic synthetic employees shared by the benchmarks.
+ */
+final class Employees {
+
+	private static final LocalDate FIRST_JOINING_DATE = LocalDate.of(2010, 1, 1);
+	private static final int JOINING_DAYS = 15 * 365;
+
+	private Employees() {
+	}
+
+	static List<Employee> generate(int size) {
+		final var random = new SplittableRandom(size);
+		return IntStream.rangeClosed(1, size).mapToObj(id -> employee(id, random)).toList();
+	}
+
+	static Employee employee(long id, SplittableRandom random) {
+		return Employee.builder().id(id).name("employee-" + id)
+				.gender(random.nextBoolean() ? Gender.MALE : Gender.FEMALE)
+				.doj(FIRST_JOINING_DATE.plusDays(random.nextInt(JOINING_DAYS)))
+				.salary(Math.round(random.nextDouble(10_000, 100_000) * 100) / 100.0).build();
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.ryana.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/*
+ * Year of joining lookup written as YEAR(doj) = ?, which cannot use employee_doj_idx,
+ * versus the half-open date range EmployeeService issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JoiningYearQueryBenchmark {
+
+	@Param({ "1000000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private SplittableRandom random;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		context = EmbeddedApplication.start(employees);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		random = new SplittableRandom(7);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> yearFunctionScan() {
+		return jdbcTemplate.queryForList("select * from employee where year(doj) = ?", random.nextInt(2010, 2025));
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> dateRangeIndex() {
+		final var from = LocalDate.of(random.nextInt(2010, 2025), 1, 1);
+		return jdbcTemplate.queryForList("select * from employee where doj >= ? and doj < ?", Date.valueOf(from),
+				Date.valueOf(from.plusYears(1)));
+	}
+
+}
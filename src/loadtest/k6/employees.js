@@ -0,0 +1,56 @@
+/*
+ * Compares the platform thread default with the virtual thread execution mode.
+ *
+ *   ./gradlew bootRun --args='--employee.threads.virtual=false'
+ *   mkdir -p build/reports/k6
+ *   k6 run -e MODE=platform -e CLIENTS=1000 src/loadtest/k6/employees.js
+ *   k6 run -e MODE=platform -e CLIENTS=10000 src/loadtest/k6/employees.js
+ *
+ * then restart with ./gradlew bootRun -PvirtualThreads --args='--employee.threads.virtual=true'
+ * and run both again with MODE=virtual. Each run prints throughput (http_reqs/s) and the p99 of
+ * http_req_duration and keeps them in build/reports/k6/<mode>-<clients>.json. In the virtual mode
+ * the application log names every monitor that pinned a carrier thread during the run.
+ */
+import http from 'k6/http';
+import { check } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CLIENTS = parseInt(__ENV.CLIENTS || '1000');
+const MAX_ID = parseInt(__ENV.MAX_ID || '100');
+const MODE = __ENV.MODE || 'platform';
+
+export const options = {
+	scenarios: {
+		employees: {
+			executor: 'constant-vus',
+			vus: CLIENTS,
+			duration: __ENV.DURATION || '60s',
+		},
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+	const id = Math.floor(Math.random() * MAX_ID) + 1;
+	const responses = http.batch([
+		['GET', `${BASE_URL}/employees/${id}`],
+		['GET', `${BASE_URL}/employees?after=${id}&limit=50`],
+		['GET', `${BASE_URL}/employees/year/${2015 + (id % 9)}`],
+		['GET', `${BASE_URL}/employees/averageSalary/${id % 2 === 0 ? 'MALE' : 'FEMALE'}`],
+	]);
+	responses.forEach((response) => check(response, { 'status is 2xx or 404': (r) => r.status < 300 || r.status === 404 }));
+}
+
+export function handleSummary(data) {
+	return {
+		stdout: textSummary(data, { indent: ' ', enableColors: true }),
+		[`build/reports/k6/${MODE}-${CLIENTS}.json`]: JSON.stringify({
+			mode: MODE,
+			clients: CLIENTS,
+			throughput: data.metrics.http_reqs.values.rate,
+			p99: data.metrics.http_req_duration.values['p(99)'],
+			failed: data.metrics.http_req_failed ? data.metrics.http_req_failed.values.rate : 0,
+		}, null, 2),
+	};
+}
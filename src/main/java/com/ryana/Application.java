@@ -1,13 +1,50 @@
 package com.ryana;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Stream;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
+@ConfigurationPropertiesScan
 @SpringBootApplication
 public class Application {
 
+	private static final String PROFILES_ARGUMENT = "--spring.profiles.active=";
+
 	public static void main(String[] args) {
+		configureLogging(args);
 		SpringApplication.run(Application.class, args);
 	}
 
+	/*
+	 * Log4j reads its garbage-free and ring buffer settings once, when it starts and before Spring has
+	 * resolved the profiles. A run with the prod profile gets log4j2-prod.component.properties as
+	 * system properties here, every other run keeps the Log4j defaults. An explicit -D wins.
+	 */
+	public static void configureLogging(String... args) {
+		final var arguments = Arrays.stream(args).filter(arg -> arg.startsWith(PROFILES_ARGUMENT))
+				.map(arg -> arg.substring(PROFILES_ARGUMENT.length()));
+		final var prod = Stream.concat(Stream.of(System.getProperty("spring.profiles.active"),
+				System.getenv("SPRING_PROFILES_ACTIVE")), arguments).filter(Objects::nonNull)
+				.flatMap(profiles -> Arrays.stream(profiles.split(",")))
+				.anyMatch(profile -> "prod".equals(profile.trim()));
+		if (!prod) {
+			return;
+		}
+		final var properties = new Properties();
+		try (final var in = Application.class.getResourceAsStream("/log4j2-prod.component.properties")) {
+			properties.load(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		properties.stringPropertyNames().stream().filter(name -> System.getProperty(name) == null)
+				.forEach(name -> System.setProperty(name, properties.getProperty(name)));
+	}
+
 }
@@ -0,0 +1,11 @@
+package com.ryana.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+ * consistencyCheck compares every in-memory answer against the SQL aggregate
+ * and serves the SQL value when they drift. Meant for verification, not production.
+ */
+@ConfigurationProperties(prefix = "employee.aggregates")
+public record AggregateProperties(boolean consistencyCheck) {
+}
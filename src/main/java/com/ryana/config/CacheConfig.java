@@ -0,0 +1,13 @@
+package com.ryana.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Caches are Caffeine backed and sized through spring.cache.caffeine.spec,
+ * hit, miss and eviction counts are published as cache.* metrics.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+}
@@ -0,0 +1,20 @@
+package com.ryana.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * The dispatcher numbers up to batchSize outbox rows per transaction, right after every commit and at the
+ * latest every pollInterval. The last bufferSize changes are answered from memory, older ones from the outbox,
+ * which keeps them for retention. A long poll without a change to return is answered empty after pollTimeout.
+ */
+@ConfigurationProperties(prefix = "employee.changes")
+public record ChangeFeedProperties(
+		@DefaultValue("500") int batchSize,
+		@DefaultValue("1s") Duration pollInterval,
+		@DefaultValue("10000") int bufferSize,
+		@DefaultValue("7d") Duration retention,
+		@DefaultValue("30s") Duration pollTimeout) {
+}
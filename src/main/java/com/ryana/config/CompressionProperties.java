@@ -0,0 +1,15 @@
+package com.ryana.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * Bodies shorter than minResponseSize bytes are sent as they are, the gzip framing would eat the gain.
+ * level is the Deflater level (1 fastest, 9 smallest) and at most poolSize idle Deflaters are kept.
+ */
+@ConfigurationProperties(prefix = "employee.compression")
+public record CompressionProperties(
+		@DefaultValue("2048") int minResponseSize,
+		@DefaultValue("6") int level,
+		@DefaultValue("16") int poolSize) {
+}
@@ -0,0 +1,15 @@
+package com.ryana.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * batchSize rows are written per transaction, at most queueCapacity parsed batches
+ * wait for the writers, and writers threads insert them concurrently.
+ */
+@ConfigurationProperties(prefix = "employee.import")
+public record ImportProperties(
+		@DefaultValue("1000") int batchSize,
+		@DefaultValue("8") int queueCapacity,
+		@DefaultValue("1") int writers) {
+}
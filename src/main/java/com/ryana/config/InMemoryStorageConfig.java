@@ -0,0 +1,50 @@
+package com.ryana.config;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ryana.repository.DurableEmployeeStore;
+import com.ryana.repository.EmployeeChangeRepository;
+import com.ryana.repository.EmployeeRepository;
+import com.ryana.repository.InMemoryEmployeeChangeRepository;
+import com.ryana.repository.InMemoryEmployeeRepository;
+import com.ryana.repository.InMemoryTransactionManager;
+
+/*
+ * employee.storage=memory keeps the employees in the heap of this node. Start it with the memory profile,
+ * which also leaves out the DataSource and with it JPA and the Spring Data repositories, e.g.
+ * java -jar employee-management.jar --spring.profiles.active=memory --employee.journal.directory=/var/lib/employees
+ * Without employee.journal.directory nothing survives a restart, the outbox of /employees/changes never does.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.storage", havingValue = "memory")
+public class InMemoryStorageConfig {
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "employee.journal.directory")
+	public DurableEmployeeStore durableEmployeeStore(JournalProperties journalProperties) {
+		return new DurableEmployeeStore(journalProperties);
+	}
+
+	@Bean
+	public EmployeeRepository employeeRepository(ObjectProvider<DurableEmployeeStore> durableEmployeeStore) {
+		return Optional.ofNullable(durableEmployeeStore.getIfAvailable()).map(DurableEmployeeStore::open)
+				.orElseGet(InMemoryEmployeeRepository::new);
+	}
+
+	@Bean
+	public EmployeeChangeRepository employeeChangeRepository() {
+		return new InMemoryEmployeeChangeRepository();
+	}
+
+	@Bean
+	public PlatformTransactionManager transactionManager() {
+		return new InMemoryTransactionManager();
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.ryana.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/*
+ * With employee.storage=memory and a directory, every write is appended to a memory mapped log of
+ * segmentSize files there and the whole table is snapshotted every snapshotInterval, a restart loads
+ * the last snapshot and replays the log after it. Without a directory nothing survives a restart.
+ * fsync ALWAYS makes a commit wait until its records are forced to disk, concurrent commits share
+ * one force; INTERVAL forces every fsyncInterval and may lose that much on a crash of the machine;
+ * NEVER leaves it to the operating system.
+ */
+@ConfigurationProperties(prefix = "employee.journal")
+public record JournalProperties(
+		Path directory,
+		@DefaultValue("ALWAYS") Fsync fsync,
+		@DefaultValue("10ms") Duration fsyncInterval,
+		@DefaultValue("64MB") DataSize segmentSize,
+		@DefaultValue("10m") Duration snapshotInterval) {
+
+	public enum Fsync {
+		ALWAYS, INTERVAL, NEVER
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.ryana.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * location is a JSON, NDJSON or CSV resource imported at startup, e.g. classpath:employees.json.
+ * generated synthetic employees are then inserted in batchSize rows per JDBC batch by writers
+ * threads, randomSeed makes the generated rows the same on every run.
+ */
+@ConfigurationProperties(prefix = "employee.seed")
+public record SeedProperties(
+		String location,
+		@DefaultValue("0") int generated,
+		@DefaultValue("10000") int batchSize,
+		@DefaultValue("4") int writers,
+		@DefaultValue("42") long randomSeed) {
+}
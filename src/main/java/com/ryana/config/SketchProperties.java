@@ -0,0 +1,12 @@
+package com.ryana.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/*
+ * relativeAccuracy bounds the error of every salary percentile relative to the exact value,
+ * 0.01 answers within 1%. Halving it roughly doubles the memory of a sketch.
+ */
+@ConfigurationProperties(prefix = "employee.sketches")
+public record SketchProperties(@DefaultValue("0.01") double relativeAccuracy) {
+}
@@ -0,0 +1,47 @@
+package com.ryana.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/*
+ * Runs every Tomcat request and every applicationTaskExecutor task (streamed responses,
+ * change feed consumers) on its own virtual thread. Concurrency against the database is then
+ * bounded by the Hikari pool instead of the Tomcat thread pool.
+ * Virtual threads are a preview API on Java 20: the executor is looked up reflectively so the build
+ * needs no --enable-preview, only a JVM running this mode does (./gradlew bootRun -PvirtualThreads).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+	}
+
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (InvocationTargetException e) {
+			throw new IllegalStateException("employee.threads.virtual=true needs a JVM started with --enable-preview",
+					e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("employee.threads.virtual=true needs Java 20 or later", e);
+		}
+	}
+
+}
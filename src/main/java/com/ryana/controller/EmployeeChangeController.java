@@ -0,0 +1,67 @@
+package com.ryana.controller;
+
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ryana.dto.EmployeeChangeDTO;
+import com.ryana.service.EmployeeChangeFeed;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Every committed write in seq order, for consumers that would otherwise poll /employees for changes.
+ * A consumer reads changes/last, loads /employees and then follows the changes after that seq, passing
+ * the seq of the last change it applied as since. Changes carry the whole row and its version, applying
+ * one it already holds is harmless. 410 Gone means the changes it needs are no longer kept,
+ * pruned after employee.changes.retention or lost with a restart, and it has to start over.
+ */
+@Validated
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("employees/changes")
+public class EmployeeChangeController {
+
+	private static final int MAX_LIMIT = 1000;
+
+	private final EmployeeChangeFeed employeeChangeFeed;
+
+	/*
+	 * Long poll: the changes after since at once, or the first ones dispatched within
+	 * employee.changes.poll-timeout, or an empty list.
+	 */
+	@GetMapping
+	public DeferredResult<List<EmployeeChangeDTO>> poll(@RequestParam(defaultValue = "0") @Min(0) long since,
+			@RequestParam(defaultValue = "100") @Min(1) @Max(MAX_LIMIT) int limit) {
+		return employeeChangeFeed.poll(since, limit);
+	}
+
+	/*
+	 * Server-Sent-Events with the seq as the event id, a reconnecting EventSource resumes from Last-Event-ID.
+	 * The long poll declares no produces, so any other Accept, wildcards included, still gets the long poll.
+	 */
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestParam(defaultValue = "0") @Min(0) long since,
+			@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		return employeeChangeFeed.stream(Optional.ofNullable(lastEventId).orElse(since));
+	}
+
+	@GetMapping("last")
+	public ResponseEntity<Long> last() {
+		return ResponseEntity.ok().body(employeeChangeFeed.last());
+	}
+
+}
@@ -1,26 +1,73 @@
 package com.ryana.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.ryana.domain.Gender;
 import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeePatchDTO;
+import com.ryana.dto.EmployeeQuery;
+import com.ryana.dto.SalaryStatsDTO;
+import com.ryana.dto.SalaryStatsGroup;
 import com.ryana.exception.EmployeeNotFoundException;
+import com.ryana.exception.EmployeePreconditionFailedException;
 import com.ryana.mapper.EmployeeMapper;
+import com.ryana.repository.EmployeeCursor;
+import com.ryana.service.EmployeeResponseCache;
+import com.ryana.service.EmployeeResponseCache.EncodedResponse;
 import com.ryana.service.EmployeeService;
+import com.ryana.service.GzipCompressor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -32,22 +79,143 @@ import lombok.extern.log4j.Log4j2;
 @RequestMapping("employees")
 public class EmployeeController {
 
+	private static final int MAX_PAGE_SIZE = 1000;
+	private static final int MAX_BATCH_SIZE = 100_000;
+	// the years a yyyy date of joining can have
+	private static final int MIN_YEAR = 1;
+	private static final int MAX_YEAR = 9999;
+	static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+	private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+			MediaType.valueOf(APPLICATION_SMILE_VALUE));
+
 	private final EmployeeService employeeService;
 	private final EmployeeMapper employeeMapper;
+	private final ObjectMapper objectMapper;
+	private final EmployeeResponseCache employeeResponseCache;
+	private final GzipCompressor gzipCompressor;
+	private final ContentNegotiationManager contentNegotiationManager;
+
+	/*
+	 * GET endpoints answer If-None-Match before touching the service or Jackson:
+	 * lists are tagged with the collection version, a single employee with its row version.
+	 * checkNotModified sets the ETag header and the 304 status, a null return ends the request.
+	 * The cached list endpoints also answer in CBOR or Smile for an Accept that prefers them,
+	 * the other endpoints get the same formats through the message converters.
+	 */
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			APPLICATION_SMILE_VALUE })
+	public ResponseEntity<byte[]> findAll(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		final var version = employeeService.collectionVersion();
+		final var format = format(request);
+		if (request.checkNotModified(eTag(version, format, request))) {
+			return null;
+		}
+		final var response = employeeResponseCache.get("all", format, version, () -> {
+			final var employeeDTOs = employeeService.findAll();
+			if (log.isTraceEnabled()) {
+				log.trace("findAll:employeeDTOs=>{}", employeeDTOs.size());
+			}
+			return employeeDTOs;
+		});
+		return encoded(request, response);
+	}
+
+	@GetMapping(params = "limit")
+	public ResponseEntity<List<EmployeeDTO>> findPage(@RequestParam(required = false) Long after,
+			@RequestParam @Min(1) @Max(MAX_PAGE_SIZE) Integer limit, NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var employeeDTOs = employeeMapper.toEmployeeDTOs(employeeService.findPage(after, limit));
+		final var response = negotiated();
+		if (employeeDTOs.size() == limit) {
+			final var next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("after", employeeDTOs.get(employeeDTOs.size() - 1).id()).toUriString();
+			response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		return response.body(employeeDTOs);
+	}
+
+	/*
+	 * e.g. query?gender=FEMALE&joinedFrom=2019-01-01&joinedTo=2022-01-01&minSalary=60000&sort=salary,desc
+	 * A full page carries a Link to the next one, continuing after its last row.
+	 */
+	@GetMapping("query")
+	public ResponseEntity<List<EmployeeDTO>> query(EmployeeQuery query, @SortDefault("id") Sort sort,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "100") @Min(1) @Max(MAX_PAGE_SIZE) Integer limit, NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var employees = employeeService.query(query, sort, cursor, limit);
+		final var response = negotiated();
+		if (employees.size() == limit) {
+			final var property = sort.iterator().next().getProperty();
+			final var next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor",
+					EmployeeCursor.of(employees.get(employees.size() - 1), property).encode()).toUriString();
+			response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		return response.body(employeeMapper.toEmployeeDTOs(employees));
+	}
+
+	@GetMapping(value = "stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll(WebRequest request) {
+		if (request.checkNotModified(eTag(employeeService.collectionVersion(), MediaType.APPLICATION_JSON, request))) {
+			return null;
+		}
+		final var response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+			return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(this::writeGzipped);
+		}
+		return response.body(this::writeEmployees);
+	}
+
+	/*
+	 * The streamed length is unknown up front and the whole table is never small, so it is always compressed.
+	 */
+	private void writeGzipped(OutputStream outputStream) throws IOException {
+		try (final var gzip = gzipCompressor.gzip(outputStream)) {
+			writeEmployees(gzip);
+		}
+	}
+
+	private void writeEmployees(OutputStream outputStream) throws IOException {
+		try (final var writer = objectMapper.writerFor(EmployeeDTO.class).writeValuesAsArray(outputStream)) {
+			employeeService.streamAll(employee -> write(writer, employeeMapper.toEmployeeDTO(employee)));
+		}
+	}
+
+	private static void write(SequenceWriter writer, EmployeeDTO employeeDTO) {
+		try {
+			writer.write(employeeDTO);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 
-	@GetMapping
-	public ResponseEntity<List<EmployeeDTO>> findAll() {
-		final var employees = employeeService.findAll();
+	@GetMapping("search")
+	public ResponseEntity<List<EmployeeDTO>> findByName(@RequestParam @NotBlank @Size(max = 100) String name,
+			@RequestParam(defaultValue = "false") boolean fuzzy, @PageableDefault(size = 20) Pageable pageable,
+			NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var employees = employeeService.findByName(name, fuzzy, pageable);
 		final var employeeDTOs = employeeMapper.toEmployeeDTOs(employees);
-		log.trace("findAll:employeeDTOs=>{}", employeeDTOs);
-		return ResponseEntity.ok().body(employeeDTOs);
+		return negotiated().body(employeeDTOs);
 	}
 
 	@GetMapping("{id}")
-	public ResponseEntity<EmployeeDTO> findById(@PathVariable Long id) {
-		final var employeeDTO = employeeService.findById(id).map(employeeMapper::toEmployeeDTO)
-				.orElseThrow(EmployeeNotFoundException::new);
-		return ResponseEntity.ok().body(employeeDTO);
+	public ResponseEntity<EmployeeDTO> findById(@PathVariable Long id, WebRequest request) {
+		if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && employeeService.findVersionById(id)
+				.filter(version -> request.checkNotModified(eTag(version))).isPresent()) {
+			return null;
+		}
+		final var employeeDTO = employeeService.findDTOById(id).orElseThrow(EmployeeNotFoundException::new);
+		return withETag(ResponseEntity.ok(), employeeDTO);
 	}
 
 	@PostMapping
@@ -59,35 +227,243 @@ public class EmployeeController {
 		final var employee = employeeService.save(employeeMapper.toEmployee(employeeDTO));
 		final var location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
 				.buildAndExpand(employee.getId()).toUri();
-		return ResponseEntity.created(location).body(employeeMapper.toEmployeeDTO(employee));
+		return withETag(ResponseEntity.created(location), employeeMapper.toEmployeeDTO(employee));
+	}
+
+	@PostMapping("batch")
+	public ResponseEntity<List<EmployeeDTO>> saveAll(
+			@RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid EmployeeDTO> employeeDTOs) {
+		final var employees = employeeService.saveAll(employeeMapper.toEmployees(employeeDTOs));
+		return ResponseEntity.status(HttpStatus.CREATED).body(employeeMapper.toEmployeeDTOs(employees));
+	}
+
+	@PutMapping("batch")
+	public ResponseEntity<List<EmployeeDTO>> updateAll(
+			@RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid EmployeeDTO> employeeDTOs) {
+		final var employees = employeeService.updateAll(employeeMapper.toEmployees(employeeDTOs));
+		return ResponseEntity.ok().body(employeeMapper.toEmployeeDTOs(employees));
+	}
+
+	@DeleteMapping("batch")
+	public ResponseEntity<EmployeeDTO> deleteAll(
+			@RequestBody @Size(max = MAX_BATCH_SIZE) List<EmployeeDTO> employeeDTOs) {
+		employeeService.deleteAllById(employeeDTOs.stream().map(EmployeeDTO::id).filter(Objects::nonNull).toList());
+		return ResponseEntity.noContent()
+				.build();
 	}
 
 	@PutMapping("{id}")
-	public ResponseEntity<EmployeeDTO> update(@PathVariable Long id, @RequestBody @Valid EmployeeDTO employeeDTO) {
-		return employeeService.update(id, employeeMapper.toEmployee(employeeDTO))
+	public ResponseEntity<EmployeeDTO> update(@PathVariable Long id, @RequestBody @Valid EmployeeDTO employeeDTO,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		return employeeService.update(id, employeeMapper.toEmployee(employeeDTO), expectedVersion(ifMatch))
+				.map(employeeMapper::toEmployeeDTO)
+				.map(updated -> withETag(ResponseEntity.ok(), updated))
+				.orElseThrow(EmployeeNotFoundException::new);
+	}
+
+	@PatchMapping("{id}")
+	public ResponseEntity<EmployeeDTO> patch(@PathVariable Long id,
+			@RequestBody @Valid EmployeePatchDTO employeePatchDTO) {
+		return employeeService.patch(id, employeeMapper.toEmployee(employeePatchDTO))
 				.map(employeeMapper::toEmployeeDTO)
-				.map(ResponseEntity.ok()::body)
+				.map(patched -> withETag(ResponseEntity.ok(), patched))
 				.orElseThrow(EmployeeNotFoundException::new);
 	}
 
 	@DeleteMapping("{id}")
-	public ResponseEntity<EmployeeDTO> deleteById(@PathVariable Long id) {
-		employeeService.deleteById(id);
+	public ResponseEntity<EmployeeDTO> deleteById(@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		employeeService.deleteById(id, expectedVersion(ifMatch));
 		return ResponseEntity.noContent()
 				.build();
 	}
 
 	@GetMapping("averageSalary/{gender}")
-	public ResponseEntity<Double> findAverageSalaryByGender(@PathVariable Gender gender) {
+	public ResponseEntity<Double> findAverageSalaryByGender(@PathVariable Gender gender, NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
 		final var averageSalary = employeeService.findAverageSalaryByGender(gender);
-		return ResponseEntity.ok().body(averageSalary);
+		return negotiated().body(averageSalary);
+	}
+
+	@GetMapping("salaryPercentiles/{gender}")
+	public ResponseEntity<Map<String, Double>> findSalaryPercentiles(@PathVariable Gender gender,
+			@RequestParam List<@DecimalMin("0.0") @DecimalMax("1.0") Double> q,
+			@RequestParam(required = false) Integer year, NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var percentiles = employeeService.findSalaryPercentiles(gender, year, q);
+		return negotiated().body(percentiles);
+	}
+
+	@GetMapping("stats")
+	public ResponseEntity<List<SalaryStatsDTO>> findSalaryStats(
+			@RequestParam(required = false) Set<SalaryStatsGroup> groupBy,
+			@RequestParam(required = false) List<@DecimalMin("0.0") @DecimalMax("1.0") Double> percentiles,
+			NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var salaryStats = employeeService.findSalaryStats(Optional.ofNullable(groupBy).orElseGet(Set::of),
+				Optional.ofNullable(percentiles).orElseGet(List::of));
+		return negotiated().body(salaryStats);
+	}
+
+	@GetMapping(value = "year/{doj}", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE })
+	public ResponseEntity<byte[]> findByYear(@PathVariable @Min(MIN_YEAR) @Max(MAX_YEAR) Integer doj,
+			NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		final var version = employeeService.collectionVersion();
+		final var format = format(request);
+		if (request.checkNotModified(eTag(version, format, request))) {
+			return null;
+		}
+		final var response = employeeResponseCache.get("year:" + doj, format, version,
+				() -> employeeService.findByYear(doj));
+		return encoded(request, response);
+	}
+
+	@GetMapping("joined")
+	public ResponseEntity<List<EmployeeDTO>> findJoinedBetween(
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+			@PageableDefault(size = 100) Pageable pageable, NativeWebRequest request)
+			throws HttpMediaTypeNotAcceptableException {
+		if (request.checkNotModified(collectionETag(request))) {
+			return null;
+		}
+		final var employees = employeeService.findJoinedBetween(from, to, pageable);
+		final var employeeDTOs = employeeMapper.toEmployeeDTOs(employees);
+		return negotiated().body(employeeDTOs);
+	}
+
+	/*
+	 * The message converters write these in the negotiated format, so the tag names it just as it does for
+	 * the cached lists, and the coding, which a compressing server or proxy in front may apply to them.
+	 */
+	private String collectionETag(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		return eTag(employeeService.collectionVersion(), format(request), request);
+	}
+
+	private static BodyBuilder negotiated() {
+		return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	private static String eTag(long version) {
+		return "\"" + version + "\"";
+	}
+
+	/*
+	 * A strong tag belongs to one representation, so every format but JSON and the gzip coding are part of it.
+	 * A client accepting gzip always gets the stream gzip coded and a cached body whenever it reaches
+	 * the minimum response size, the same bytes as the identity representation otherwise.
+	 */
+	private static String eTag(long version, MediaType format, WebRequest request) {
+		final var tag = new StringBuilder().append('"').append(version);
+		if (!MediaType.APPLICATION_JSON.equalsTypeAndSubtype(format)) {
+			tag.append('-').append(format.getSubtype());
+		}
+		if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+			tag.append("-gzip");
+		}
+		return tag.append('"').toString();
+	}
+
+	/*
+	 * The format MVC negotiates for this request: the acceptable media types as the ContentNegotiationManager
+	 * resolves them against the producible ones the mapping matched. A format takes the quality of the most
+	 * specific range including it, so an explicit q=0 excludes it even when a wildcard would accept it.
+	 * Ties go to the more specific range, then to the order of the mapping.
+	 */
+	@SuppressWarnings("unchecked")
+	private MediaType format(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+		final var acceptable = contentNegotiationManager.resolveMediaTypes(request);
+		final var matched = (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE,
+				RequestAttributes.SCOPE_REQUEST);
+		final Collection<MediaType> producible = matched != null ? matched : FORMATS;
+		MediaType format = null;
+		MediaType formatRange = null;
+		for (final var candidate : producible) {
+			final var range = acceptable.stream().filter(mediaType -> mediaType.includes(candidate))
+					.max(Comparator.comparingInt(EmployeeController::specificity)).orElse(null);
+			if (range == null || range.getQualityValue() == 0) {
+				continue;
+			}
+			if (formatRange == null || range.getQualityValue() > formatRange.getQualityValue()
+					|| range.getQualityValue() == formatRange.getQualityValue()
+							&& specificity(range) > specificity(formatRange)) {
+				format = candidate;
+				formatRange = range;
+			}
+		}
+		if (format == null) {
+			throw new HttpMediaTypeNotAcceptableException(List.copyOf(producible));
+		}
+		return format;
+	}
+
+	// */* < type/* < type/subtype < type/subtype;parameter
+	private static int specificity(MediaType range) {
+		if (range.isWildcardType()) {
+			return 0;
+		}
+		if (range.isWildcardSubtype()) {
+			return 1;
+		}
+		return 2 + (int) range.getParameters().keySet().stream().filter(name -> !"q".equals(name)).count();
+	}
+
+	/*
+	 * Cached bytes go to the servlet output stream as they are, gzip only when the client accepts it.
+	 */
+	private static ResponseEntity<byte[]> encoded(WebRequest request, EncodedResponse response) {
+		final var builder = ResponseEntity.ok().contentType(response.format())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		if (response.compressible() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+			return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+		}
+		return builder.body(response.body());
+	}
+
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (final var coding : acceptEncoding.split(",")) {
+			final var parts = coding.split(";");
+			if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+				return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+
+	private static ResponseEntity<EmployeeDTO> withETag(BodyBuilder response, EmployeeDTO employeeDTO) {
+		Optional.ofNullable(employeeDTO.version()).map(EmployeeController::eTag).ifPresent(response::eTag);
+		return response.body(employeeDTO);
 	}
 
-	@GetMapping("year/{doj}")
-	public ResponseEntity<List<EmployeeDTO>> findByYear(@PathVariable Integer doj) {
-		final var employee = employeeService.findByYear(doj);
-		final var employeeDTOs = employeeMapper.toEmployeeDTOs(employee);
-		return ResponseEntity.ok().body(employeeDTOs);
+	/*
+	 * If-Match uses the strong comparison: a weak, malformed or foreign tag can never match,
+	 * "*" only requires the employee to exist which the 404 handling already covers.
+	 */
+	private static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+		final var tag = ifMatch.trim();
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new EmployeePreconditionFailedException();
+		}
+		try {
+			return Long.valueOf(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException e) {
+			throw new EmployeePreconditionFailedException();
+		}
 	}
 
 }
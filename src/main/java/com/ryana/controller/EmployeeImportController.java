@@ -0,0 +1,36 @@
+package com.ryana.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ryana.dto.ImportReport;
+import com.ryana.service.EmployeeImportService;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("employees/import")
+public class EmployeeImportController {
+
+	static final String TEXT_CSV_VALUE = "text/csv";
+
+	private final EmployeeImportService employeeImportService;
+
+	@PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<ImportReport> importJson(InputStream inputStream) throws IOException {
+		return ResponseEntity.ok().body(employeeImportService.importJson(inputStream));
+	}
+
+	@PostMapping(consumes = TEXT_CSV_VALUE)
+	public ResponseEntity<ImportReport> importCsv(InputStream inputStream) throws IOException {
+		return ResponseEntity.ok().body(employeeImportService.importCsv(inputStream));
+	}
+
+}
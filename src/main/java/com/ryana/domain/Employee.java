@@ -2,16 +2,22 @@ package com.ryana.domain;
 
 import java.time.LocalDate;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.validation.annotation.Validated;
 
 import lombok.AllArgsConstructor;
@@ -27,10 +33,20 @@ import lombok.Setter;
 @Setter
 @Getter
 @Entity
-@Table(name = "employee")
+@DynamicUpdate
+/*
+ * The composite indexes end with id so every sort of /employees/query, which breaks ties by id,
+ * and its keyset cursor are answered by an index range scan.
+ */
+@Table(name = "employee", indexes = {
+		@Index(name = "employee_doj_idx", columnList = "doj"),
+		@Index(name = "employee_salary_id_idx", columnList = "salary, id"),
+		@Index(name = "employee_gender_salary_id_idx", columnList = "gender, salary, id"),
+		@Index(name = "employee_gender_doj_id_idx", columnList = "gender, doj, id") })
 public class Employee {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+	@SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
 	private Long id;
 	@NotBlank
 	private String name;
@@ -41,5 +57,9 @@ public class Employee {
 	private LocalDate doj;
 	@NotNull
 	private Double salary;
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long version;
 
 }
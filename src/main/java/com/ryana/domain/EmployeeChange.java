@@ -0,0 +1,61 @@
+package com.ryana.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Entity
+/*
+ * Transactional outbox of the employee write path, inserted by the transaction of the change.
+ * id is the order of insertion, seq the order of dispatch: it stays null until EmployeeChangeDispatcher
+ * numbers the committed rows, so a row committed late never lands behind a sequence already handed out.
+ * The columns hold the row after the change, only employeeId and version for a deletion.
+ */
+@Table(name = "employee_change", indexes = @Index(name = "employee_change_seq_idx", columnList = "seq", unique = true))
+public class EmployeeChange {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_change_id_seq")
+	@SequenceGenerator(name = "employee_change_id_seq", sequenceName = "employee_change_id_seq", allocationSize = 50)
+	private Long id;
+	private Long seq;
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	private Type type;
+	@NotNull
+	private Long employeeId;
+	private String name;
+	@Enumerated(EnumType.STRING)
+	private Gender gender;
+	private LocalDate doj;
+	private Double salary;
+	private Long version;
+	@NotNull
+	private Instant changedAt;
+
+}
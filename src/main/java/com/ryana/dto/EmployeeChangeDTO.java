@@ -0,0 +1,18 @@
+package com.ryana.dto;
+
+import java.time.Instant;
+
+import com.ryana.domain.EmployeeChange;
+
+/*
+ * A committed write, seq orders them. employee is the row after the change and null for a deletion.
+ * version is its row version, the deleted one for a deletion, so a consumer can skip what it already holds.
+ */
+public record EmployeeChangeDTO(
+		long seq,
+		EmployeeChange.Type type,
+		Long id,
+		Long version,
+		EmployeeDTO employee,
+		Instant changedAt) {
+}
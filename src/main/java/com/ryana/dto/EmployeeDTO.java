@@ -5,19 +5,28 @@ import java.time.LocalDate;
 import org.springframework.validation.annotation.Validated;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ryana.domain.Gender;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+/*
+ * version is not part of the representation, it travels in the ETag / If-Match headers.
+ * */
 @Validated
 public record EmployeeDTO(
 		Long id,
 		@NotBlank String name,
 		@NotNull Gender gender,
 		@JsonFormat(pattern = "yyyy-MM-dd") @NotNull LocalDate doj,
-		@NotNull Double salary) {
+		@NotNull Double salary,
+		@JsonIgnore Long version) {
 	public EmployeeDTO() {
 		this(null, null, null, null, null);
 	}
+
+	public EmployeeDTO(Long id, String name, Gender gender, LocalDate doj, Double salary) {
+		this(id, name, gender, doj, salary, null);
+	}
 }
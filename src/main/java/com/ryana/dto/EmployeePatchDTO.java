@@ -0,0 +1,21 @@
+package com.ryana.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ryana.domain.Gender;
+
+import jakarta.validation.constraints.Pattern;
+
+/*
+ * Partial update of an Employee, absent fields are left unchanged.
+ */
+@Validated
+public record EmployeePatchDTO(
+		@Pattern(regexp = ".*\\S.*") String name,
+		Gender gender,
+		@JsonFormat(pattern = "yyyy-MM-dd") LocalDate doj,
+		Double salary) {
+}
@@ -0,0 +1,20 @@
+package com.ryana.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import com.ryana.domain.Gender;
+
+/*
+ * Optional filters of /employees/query, a null filter is not applied.
+ * Salaries are inclusive, joinedFrom is inclusive and joinedTo exclusive.
+ */
+public record EmployeeQuery(
+		Gender gender,
+		Double minSalary,
+		Double maxSalary,
+		@DateTimeFormat(iso = ISO.DATE) LocalDate joinedFrom,
+		@DateTimeFormat(iso = ISO.DATE) LocalDate joinedTo) {
+}
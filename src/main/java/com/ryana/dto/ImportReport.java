@@ -0,0 +1,11 @@
+package com.ryana.dto;
+
+public record ImportReport(long accepted, long rejected, long elapsedMillis, double rowsPerSecond) {
+
+	public static ImportReport of(long accepted, long rejected, long elapsedNanos) {
+		final var elapsedMillis = elapsedNanos / 1_000_000;
+		final var rowsPerSecond = elapsedNanos == 0 ? 0 : (accepted + rejected) * 1e9 / elapsedNanos;
+		return new ImportReport(accepted, rejected, elapsedMillis, rowsPerSecond);
+	}
+
+}
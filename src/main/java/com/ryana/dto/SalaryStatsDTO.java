@@ -0,0 +1,24 @@
+package com.ryana.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ryana.domain.Gender;
+
+/*
+ * Salary statistics of one group, the group fields not asked for are null and left out.
+ * stddev is the population standard deviation, percentiles are keyed by the requested fraction.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SalaryStatsDTO(
+		Gender gender,
+		Integer year,
+		Integer month,
+		long count,
+		double sum,
+		double min,
+		double max,
+		double mean,
+		double stddev,
+		Map<String, Double> percentiles) {
+}
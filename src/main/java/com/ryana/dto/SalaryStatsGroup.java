@@ -0,0 +1,9 @@
+package com.ryana.dto;
+
+/*
+ * Dimensions /employees/stats can group by, YEAR and MONTH are taken from doj.
+ * MONTH alone groups by month of the year across all years.
+ */
+public enum SalaryStatsGroup {
+	GENDER, YEAR, MONTH
+}
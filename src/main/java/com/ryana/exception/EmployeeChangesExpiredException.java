@@ -0,0 +1,15 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class EmployeeChangesExpiredException extends RuntimeException {
+
+	private static final long serialVersionUID = 3391052647726013958L;
+
+	public EmployeeChangesExpiredException() {
+		super("Employee changes after this sequence are no longer kept, "
+				+ "reload the employees and start over with since=0...");
+	}
+}
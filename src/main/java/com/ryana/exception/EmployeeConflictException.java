@@ -0,0 +1,14 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EmployeeConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 4925519633781350207L;
+
+	public EmployeeConflictException() {
+		super("Employee was modified concurrently...");
+	}
+}
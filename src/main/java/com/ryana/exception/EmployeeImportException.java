@@ -0,0 +1,21 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class EmployeeImportException extends RuntimeException {
+
+	private static final long serialVersionUID = 5129410530281694217L;
+
+	private final long committed;
+
+	public EmployeeImportException(long committed, Throwable cause) {
+		super("Import stopped after " + committed + " employees were committed: " + cause.getMessage(), cause);
+		this.committed = committed;
+	}
+
+	public long getCommitted() {
+		return committed;
+	}
+}
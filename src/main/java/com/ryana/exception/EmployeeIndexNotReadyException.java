@@ -0,0 +1,14 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeIndexNotReadyException extends RuntimeException {
+
+	private static final long serialVersionUID = 6185830149672263017L;
+
+	public EmployeeIndexNotReadyException() {
+		super("Employee index is still loading...");
+	}
+}
@@ -0,0 +1,14 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class EmployeePreconditionFailedException extends RuntimeException {
+
+	private static final long serialVersionUID = -1243815437412360371L;
+
+	public EmployeePreconditionFailedException() {
+		super("Employee does not match the expected version...");
+	}
+}
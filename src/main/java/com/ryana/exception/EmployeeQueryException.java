@@ -0,0 +1,14 @@
+package com.ryana.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class EmployeeQueryException extends RuntimeException {
+
+	private static final long serialVersionUID = -6906416387622440578L;
+
+	public EmployeeQueryException(String message) {
+		super(message);
+	}
+}
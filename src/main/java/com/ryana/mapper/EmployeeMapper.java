@@ -3,10 +3,13 @@ package com.ryana.mapper;
 import java.util.List;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
 import com.ryana.domain.Employee;
 import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeePatchDTO;
 
 @Mapper(componentModel = "spring")
 public interface EmployeeMapper {
@@ -17,5 +20,16 @@ public interface EmployeeMapper {
 
 	List<EmployeeDTO> toEmployeeDTOs(List<Employee> employees);
 
+	@Mapping(target = "version", ignore = true)
 	Employee toEmployee(EmployeeDTO employeeDTO);
+
+	List<Employee> toEmployees(List<EmployeeDTO> employeeDTOs);
+
+	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	Employee toEmployee(EmployeePatchDTO employeePatchDTO);
+
+	@Mapping(target = "id", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	void updateEmployee(Employee source, @MappingTarget Employee target);
 }
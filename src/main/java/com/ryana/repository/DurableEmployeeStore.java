@@ -0,0 +1,89 @@
+package com.ryana.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.ryana.config.JournalProperties;
+
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * InMemoryEmployeeRepository made durable by MappedEmployeeJournal and EmployeeSnapshots in one directory.
+ * open() recovers: the newest snapshot, then the log after it. A checkpoint snapshots the table every
+ * snapshotInterval and on close, then drops the log older than the oldest snapshot kept,
+ * so recovery replays at most one interval of writes.
+ */
+@Log4j2
+public class DurableEmployeeStore implements Closeable {
+
+	private final JournalProperties journalProperties;
+	private final MappedEmployeeJournal journal;
+	private final EmployeeSnapshots snapshots;
+	private final InMemoryEmployeeRepository repository;
+	private final ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final var thread = new Thread(runnable, "journal-checkpoint");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private long snapshotPosition;
+
+	public DurableEmployeeStore(JournalProperties journalProperties) {
+		this.journalProperties = journalProperties;
+		journal = new MappedEmployeeJournal(journalProperties);
+		snapshots = new EmployeeSnapshots(journalProperties.directory());
+		repository = new InMemoryEmployeeRepository(journal);
+	}
+
+	public InMemoryEmployeeRepository open() {
+		final var started = System.nanoTime();
+		try {
+			Files.createDirectories(journalProperties.directory());
+			snapshotPosition = snapshots.load(repository);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		final var end = journal.open(snapshotPosition, repository.replay());
+		log.info("open:snapshot=>{} replayed=>{} bytes employees=>{} millis=>{}", snapshotPosition,
+				end - snapshotPosition, repository.count(), (System.nanoTime() - started) / 1_000_000);
+		final var interval = journalProperties.snapshotInterval().toMillis();
+		checkpointer.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+		return repository;
+	}
+
+	/*
+	 * Snapshots the table unless nothing was written since the last snapshot.
+	 */
+	public synchronized void checkpoint() {
+		final var position = journal.position();
+		if (position == snapshotPosition) {
+			return;
+		}
+		final var started = System.nanoTime();
+		try {
+			journal.truncate(snapshots.write(repository, position));
+			snapshotPosition = position;
+			log.info("checkpoint:position=>{} employees=>{} millis=>{}", position, repository.count(),
+					(System.nanoTime() - started) / 1_000_000);
+		} catch (IOException | RuntimeException e) {
+			log.error("checkpoint:position=>{} failed, the journal is kept", position, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		checkpointer.shutdown();
+		try {
+			checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		checkpoint();
+		journal.close();
+	}
+
+}
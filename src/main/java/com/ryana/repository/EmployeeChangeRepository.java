@@ -0,0 +1,48 @@
+package com.ryana.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.ryana.domain.EmployeeChange;
+
+import jakarta.persistence.QueryHint;
+
+/*
+ * Only what the outbox needs, so InMemoryEmployeeChangeRepository can stand in for it with employee.storage=memory.
+ */
+public interface EmployeeChangeRepository extends Repository<EmployeeChange, Long> {
+
+	<S extends EmployeeChange> S save(S change);
+
+	<S extends EmployeeChange> List<S> saveAll(Iterable<S> changes);
+
+	@Query("from EmployeeChange where seq is null order by id")
+	List<EmployeeChange> findPending(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query("from EmployeeChange where seq > :since order by seq")
+	List<EmployeeChange> findDispatchedAfter(@Param("since") long since, Pageable pageable);
+
+	@Query("select min(seq) from EmployeeChange")
+	Long findFirstSeq();
+
+	@Query("select max(seq) from EmployeeChange")
+	Long findLastSeq();
+
+	@Query("select max(seq) from EmployeeChange where changedAt < :before")
+	Long findLastSeqChangedBefore(@Param("before") Instant before);
+
+	@Modifying
+	@Query("delete from EmployeeChange where seq <= :seq")
+	int deleteDispatchedUpTo(@Param("seq") long seq);
+
+}
@@ -0,0 +1,48 @@
+package com.ryana.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.ryana.domain.Employee;
+import com.ryana.exception.EmployeeQueryException;
+
+/*
+ * Position after the last row of a page: its value of the sorted property and its id.
+ * Encoded as an opaque url safe token that only decodes against the same sort property.
+ */
+public record EmployeeCursor(String property, Comparable<?> value, long id) {
+
+	public static EmployeeCursor of(Employee employee, String property) {
+		final Comparable<?> value = switch (property) {
+		case "salary" -> employee.getSalary();
+		case "doj" -> employee.getDoj();
+		default -> employee.getId();
+		};
+		return new EmployeeCursor(property, value, employee.getId());
+	}
+
+	public String encode() {
+		final var token = property + "|" + value + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static EmployeeCursor decode(String cursor, String property) {
+		try {
+			final var token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+			if (token.length != 3 || !token[0].equals(property)) {
+				throw new EmployeeQueryException("cursor does not belong to a query sorted by " + property);
+			}
+			final Comparable<?> value = switch (property) {
+			case "salary" -> Double.valueOf(token[1]);
+			case "doj" -> LocalDate.parse(token[1]);
+			default -> Long.valueOf(token[1]);
+			};
+			return new EmployeeCursor(property, value, Long.parseLong(token[2]));
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new EmployeeQueryException("invalid cursor");
+		}
+	}
+
+}
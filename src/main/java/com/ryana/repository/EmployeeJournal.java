@@ -0,0 +1,58 @@
+package com.ryana.repository;
+
+import com.ryana.domain.Gender;
+
+/*
+ * Redo log of InMemoryEmployeeRepository. Every record is the full after image of a row, or its removal,
+ * so replaying a record twice or over a snapshot that already holds it is harmless.
+ * The append methods return the log position after the record, sync(position) returns once
+ * every record before it is as durable as the fsync policy promises.
+ */
+public interface EmployeeJournal {
+
+	EmployeeJournal NONE = new EmployeeJournal() {
+
+		@Override
+		public long put(long id, String name, Gender gender, int joinDay, double salary, long version) {
+			return 0;
+		}
+
+		@Override
+		public long delete(long id) {
+			return 0;
+		}
+
+		@Override
+		public long clear() {
+			return 0;
+		}
+
+		@Override
+		public void sync(long position) {
+			// nothing was written
+		}
+
+	};
+
+	long put(long id, String name, Gender gender, int joinDay, double salary, long version);
+
+	long delete(long id);
+
+	long clear();
+
+	void sync(long position);
+
+	/*
+	 * Receives the records of the log in order during recovery.
+	 */
+	interface Replay {
+
+		void put(long id, String name, Gender gender, int joinDay, double salary, long version);
+
+		void delete(long id);
+
+		void clear();
+
+	}
+
+}
@@ -1,20 +1,80 @@
 package com.ryana.repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+
+import jakarta.persistence.QueryHint;
+
+/*
+ * The CRUD methods and only what the service needs on top of them, so InMemoryEmployeeRepository can stand in
+ * for it with employee.storage=memory. flush and deleteAllInBatch are the ones of SimpleJpaRepository.
+ */
+public interface EmployeeRepository extends ListCrudRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+	List<Employee> findAll(Sort sort);
+
+	void flush();
+
+	void deleteAllInBatch(Iterable<Employee> employees);
+
+	/*
+	 * Projections straight into EmployeeDTO for the read only endpoints: no managed entity,
+	 * no dirty checking snapshot and no mapper copy per row.
+	 */
+	String SELECT_EMPLOYEE_DTO = "select new com.ryana.dto.EmployeeDTO(e.id, e.name, e.gender, e.doj, e.salary, "
+			+ "e.version) from Employee e ";
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query(SELECT_EMPLOYEE_DTO + "order by e.id")
+	List<EmployeeDTO> findAllDTOs();
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query(SELECT_EMPLOYEE_DTO + "where e.id = :id")
+	Optional<EmployeeDTO> findDTOById(@Param("id") Long id);
+
+	@Query("select e.version from Employee e where e.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query(SELECT_EMPLOYEE_DTO + "where e.doj >= :from and e.doj < :to order by e.doj, e.id")
+	List<EmployeeDTO> findDTOsJoinedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
 
 	@Query("select AVG(salary) from Employee where gender=:gender")
 	Double findAverageSalaryByGender(@Param("gender") Gender gender);
 
-	@Query("from Employee where YEAR(doj)=:doj")
-	List<Employee> findByYear(@Param("doj") Integer doj);
+	@Query("select gender as gender, count(*) as employees, sum(salary) as totalSalary from Employee group by gender")
+	List<SalaryTotals> findSalaryTotals();
+
+	@Query("select gender as gender, year(doj) as joinYear, count(*) as employees, sum(salary) as totalSalary "
+			+ "from Employee group by gender, year(doj)")
+	List<SalaryTotalsByYear> findSalaryTotalsByYear();
+
+	@Query("from Employee where doj >= :from and doj < :to order by doj, id")
+	List<Employee> findJoinedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+	@Query("from Employee where id > :after order by id")
+	List<Employee> findPage(@Param("after") Long after, Pageable pageable);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee set name = coalesce(:name, name), gender = coalesce(:gender, gender), "
+			+ "doj = coalesce(:doj, doj), salary = coalesce(:salary, salary), version = version + 1 "
+			+ "where id = :id and version = :version")
+	int patch(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+			@Param("gender") Gender gender, @Param("doj") LocalDate doj, @Param("salary") Double salary);
 
 }
@@ -0,0 +1,32 @@
+package com.ryana.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Sort;
+
+import com.ryana.domain.Employee;
+import com.ryana.dto.EmployeeQuery;
+
+public interface EmployeeRepositoryCustom {
+
+	/*
+	 * Scrolls over the whole table in id order with a bounded fetch size,
+	 * detaching every row once consumed so memory stays flat.
+	 * Must be called within a transaction.
+	 */
+	void scrollAll(Consumer<? super Employee> action);
+
+	/*
+	 * Flushes pending batched statements and empties the persistence context,
+	 * so bulk writes do not accumulate managed entities.
+	 */
+	void flushAndClear();
+
+	/*
+	 * At most limit rows matching query after cursor, null for the first page, sorted by order
+	 * with id breaking the ties in the same direction.
+	 */
+	List<Employee> findAll(EmployeeQuery query, Sort.Order order, EmployeeCursor after, int limit);
+
+}
@@ -0,0 +1,67 @@
+package com.ryana.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.ryana.domain.Employee;
+import com.ryana.dto.EmployeeQuery;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+	static final int FETCH_SIZE = 500;
+
+	private final EntityManager entityManager;
+
+	@Override
+	public void scrollAll(Consumer<? super Employee> action) {
+		try (final var employees = entityManager.createQuery("from Employee order by id", Employee.class)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.getResultStream()) {
+			employees.forEach(employee -> {
+				action.accept(employee);
+				entityManager.detach(employee);
+			});
+		}
+	}
+
+	@Override
+	public void flushAndClear() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	/*
+	 * The query as Specifications, run as one Criteria query.
+	 */
+	@Override
+	public List<Employee> findAll(EmployeeQuery query, Sort.Order order, EmployeeCursor after, int limit) {
+		final var specification = EmployeeSpecifications.matching(query)
+				.and(EmployeeSpecifications.after(order, after));
+		final var orderBy = "id".equals(order.getProperty()) ? Sort.by(order)
+				: Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+		return findAll(specification, orderBy, limit);
+	}
+
+	private List<Employee> findAll(Specification<Employee> specification, Sort sort, int limit) {
+		final var builder = entityManager.getCriteriaBuilder();
+		final var criteria = builder.createQuery(Employee.class);
+		final var root = criteria.from(Employee.class);
+		final var predicate = specification.toPredicate(root, criteria, builder);
+		if (predicate != null) {
+			criteria.where(predicate);
+		}
+		criteria.orderBy(QueryUtils.toOrders(sort, root, builder));
+		return entityManager.createQuery(criteria).setMaxResults(limit).getResultList();
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.ryana.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import com.ryana.domain.Gender;
+
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Binary snapshots of the whole table, snapshot-<journal position>.bin, one block per stripe with
+ * a column after the other: ids, versions, genders, join days, salaries and names, each name as
+ * the length and the bytes of its UTF-8 encoding, then a CRC32C of it all. A snapshot of format 1 with
+ * modified UTF-8 names, limited to 65535 bytes each, still loads. Written to a temporary file, forced and renamed, so a snapshot is either complete
+ * or absent. The last RETAINED are kept, loading falls back to the previous one when the last is unreadable.
+ */
+@Log4j2
+final class EmployeeSnapshots {
+
+	static final int RETAINED = 2;
+
+	private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.bin");
+	private static final int MAGIC = 0x454d5053;
+	private static final int FORMAT = 2;
+	private static final int MODIFIED_UTF8_FORMAT = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final Gender[] GENDERS = Gender.values();
+
+	private final Path directory;
+
+	EmployeeSnapshots(Path directory) {
+		this.directory = directory;
+	}
+
+	/*
+	 * Loads the newest readable snapshot into repository and returns its journal position, 0 without one.
+	 */
+	long load(InMemoryEmployeeRepository repository) throws IOException {
+		final var replay = repository.replay();
+		final var positions = positions();
+		for (var index = positions.size() - 1; index >= 0; index--) {
+			final var position = positions.get(index);
+			try {
+				read(path(position), position, repository, replay);
+				return position;
+			} catch (IOException | RuntimeException e) {
+				log.warn("load:snapshot=>{} unreadable, falling back to the previous one", path(position), e);
+				replay.clear();
+			}
+		}
+		return 0;
+	}
+
+	/*
+	 * Writes the rows of repository as a snapshot of the journal up to position and returns the position
+	 * of the oldest snapshot kept, the journal before it is no longer needed.
+	 */
+	long write(InMemoryEmployeeRepository repository, long position) throws IOException {
+		final var target = path(position);
+		final var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		final var sequence = repository.sequence();
+		try (final var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			final var crc = new CRC32C();
+			final var out = new DataOutputStream(new CheckedOutputStream(
+					new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), crc));
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT);
+			out.writeLong(position);
+			out.writeLong(sequence);
+			out.writeInt(InMemoryEmployeeRepository.STRIPES);
+			repository.snapshot(columns -> write(out, columns));
+			out.writeInt((int) crc.getValue());
+			out.flush();
+			channel.force(true);
+		}
+		Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		final var positions = positions();
+		for (var index = 0; index < positions.size() - RETAINED; index++) {
+			Files.deleteIfExists(path(positions.get(index)));
+		}
+		return positions.get(Math.max(0, positions.size() - RETAINED));
+	}
+
+	private static void write(DataOutputStream out, InMemoryEmployeeRepository.Columns columns) throws IOException {
+		out.writeInt(columns.size());
+		for (var row = 0; row < columns.size(); row++) {
+			out.writeLong(columns.ids()[row]);
+		}
+		for (var row = 0; row < columns.size(); row++) {
+			out.writeLong(columns.versions()[row]);
+		}
+		out.write(columns.genders(), 0, columns.size());
+		for (var row = 0; row < columns.size(); row++) {
+			out.writeInt(columns.joinDays()[row]);
+		}
+		for (var row = 0; row < columns.size(); row++) {
+			out.writeDouble(columns.salaries()[row]);
+		}
+		for (var row = 0; row < columns.size(); row++) {
+			final var name = columns.names()[row].getBytes(StandardCharsets.UTF_8);
+			out.writeInt(name.length);
+			out.write(name);
+		}
+	}
+
+	private static void read(Path path, long position, InMemoryEmployeeRepository repository,
+			EmployeeJournal.Replay replay) throws IOException {
+		final var crc = new CRC32C();
+		try (final var in = new DataInputStream(new CheckedInputStream(
+				new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), crc))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("not a snapshot");
+			}
+			final var format = in.readInt();
+			if (format != FORMAT && format != MODIFIED_UTF8_FORMAT || in.readLong() != position) {
+				throw new IOException("not a snapshot of format " + FORMAT);
+			}
+			repository.sequence(in.readLong());
+			final var stripes = in.readInt();
+			for (var stripe = 0; stripe < stripes; stripe++) {
+				final var size = in.readInt();
+				final var ids = new long[size];
+				final var versions = new long[size];
+				final var genders = new byte[size];
+				final var joinDays = new int[size];
+				final var salaries = new double[size];
+				for (var row = 0; row < size; row++) {
+					ids[row] = in.readLong();
+				}
+				for (var row = 0; row < size; row++) {
+					versions[row] = in.readLong();
+				}
+				in.readFully(genders);
+				for (var row = 0; row < size; row++) {
+					joinDays[row] = in.readInt();
+				}
+				for (var row = 0; row < size; row++) {
+					salaries[row] = in.readDouble();
+				}
+				for (var row = 0; row < size; row++) {
+					final var name = format == FORMAT ? readName(in) : in.readUTF();
+					replay.put(ids[row], name, GENDERS[genders[row]], joinDays[row], salaries[row], versions[row]);
+				}
+			}
+			final var expected = (int) crc.getValue();
+			if (in.readInt() != expected) {
+				throw new IOException("checksum mismatch");
+			}
+		}
+	}
+
+	private static String readName(DataInputStream in) throws IOException {
+		final var length = in.readInt();
+		if (length < 0) {
+			throw new IOException("negative name length " + length);
+		}
+		// read up to length rather than allocated upfront, a corrupt length ends the file instead of the heap
+		final var name = in.readNBytes(length);
+		if (name.length != length) {
+			throw new EOFException("name of " + length + " bytes truncated");
+		}
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	private List<Long> positions() throws IOException {
+		final var positions = new ArrayList<Long>();
+		try (final var files = Files.list(directory)) {
+			files.map(file -> SNAPSHOT.matcher(file.getFileName().toString())).filter(matcher -> matcher.matches())
+					.forEach(matcher -> positions.add(Long.parseLong(matcher.group(1))));
+		}
+		positions.sort(null);
+		return positions;
+	}
+
+	private Path path(long position) {
+		return directory.resolve("snapshot-%020d.bin".formatted(position));
+	}
+
+}
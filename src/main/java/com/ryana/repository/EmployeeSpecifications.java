@@ -0,0 +1,78 @@
+package com.ryana.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ryana.domain.Employee;
+import com.ryana.dto.EmployeeQuery;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/*
+ * Specifications composing the single query behind /employees/query, a missing filter contributes nothing.
+ */
+public final class EmployeeSpecifications {
+
+	private EmployeeSpecifications() {
+	}
+
+	public static Specification<Employee> matching(EmployeeQuery query) {
+		return Specification.where(hasGender(query))
+				.and(atLeast("salary", query.minSalary()))
+				.and(atMost("salary", query.maxSalary()))
+				.and(atLeast("doj", query.joinedFrom()))
+				.and(before("doj", query.joinedTo()));
+	}
+
+	private static Specification<Employee> hasGender(EmployeeQuery query) {
+		return query.gender() == null ? null
+				: (root, criteria, builder) -> builder.equal(root.get("gender"), query.gender());
+	}
+
+	private static <T extends Comparable<? super T>> Specification<Employee> atLeast(String attribute, T value) {
+		return value == null ? null
+				: (root, criteria, builder) -> builder.greaterThanOrEqualTo(root.<T>get(attribute), value);
+	}
+
+	private static <T extends Comparable<? super T>> Specification<Employee> atMost(String attribute, T value) {
+		return value == null ? null
+				: (root, criteria, builder) -> builder.lessThanOrEqualTo(root.<T>get(attribute), value);
+	}
+
+	private static <T extends Comparable<? super T>> Specification<Employee> before(String attribute, T value) {
+		return value == null ? null : (root, criteria, builder) -> builder.lessThan(root.<T>get(attribute), value);
+	}
+
+	/*
+	 * Rows strictly after cursor in (property, id) order. The redundant bound on property alone
+	 * gives the index a range to start from instead of an OR it can not use as a bound.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static Specification<Employee> after(Sort.Order order, EmployeeCursor cursor) {
+		if (cursor == null) {
+			return null;
+		}
+		return (root, criteria, builder) -> {
+			final Path<Comparable> id = root.get("id");
+			final var idAfter = beyond(builder, order, id, cursor.id());
+			if ("id".equals(order.getProperty())) {
+				return idAfter;
+			}
+			final Path<Comparable> sorted = root.get(order.getProperty());
+			final var value = (Comparable) cursor.value();
+			final Predicate bound = order.isAscending() ? builder.greaterThanOrEqualTo(sorted, value)
+					: builder.lessThanOrEqualTo(sorted, value);
+			return builder.and(bound,
+					builder.or(beyond(builder, order, sorted, value), builder.and(builder.equal(sorted, value), idAfter)));
+		};
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Predicate beyond(CriteriaBuilder builder, Sort.Order order, Path<Comparable> path,
+			Comparable value) {
+		return order.isAscending() ? builder.greaterThan(path, value) : builder.lessThan(path, value);
+	}
+
+}
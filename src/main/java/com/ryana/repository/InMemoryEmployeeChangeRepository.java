@@ -0,0 +1,119 @@
+package com.ryana.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.data.domain.Pageable;
+
+import com.ryana.domain.EmployeeChange;
+
+/*
+ * The outbox of employee.storage=memory: pending rows by id, dispatched rows by seq.
+ * It lives and dies with the heap, after a restart the sequence starts over.
+ */
+public class InMemoryEmployeeChangeRepository implements EmployeeChangeRepository {
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final TreeMap<Long, EmployeeChange> pending = new TreeMap<>();
+	private final TreeMap<Long, EmployeeChange> dispatched = new TreeMap<>();
+	private long ids;
+
+	@Override
+	public <S extends EmployeeChange> S save(S change) {
+		lock.lock();
+		try {
+			if (change.getId() == null) {
+				change.setId(++ids);
+			}
+			if (change.getSeq() == null) {
+				pending.put(change.getId(), change);
+			} else {
+				pending.remove(change.getId());
+				dispatched.put(change.getSeq(), change);
+			}
+			return change;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public <S extends EmployeeChange> List<S> saveAll(Iterable<S> changes) {
+		final var saved = new ArrayList<S>();
+		changes.forEach(change -> saved.add(save(change)));
+		return saved;
+	}
+
+	@Override
+	public List<EmployeeChange> findPending(Pageable pageable) {
+		lock.lock();
+		try {
+			return page(pending.values(), pageable);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public List<EmployeeChange> findDispatchedAfter(long since, Pageable pageable) {
+		lock.lock();
+		try {
+			return page(dispatched.tailMap(since, false).values(), pageable);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Long findFirstSeq() {
+		lock.lock();
+		try {
+			return dispatched.isEmpty() ? null : dispatched.firstKey();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Long findLastSeq() {
+		lock.lock();
+		try {
+			return dispatched.isEmpty() ? null : dispatched.lastKey();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Long findLastSeqChangedBefore(Instant before) {
+		lock.lock();
+		try {
+			return dispatched.values().stream().filter(change -> change.getChangedAt().isBefore(before))
+					.map(EmployeeChange::getSeq).reduce(Math::max).orElse(null);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int deleteDispatchedUpTo(long seq) {
+		lock.lock();
+		try {
+			final var deleted = dispatched.headMap(seq, true);
+			final var size = deleted.size();
+			deleted.clear();
+			return size;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static List<EmployeeChange> page(Collection<EmployeeChange> changes, Pageable pageable) {
+		return changes.stream().skip(pageable.getOffset()).limit(pageable.getPageSize()).toList();
+	}
+
+}
@@ -0,0 +1,1124 @@
+package com.ryana.repository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+
+/*
+ * EmployeeRepository without a database, for the nodes started with employee.storage=memory.
+ * Rows are spread over STRIPES stripes by a hash of their id, each with its own read write lock,
+ * so writers of different stripes never wait for each other. A stripe keeps its rows column wise,
+ * one primitive array per column addressed through an open addressing id map, a delete moves the
+ * last row into the hole. Per gender and per join year the stripe also keeps the count and the
+ * salary sum, per join year the rows, and its ids in a SortedLongSet, so the averages and totals read
+ * a handful of counters, a year range reads only the rows of its years and a page by id only its ids.
+ *
+ * Within a transaction the entities handed out are tracked like a persistence context: findById
+ * returns the same instance twice, and flush, or the commit, writes back the changed ones guarded
+ * by their version. Outside a transaction they are detached copies. A scan locks one stripe at a time,
+ * it sees every row committed before it started but not a snapshot of all the stripes at once.
+ *
+ * Writes go to the stripes at once, readers may see them before the commit. The first write of a
+ * transaction to a row claims it and keeps the row as it was: until the transaction completes any other
+ * write to the row fails like a stale version, and a rollback puts the kept rows back. The journal gets
+ * the claimed rows only at the commit, a rolled back transaction never reaches it.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+	static final int STRIPES = 16;
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final Gender[] GENDERS = Gender.values();
+	private static final Map<String, Comparator<Employee>> SORTABLE = Map.of(
+			"id", Comparator.comparing(Employee::getId),
+			"name", Comparator.comparing(Employee::getName),
+			"gender", Comparator.comparing(Employee::getGender),
+			"doj", Comparator.comparing(Employee::getDoj),
+			"salary", Comparator.comparing(Employee::getSalary),
+			"version", Comparator.comparing(Employee::getVersion));
+
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	private final AtomicLong sequence = new AtomicLong();
+	private final EmployeeJournal journal;
+
+	public InMemoryEmployeeRepository() {
+		this(EmployeeJournal.NONE);
+	}
+
+	/*
+	 * Every write is appended to journal under the lock of its stripe, so the log holds the writes
+	 * of one row in the order they were applied: outside of a transaction at once, within one the rows
+	 * it claimed as they are right before its commit.
+	 */
+	public InMemoryEmployeeRepository(EmployeeJournal journal) {
+		this.journal = journal;
+		Arrays.setAll(stripes, stripe -> new Stripe());
+	}
+
+	@Override
+	public <S extends Employee> S save(S employee) {
+		if (employee.getId() == null) {
+			employee.setId(sequence.incrementAndGet());
+		}
+		final var stripe = stripe(employee.getId());
+		final var unitOfWork = unitOfWork();
+		var position = 0L;
+		stripe.lock.writeLock().lock();
+		try {
+			final var row = stripe.rows.get(employee.getId());
+			if (row == LongIntHashMap.MISSING) {
+				claim(stripe, employee.getId(), unitOfWork);
+				sequence.accumulateAndGet(employee.getId(), Math::max);
+				employee.setVersion(Optional.ofNullable(employee.getVersion()).orElse(0L));
+				final var inserted = stripe.insert(employee);
+				position = unitOfWork == null ? log(stripe, inserted) : 0;
+			} else if (!Values.of(employee).equals(stripe.values(row))) {
+				if (employee.getVersion() != null && employee.getVersion() != stripe.versions[row]) {
+					throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+				}
+				claim(stripe, employee.getId(), unitOfWork);
+				employee.setVersion(stripe.versions[row] + 1);
+				stripe.update(row, employee);
+				position = unitOfWork == null ? log(stripe, row) : 0;
+			} else {
+				employee.setVersion(stripe.versions[row]);
+			}
+		} finally {
+			stripe.lock.writeLock().unlock();
+		}
+		if (unitOfWork != null) {
+			unitOfWork.managed.put(employee.getId(), new Managed(employee, Values.of(employee)));
+		}
+		written(position);
+		return employee;
+	}
+
+	@Override
+	public <S extends Employee> List<S> saveAll(Iterable<S> employees) {
+		final var saved = new ArrayList<S>();
+		employees.forEach(employee -> saved.add(save(employee)));
+		return saved;
+	}
+
+	@Override
+	public Optional<Employee> findById(Long id) {
+		final var unitOfWork = unitOfWork();
+		final var employee = read(id, Stripe::employee);
+		if (unitOfWork == null || employee == null) {
+			if (unitOfWork != null) {
+				unitOfWork.managed.remove(id);
+			}
+			return Optional.ofNullable(employee);
+		}
+		return Optional.of(unitOfWork.managed
+				.computeIfAbsent(id, key -> new Managed(employee, Values.of(employee))).employee());
+	}
+
+	@Override
+	public Optional<EmployeeDTO> findDTOById(Long id) {
+		return Optional.ofNullable(read(id, Stripe::dto));
+	}
+
+	@Override
+	public Optional<Long> findVersionById(Long id) {
+		return Optional.ofNullable(read(id, (stripe, row) -> stripe.versions[row]));
+	}
+
+	@Override
+	public boolean existsById(Long id) {
+		return read(id, (stripe, row) -> Boolean.TRUE) != null;
+	}
+
+	@Override
+	public List<Employee> findAllById(Iterable<Long> ids) {
+		final var employees = new ArrayList<Employee>();
+		ids.forEach(id -> findById(id).ifPresent(employees::add));
+		return employees;
+	}
+
+	@Override
+	public List<Employee> findAll() {
+		return managed(scan(Stripe::employee));
+	}
+
+	@Override
+	public List<Employee> findAll(Sort sort) {
+		final var employees = findAll();
+		employees.sort(comparator(sort));
+		return employees;
+	}
+
+	@Override
+	public List<EmployeeDTO> findAllDTOs() {
+		final var employees = scan(Stripe::dto);
+		employees.sort(Comparator.comparing(EmployeeDTO::id));
+		return employees;
+	}
+
+	@Override
+	public List<Employee> findPage(Long after, Pageable pageable) {
+		final var from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE) : 0;
+		final var ids = idsAfter(after,
+				pageable.isPaged() ? (int) Math.min((long) from + pageable.getPageSize(), Integer.MAX_VALUE)
+						: Integer.MAX_VALUE);
+		return findAllById(Arrays.stream(ids, Math.min(from, ids.length), ids.length).boxed().toList());
+	}
+
+	/*
+	 * The rows of query sorted by order with id breaking the ties in the same direction, the first limit
+	 * of them after cursor. Only the limit best rows are kept while the stripes are scanned.
+	 */
+	@Override
+	public List<Employee> findAll(EmployeeQuery query, Sort.Order order, EmployeeCursor after, int limit) {
+		if (limit <= 0) {
+			return new ArrayList<>();
+		}
+		final var property = Optional.ofNullable(SORTABLE.get(order.getProperty()))
+				.orElseThrow(() -> new IllegalArgumentException("No property " + order.getProperty()));
+		final var ordered = property.thenComparing(SORTABLE.get("id"));
+		final var comparator = order.isAscending() ? ordered : ordered.reversed();
+		final var cursor = after == null ? null : probe(after);
+		final var gender = query.gender() == null ? -1 : query.gender().ordinal();
+		final var minSalary = Optional.ofNullable(query.minSalary()).orElse(Double.NEGATIVE_INFINITY);
+		final var maxSalary = Optional.ofNullable(query.maxSalary()).orElse(Double.POSITIVE_INFINITY);
+		final var fromDay = query.joinedFrom() == null ? Long.MIN_VALUE : query.joinedFrom().toEpochDay();
+		final var toDay = query.joinedTo() == null ? Long.MAX_VALUE : query.joinedTo().toEpochDay();
+		final var best = new PriorityQueue<Employee>(limit + 1, comparator.reversed());
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				for (var row = 0; row < stripe.size; row++) {
+					if ((gender < 0 || stripe.genders[row] == gender) && stripe.salaries[row] >= minSalary
+							&& stripe.salaries[row] <= maxSalary && stripe.joinDays[row] >= fromDay
+							&& stripe.joinDays[row] < toDay) {
+						final var employee = stripe.employee(row);
+						if (cursor == null || comparator.compare(employee, cursor) > 0) {
+							best.add(employee);
+							if (best.size() > limit) {
+								best.poll();
+							}
+						}
+					}
+				}
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		final var employees = new ArrayList<>(best);
+		employees.sort(comparator);
+		return managed(employees);
+	}
+
+	// an Employee sorting where the last row of the previous page did
+	private static Employee probe(EmployeeCursor cursor) {
+		final var probe = Employee.builder().id(cursor.id()).build();
+		switch (cursor.property()) {
+		case "salary" -> probe.setSalary((Double) cursor.value());
+		case "doj" -> probe.setDoj((LocalDate) cursor.value());
+		default -> {
+		}
+		}
+		return probe;
+	}
+
+	@Override
+	public List<Employee> findJoinedBetween(LocalDate from, LocalDate to, Pageable pageable) {
+		final var employees = joinedBetween(from, to, Stripe::employee);
+		employees.sort(Comparator.comparing(Employee::getDoj).thenComparing(Employee::getId));
+		return managed(pageable.isPaged() ? page(employees, pageable) : employees);
+	}
+
+	@Override
+	public List<EmployeeDTO> findDTOsJoinedBetween(LocalDate from, LocalDate to) {
+		final var employees = joinedBetween(from, to, Stripe::dto);
+		employees.sort(Comparator.comparing(EmployeeDTO::doj).thenComparing(EmployeeDTO::id));
+		return employees;
+	}
+
+	@Override
+	public Double findAverageSalaryByGender(Gender gender) {
+		var employees = 0L;
+		var totalSalary = 0.0;
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				employees += stripe.employees[gender.ordinal()];
+				totalSalary += stripe.totalSalaries[gender.ordinal()];
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		return employees == 0 ? null : totalSalary / employees;
+	}
+
+	@Override
+	public List<SalaryTotals> findSalaryTotals() {
+		final var employees = new long[GENDERS.length];
+		final var totalSalaries = new double[GENDERS.length];
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				for (final var gender : GENDERS) {
+					employees[gender.ordinal()] += stripe.employees[gender.ordinal()];
+					totalSalaries[gender.ordinal()] += stripe.totalSalaries[gender.ordinal()];
+				}
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		final var totals = new ArrayList<SalaryTotals>();
+		for (final var gender : GENDERS) {
+			if (employees[gender.ordinal()] > 0) {
+				totals.add(new Totals(gender, null, employees[gender.ordinal()], totalSalaries[gender.ordinal()]));
+			}
+		}
+		return totals;
+	}
+
+	@Override
+	public List<SalaryTotalsByYear> findSalaryTotalsByYear() {
+		final var years = new HashMap<Integer, YearTotals>();
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				stripe.years.forEach((year, rows) -> {
+					final var totals = years.computeIfAbsent(year, key -> new YearTotals());
+					for (final var gender : GENDERS) {
+						totals.employees[gender.ordinal()] += rows.employees[gender.ordinal()];
+						totals.totalSalaries[gender.ordinal()] += rows.totalSalaries[gender.ordinal()];
+					}
+				});
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		final var totals = new ArrayList<SalaryTotalsByYear>();
+		years.forEach((year, yearTotals) -> {
+			for (final var gender : GENDERS) {
+				if (yearTotals.employees[gender.ordinal()] > 0) {
+					totals.add(new Totals(gender, year, yearTotals.employees[gender.ordinal()],
+							yearTotals.totalSalaries[gender.ordinal()]));
+				}
+			}
+		});
+		return totals;
+	}
+
+	/*
+	 * The version guarded partial update, flushing the unit of work first and clearing it afterwards
+	 * like the @Modifying query it stands in for.
+	 */
+	@Override
+	public int patch(Long id, Long version, String name, Gender gender, LocalDate doj, Double salary) {
+		flush();
+		final var stripe = stripe(id);
+		final var unitOfWork = unitOfWork();
+		var position = 0L;
+		stripe.lock.writeLock().lock();
+		try {
+			final var row = stripe.rows.get(id);
+			if (row == LongIntHashMap.MISSING || stripe.versions[row] != version) {
+				return 0;
+			}
+			claim(stripe, id, unitOfWork);
+			final var patched = stripe.employee(row);
+			Optional.ofNullable(name).ifPresent(patched::setName);
+			Optional.ofNullable(gender).ifPresent(patched::setGender);
+			Optional.ofNullable(doj).ifPresent(patched::setDoj);
+			Optional.ofNullable(salary).ifPresent(patched::setSalary);
+			patched.setVersion(version + 1);
+			stripe.update(row, patched);
+			position = unitOfWork == null ? log(stripe, row) : 0;
+			return 1;
+		} finally {
+			stripe.lock.writeLock().unlock();
+			clear();
+			written(position);
+		}
+	}
+
+	@Override
+	public long count() {
+		var count = 0L;
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				count += stripe.size;
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void delete(Employee employee) {
+		final var stripe = stripe(employee.getId());
+		final var unitOfWork = unitOfWork();
+		var position = 0L;
+		stripe.lock.writeLock().lock();
+		try {
+			final var row = stripe.rows.get(employee.getId());
+			if (row == LongIntHashMap.MISSING) {
+				return;
+			}
+			if (employee.getVersion() != null && employee.getVersion() != stripe.versions[row]) {
+				throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+			}
+			claim(stripe, employee.getId(), unitOfWork);
+			stripe.remove(row);
+			position = unitOfWork == null ? journal.delete(employee.getId()) : 0;
+		} finally {
+			stripe.lock.writeLock().unlock();
+			forget(unitOfWork, employee.getId());
+			written(position);
+		}
+	}
+
+	@Override
+	public void deleteById(Long id) {
+		final var stripe = stripe(id);
+		final var unitOfWork = unitOfWork();
+		var position = 0L;
+		stripe.lock.writeLock().lock();
+		try {
+			final var row = stripe.rows.get(id);
+			if (row != LongIntHashMap.MISSING) {
+				claim(stripe, id, unitOfWork);
+				stripe.remove(row);
+				position = unitOfWork == null ? journal.delete(id) : 0;
+			}
+		} finally {
+			stripe.lock.writeLock().unlock();
+			forget(unitOfWork, id);
+			written(position);
+		}
+	}
+
+	@Override
+	public void deleteAllById(Iterable<? extends Long> ids) {
+		ids.forEach(this::deleteById);
+	}
+
+	@Override
+	public void deleteAll(Iterable<? extends Employee> employees) {
+		employees.forEach(this::delete);
+	}
+
+	@Override
+	public void deleteAllInBatch(Iterable<Employee> employees) {
+		employees.forEach(employee -> deleteById(employee.getId()));
+	}
+
+	@Override
+	public void deleteAll() {
+		final var unitOfWork = unitOfWork();
+		final var position = clearStripes(true, unitOfWork);
+		clear();
+		written(position);
+	}
+
+	/*
+	 * All the stripes at once, a concurrent insert lands either before the clear in the log or after it.
+	 * A logged clear claims every row first, within a transaction it keeps all of them for a rollback and
+	 * the commit logs each of them as deleted instead of the clear, which would also drop the rows other
+	 * transactions insert and log meanwhile.
+	 */
+	private long clearStripes(boolean logged, UnitOfWork unitOfWork) {
+		Arrays.stream(stripes).forEach(stripe -> stripe.lock.writeLock().lock());
+		try {
+			if (logged) {
+				for (final var stripe : stripes) {
+					for (var row = 0; row < stripe.size; row++) {
+						claim(stripe, stripe.ids[row], unitOfWork);
+					}
+				}
+			}
+			Arrays.stream(stripes).forEach(Stripe::clear);
+			return logged && unitOfWork == null ? journal.clear() : 0;
+		} finally {
+			Arrays.stream(stripes).forEach(stripe -> stripe.lock.writeLock().unlock());
+		}
+	}
+
+	/*
+	 * Writes back the tracked entities changed since they were read. One whose row was changed
+	 * by somebody else in the meantime fails with the same exception as a stale JPA version.
+	 */
+	@Override
+	public void flush() {
+		final var unitOfWork = unitOfWork();
+		if (unitOfWork != null) {
+			unitOfWork.managed.replaceAll((id, managed) -> write(unitOfWork, managed));
+		}
+	}
+
+	@Override
+	public void flushAndClear() {
+		flush();
+		clear();
+	}
+
+	/*
+	 * Rows in id order, read in slices of EmployeeRepositoryCustomImpl.FETCH_SIZE ids and never tracked.
+	 */
+	@Override
+	public void scrollAll(Consumer<? super Employee> action) {
+		var after = Long.MIN_VALUE;
+		long[] ids;
+		do {
+			ids = idsAfter(after, EmployeeRepositoryCustomImpl.FETCH_SIZE);
+			final var slice = new ArrayList<Employee>(ids.length);
+			for (final var id : ids) {
+				Optional.ofNullable(read(id, Stripe::employee)).ifPresent(slice::add);
+			}
+			slice.forEach(action);
+			after = ids.length == 0 ? after : ids[ids.length - 1];
+		} while (ids.length == EmployeeRepositoryCustomImpl.FETCH_SIZE);
+	}
+
+	/*
+	 * Applies the rows of a snapshot and the records of the journal, without logging them again.
+	 */
+	EmployeeJournal.Replay replay() {
+		return new EmployeeJournal.Replay() {
+
+			@Override
+			public void put(long id, String name, Gender gender, int joinDay, double salary, long version) {
+				sequence.accumulateAndGet(id, Math::max);
+				final var stripe = stripe(id);
+				stripe.lock.writeLock().lock();
+				try {
+					final var row = stripe.rows.get(id);
+					if (row == LongIntHashMap.MISSING) {
+						stripe.insert(id, name, gender, joinDay, salary, version);
+					} else {
+						stripe.update(row, name, gender, joinDay, salary, version);
+					}
+				} finally {
+					stripe.lock.writeLock().unlock();
+				}
+			}
+
+			@Override
+			public void delete(long id) {
+				final var stripe = stripe(id);
+				stripe.lock.writeLock().lock();
+				try {
+					final var row = stripe.rows.get(id);
+					if (row != LongIntHashMap.MISSING) {
+						stripe.remove(row);
+					}
+				} finally {
+					stripe.lock.writeLock().unlock();
+				}
+			}
+
+			@Override
+			public void clear() {
+				clearStripes(false, null);
+			}
+
+		};
+	}
+
+	// the last id handed out, a deleted row never gives its id back
+	long sequence() {
+		return sequence.get();
+	}
+
+	void sequence(long restored) {
+		sequence.accumulateAndGet(restored, Math::max);
+	}
+
+	/*
+	 * Hands a copy of the columns of every stripe in turn to writer, holding one read lock at a time
+	 * and none while writer runs. A row claimed by a transaction that has not logged it yet is copied
+	 * as it was before, its commit logs it after the snapshot and a rollback does not log it at all.
+	 */
+	void snapshot(ColumnsWriter writer) throws IOException {
+		for (final var stripe : stripes) {
+			final Columns columns;
+			stripe.lock.readLock().lock();
+			try {
+				columns = stripe.claims.isEmpty() ? new Columns(stripe.size, Arrays.copyOf(stripe.ids, stripe.size),
+						Arrays.copyOf(stripe.names, stripe.size), Arrays.copyOf(stripe.genders, stripe.size),
+						Arrays.copyOf(stripe.joinDays, stripe.size), Arrays.copyOf(stripe.salaries, stripe.size),
+						Arrays.copyOf(stripe.versions, stripe.size)) : stripe.logged();
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+			writer.write(columns);
+		}
+	}
+
+	private Stripe stripe(long id) {
+		final var hash = id * 0x9E3779B97F4A7C15L;
+		return stripes[(int) (hash >>> 32) & (STRIPES - 1)];
+	}
+
+	private <T> T read(Long id, RowReader<T> reader) {
+		final var stripe = stripe(id);
+		stripe.lock.readLock().lock();
+		try {
+			final var row = stripe.rows.get(id);
+			return row == LongIntHashMap.MISSING ? null : reader.read(stripe, row);
+		} finally {
+			stripe.lock.readLock().unlock();
+		}
+	}
+
+	/*
+	 * The first count ids greater than after: at most count from the sorted ids of every stripe,
+	 * each copied under its read lock, merged and cut to count.
+	 */
+	private long[] idsAfter(long after, int count) {
+		final var parts = new long[STRIPES][];
+		var total = 0;
+		for (var index = 0; index < STRIPES; index++) {
+			final var stripe = stripes[index];
+			stripe.lock.readLock().lock();
+			try {
+				final var part = new long[Math.min(count, stripe.size)];
+				parts[index] = Arrays.copyOf(part, stripe.sortedIds.copyAfter(after, part));
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+			total += parts[index].length;
+		}
+		final var ids = new long[total];
+		var copied = 0;
+		for (final var part : parts) {
+			System.arraycopy(part, 0, ids, copied, part.length);
+			copied += part.length;
+		}
+		Arrays.sort(ids);
+		return ids.length > count ? Arrays.copyOf(ids, count) : ids;
+	}
+
+	private <T> List<T> scan(RowReader<T> reader) {
+		final var rows = new ArrayList<T>();
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				for (var row = 0; row < stripe.size; row++) {
+					rows.add(reader.read(stripe, row));
+				}
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		return rows;
+	}
+
+	private <T> List<T> joinedBetween(LocalDate from, LocalDate to, RowReader<T> reader) {
+		final var rows = new ArrayList<T>();
+		if (!from.isBefore(to)) {
+			return rows;
+		}
+		final var fromDay = from.toEpochDay();
+		final var toDay = to.toEpochDay();
+		final var lastYear = to.minusDays(1).getYear();
+		for (final var stripe : stripes) {
+			stripe.lock.readLock().lock();
+			try {
+				stripe.years.forEach((year, yearRows) -> {
+					if (year >= from.getYear() && year <= lastYear) {
+						yearRows.rows.forEach((id, row) -> {
+							if (stripe.joinDays[row] >= fromDay && stripe.joinDays[row] < toDay) {
+								rows.add(reader.read(stripe, row));
+							}
+						});
+					}
+				});
+			} finally {
+				stripe.lock.readLock().unlock();
+			}
+		}
+		return rows;
+	}
+
+	private static <T> List<T> page(List<T> rows, Pageable pageable) {
+		final var from = (int) Math.min(pageable.getOffset(), rows.size());
+		return rows.subList(from, (int) Math.min((long) from + pageable.getPageSize(), rows.size()));
+	}
+
+	private static Comparator<Employee> comparator(Sort sort) {
+		Comparator<Employee> comparator = (left, right) -> 0;
+		for (final var order : sort) {
+			final var property = Optional.ofNullable(SORTABLE.get(order.getProperty()))
+					.orElseThrow(() -> new IllegalArgumentException("No property " + order.getProperty()));
+			comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+		}
+		return comparator;
+	}
+
+	/*
+	 * The tracked entities and the claimed rows of the current transaction, bound on first use, flushed,
+	 * logged and made durable before its commit, rolled back or released after it completes.
+	 * null outside of a transaction.
+	 */
+	private UnitOfWork unitOfWork() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		final var bound = (UnitOfWork) TransactionSynchronizationManager.getResource(this);
+		if (bound != null) {
+			return bound;
+		}
+		final var unitOfWork = new UnitOfWork();
+		TransactionSynchronizationManager.bindResource(this, unitOfWork);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				if (!readOnly) {
+					InMemoryEmployeeRepository.this.flush();
+				}
+				final var position = logClaimed(unitOfWork);
+				if (position != 0) {
+					journal.sync(position);
+				}
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryEmployeeRepository.this);
+				complete(unitOfWork, status == STATUS_COMMITTED);
+			}
+
+		});
+		return unitOfWork;
+	}
+
+	/*
+	 * Claims the row id of stripe for the transaction of unitOfWork before its first write, keeping the row
+	 * as it was, absent for an insert. A row claimed by another transaction fails like a stale version,
+	 * whether the write is transactional or not. The caller holds the write lock of stripe.
+	 */
+	private static void claim(Stripe stripe, long id, UnitOfWork unitOfWork) {
+		final var claim = stripe.claims.get(id);
+		if (claim != null && claim.owner() != unitOfWork) {
+			throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+		}
+		if (claim == null && unitOfWork != null) {
+			final var row = stripe.rows.get(id);
+			final var before = row == LongIntHashMap.MISSING ? null : stripe.employee(row);
+			stripe.claims.put(id, new Claim(unitOfWork, before, false));
+			unitOfWork.claimed.add(id);
+		}
+	}
+
+	/*
+	 * Appends every row claimed by the transaction of unitOfWork to the journal as it is right before
+	 * the commit, a deleted one as a delete, and returns the position to sync, 0 when nothing was logged.
+	 */
+	private long logClaimed(UnitOfWork unitOfWork) {
+		var position = 0L;
+		for (final var id : unitOfWork.claimed) {
+			final var stripe = stripe(id);
+			stripe.lock.writeLock().lock();
+			try {
+				final var claim = stripe.claims.get(id);
+				final var row = stripe.rows.get(id);
+				if (row != LongIntHashMap.MISSING) {
+					position = Math.max(position, log(stripe, row));
+				} else if (claim.before() != null) {
+					position = Math.max(position, journal.delete(id));
+				}
+				stripe.claims.put(id, new Claim(unitOfWork, claim.before(), true));
+			} finally {
+				stripe.lock.writeLock().unlock();
+			}
+		}
+		return position;
+	}
+
+	/*
+	 * Releases the rows claimed by a completed transaction, putting them back first if it did not commit.
+	 * Nothing it wrote was logged unless it failed while or after logging its rows before the commit,
+	 * only then the rows put back are logged too, so a recovery ends with them.
+	 */
+	private void complete(UnitOfWork unitOfWork, boolean committed) {
+		var position = 0L;
+		for (final var id : unitOfWork.claimed) {
+			final var stripe = stripe(id);
+			stripe.lock.writeLock().lock();
+			try {
+				final var claim = stripe.claims.remove(id);
+				if (!committed) {
+					position = Math.max(position, restore(stripe, id, claim));
+				}
+			} finally {
+				stripe.lock.writeLock().unlock();
+			}
+		}
+		if (position != 0) {
+			journal.sync(position);
+		}
+	}
+
+	// the caller holds the write lock of stripe
+	private long restore(Stripe stripe, long id, Claim claim) {
+		final var row = stripe.rows.get(id);
+		final var before = claim.before();
+		if (before == null) {
+			if (row == LongIntHashMap.MISSING) {
+				return 0;
+			}
+			stripe.remove(row);
+			return claim.logged() ? journal.delete(id) : 0;
+		}
+		final int restored;
+		if (row == LongIntHashMap.MISSING) {
+			restored = stripe.insert(before);
+		} else {
+			stripe.update(row, before);
+			restored = row;
+		}
+		return claim.logged() ? log(stripe, restored) : 0;
+	}
+
+	// a write outside of a transaction is made durable at once, within one at its commit
+	private void written(long position) {
+		if (position != 0) {
+			journal.sync(position);
+		}
+	}
+
+	private List<Employee> managed(List<Employee> employees) {
+		final var unitOfWork = unitOfWork();
+		if (unitOfWork == null) {
+			return employees;
+		}
+		final var tracked = new ArrayList<Employee>(employees.size());
+		employees.forEach(employee -> tracked.add(unitOfWork.managed
+				.computeIfAbsent(employee.getId(), id -> new Managed(employee, Values.of(employee))).employee()));
+		return tracked;
+	}
+
+	private static void forget(UnitOfWork unitOfWork, Long id) {
+		if (unitOfWork != null) {
+			unitOfWork.managed.remove(id);
+		}
+	}
+
+	private void clear() {
+		final var unitOfWork = unitOfWork();
+		if (unitOfWork != null) {
+			unitOfWork.managed.clear();
+		}
+	}
+
+	private Managed write(UnitOfWork unitOfWork, Managed managed) {
+		final var employee = managed.employee();
+		final var values = Values.of(employee);
+		if (values.equals(managed.loaded())) {
+			return managed;
+		}
+		final var stripe = stripe(employee.getId());
+		stripe.lock.writeLock().lock();
+		try {
+			final var row = stripe.rows.get(employee.getId());
+			if (row != LongIntHashMap.MISSING && values.equals(stripe.values(row))) {
+				return new Managed(employee, values);
+			}
+			if (row == LongIntHashMap.MISSING || employee.getVersion() != stripe.versions[row]) {
+				throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+			}
+			claim(stripe, employee.getId(), unitOfWork);
+			employee.setVersion(stripe.versions[row] + 1);
+			stripe.update(row, employee);
+			return new Managed(employee, values);
+		} finally {
+			stripe.lock.writeLock().unlock();
+		}
+	}
+
+	// the caller holds the write lock of stripe
+	private long log(Stripe stripe, int row) {
+		return journal.put(stripe.ids[row], stripe.names[row], GENDERS[stripe.genders[row]], stripe.joinDays[row],
+				stripe.salaries[row], stripe.versions[row]);
+	}
+
+	@FunctionalInterface
+	private interface RowReader<T> {
+
+		T read(Stripe stripe, int row);
+
+	}
+
+	record Columns(int size, long[] ids, String[] names, byte[] genders, int[] joinDays, double[] salaries,
+			long[] versions) {
+	}
+
+	@FunctionalInterface
+	interface ColumnsWriter {
+
+		void write(Columns columns) throws IOException;
+
+	}
+
+	private static final class UnitOfWork {
+
+		private final Map<Long, Managed> managed = new LinkedHashMap<>();
+		// the ids of the rows claimed, their claims are in the stripes
+		private final List<Long> claimed = new ArrayList<>();
+
+	}
+
+	/*
+	 * The transaction writing a row and the row as it was before, null for an inserted one,
+	 * logged once the commit has appended the row to the journal.
+	 */
+	private record Claim(UnitOfWork owner, Employee before, boolean logged) {
+	}
+
+	// a tracked entity and the column values it was read or last written with
+	private record Managed(Employee employee, Values loaded) {
+	}
+
+	private record Values(String name, Gender gender, LocalDate doj, Double salary) {
+
+		static Values of(Employee employee) {
+			return new Values(employee.getName(), employee.getGender(), employee.getDoj(), employee.getSalary());
+		}
+
+	}
+
+	private record Totals(Gender gender, Integer joinYear, long employees, double totalSalary)
+			implements SalaryTotalsByYear {
+
+		@Override
+		public Gender getGender() {
+			return gender;
+		}
+
+		@Override
+		public Integer getJoinYear() {
+			return joinYear;
+		}
+
+		@Override
+		public Long getEmployees() {
+			return employees;
+		}
+
+		@Override
+		public Double getTotalSalary() {
+			return totalSalary;
+		}
+
+	}
+
+	private static final class YearTotals {
+
+		private final long[] employees = new long[GENDERS.length];
+		private final double[] totalSalaries = new double[GENDERS.length];
+
+	}
+
+	// the rows of one join year in a stripe, by id, with their count and salary sum per gender
+	private static final class YearRows {
+
+		private final LongIntHashMap rows = new LongIntHashMap();
+		private final long[] employees = new long[GENDERS.length];
+		private final double[] totalSalaries = new double[GENDERS.length];
+
+	}
+
+	/*
+	 * One lock, the columns of its rows and their secondary indexes, every method but the
+	 * constructor is called with the lock held.
+	 */
+	private static final class Stripe {
+
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		private final LongIntHashMap rows = new LongIntHashMap();
+		private final SortedLongSet sortedIds = new SortedLongSet();
+		private final Map<Long, Claim> claims = new HashMap<>();
+		private final Map<Integer, YearRows> years = new HashMap<>();
+		private final long[] employees = new long[GENDERS.length];
+		private final double[] totalSalaries = new double[GENDERS.length];
+		private long[] ids = new long[INITIAL_CAPACITY];
+		private String[] names = new String[INITIAL_CAPACITY];
+		private byte[] genders = new byte[INITIAL_CAPACITY];
+		private int[] joinDays = new int[INITIAL_CAPACITY];
+		private double[] salaries = new double[INITIAL_CAPACITY];
+		private long[] versions = new long[INITIAL_CAPACITY];
+		private int size;
+
+		Employee employee(int row) {
+			return Employee.builder().id(ids[row]).name(names[row]).gender(GENDERS[genders[row]])
+					.doj(LocalDate.ofEpochDay(joinDays[row])).salary(salaries[row]).version(versions[row]).build();
+		}
+
+		EmployeeDTO dto(int row) {
+			return new EmployeeDTO(ids[row], names[row], GENDERS[genders[row]], LocalDate.ofEpochDay(joinDays[row]),
+					salaries[row], versions[row]);
+		}
+
+		Values values(int row) {
+			return new Values(names[row], GENDERS[genders[row]], LocalDate.ofEpochDay(joinDays[row]), salaries[row]);
+		}
+
+		int insert(Employee employee) {
+			return insert(employee.getId(), employee.getName(), employee.getGender(),
+					(int) employee.getDoj().toEpochDay(), employee.getSalary(), employee.getVersion());
+		}
+
+		int insert(long id, String name, Gender gender, int joinDay, double salary, long version) {
+			if (size == ids.length) {
+				grow();
+			}
+			final var row = size++;
+			ids[row] = id;
+			rows.put(id, row);
+			sortedIds.add(id);
+			write(row, name, gender, joinDay, salary, version);
+			index(row);
+			return row;
+		}
+
+		void update(int row, Employee employee) {
+			update(row, employee.getName(), employee.getGender(), (int) employee.getDoj().toEpochDay(),
+					employee.getSalary(), employee.getVersion());
+		}
+
+		void update(int row, String name, Gender gender, int joinDay, double salary, long version) {
+			unindex(row);
+			write(row, name, gender, joinDay, salary, version);
+			index(row);
+		}
+
+		void remove(int row) {
+			unindex(row);
+			rows.remove(ids[row]);
+			sortedIds.remove(ids[row]);
+			final var last = --size;
+			if (row != last) {
+				ids[row] = ids[last];
+				names[row] = names[last];
+				genders[row] = genders[last];
+				joinDays[row] = joinDays[last];
+				salaries[row] = salaries[last];
+				versions[row] = versions[last];
+				rows.put(ids[row], row);
+				years.get(year(row)).rows.put(ids[row], row);
+			}
+			names[last] = null;
+		}
+
+		void clear() {
+			rows.clear();
+			sortedIds.clear();
+			years.clear();
+			Arrays.fill(employees, 0);
+			Arrays.fill(totalSalaries, 0);
+			Arrays.fill(names, 0, size, null);
+			size = 0;
+		}
+
+		// a copy of the rows as the journal has them, a claimed row not logged yet as it was before
+		Columns logged() {
+			final var capacity = size + claims.size();
+			final var columns = new Columns(0, new long[capacity], new String[capacity], new byte[capacity],
+					new int[capacity], new double[capacity], new long[capacity]);
+			var copied = 0;
+			for (var row = 0; row < size; row++) {
+				final var claim = claims.get(ids[row]);
+				if (claim == null || claim.logged()) {
+					copy(columns, copied++, ids[row], names[row], genders[row], joinDays[row], salaries[row],
+							versions[row]);
+				}
+			}
+			for (final var claim : claims.values()) {
+				final var before = claim.before();
+				if (before != null && !claim.logged()) {
+					copy(columns, copied++, before.getId(), before.getName(), (byte) before.getGender().ordinal(),
+							(int) before.getDoj().toEpochDay(), before.getSalary(), before.getVersion());
+				}
+			}
+			return new Columns(copied, columns.ids(), columns.names(), columns.genders(), columns.joinDays(),
+					columns.salaries(), columns.versions());
+		}
+
+		private static void copy(Columns columns, int row, long id, String name, byte gender, int joinDay,
+				double salary, long version) {
+			columns.ids()[row] = id;
+			columns.names()[row] = name;
+			columns.genders()[row] = gender;
+			columns.joinDays()[row] = joinDay;
+			columns.salaries()[row] = salary;
+			columns.versions()[row] = version;
+		}
+
+		private void write(int row, String name, Gender gender, int joinDay, double salary, long version) {
+			names[row] = name;
+			genders[row] = (byte) gender.ordinal();
+			joinDays[row] = joinDay;
+			salaries[row] = salary;
+			versions[row] = version;
+		}
+
+		private void index(int row) {
+			employees[genders[row]]++;
+			totalSalaries[genders[row]] += salaries[row];
+			final var yearRows = years.computeIfAbsent(year(row), year -> new YearRows());
+			yearRows.rows.put(ids[row], row);
+			yearRows.employees[genders[row]]++;
+			yearRows.totalSalaries[genders[row]] += salaries[row];
+		}
+
+		private void unindex(int row) {
+			employees[genders[row]]--;
+			totalSalaries[genders[row]] -= salaries[row];
+			final var year = year(row);
+			final var yearRows = years.get(year);
+			yearRows.rows.remove(ids[row]);
+			yearRows.employees[genders[row]]--;
+			yearRows.totalSalaries[genders[row]] -= salaries[row];
+			if (yearRows.rows.isEmpty()) {
+				years.remove(year);
+			}
+		}
+
+		private int year(int row) {
+			return LocalDate.ofEpochDay(joinDays[row]).getYear();
+		}
+
+		private void grow() {
+			final var capacity = ids.length * 2;
+			ids = Arrays.copyOf(ids, capacity);
+			names = Arrays.copyOf(names, capacity);
+			genders = Arrays.copyOf(genders, capacity);
+			joinDays = Arrays.copyOf(joinDays, capacity);
+			salaries = Arrays.copyOf(salaries, capacity);
+			versions = Arrays.copyOf(versions, capacity);
+		}
+
+	}
+
+}
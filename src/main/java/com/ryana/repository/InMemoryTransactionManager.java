@@ -0,0 +1,61 @@
+package com.ryana.repository;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Transactions of the in-memory storage, which has no resource to begin or commit: they only
+ * demarcate the transaction synchronizations, so InMemoryEmployeeRepository flushes its unit of work
+ * before commit, puts the rows it wrote back after a rollback and @TransactionalEventListener still
+ * runs after the commit.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	protected Object doGetTransaction() {
+		return new Transaction(TransactionSynchronizationManager.hasResource(this));
+	}
+
+	@Override
+	protected boolean isExistingTransaction(Object transaction) {
+		return ((Transaction) transaction).existing();
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+	}
+
+	@Override
+	protected Object doSuspend(Object transaction) {
+		return TransactionSynchronizationManager.unbindResource(this);
+	}
+
+	@Override
+	protected void doResume(Object transaction, Object suspendedResources) {
+		TransactionSynchronizationManager.bindResource(this, suspendedResources);
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		// every write is already applied to the stripes, the repository releases its rows after completion
+	}
+
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) {
+		// the repository puts back the rows the transaction wrote after completion, see above
+	}
+
+	@Override
+	protected void doCleanupAfterCompletion(Object transaction) {
+		TransactionSynchronizationManager.unbindResourceIfPossible(this);
+	}
+
+	private record Transaction(boolean existing) {
+	}
+
+}
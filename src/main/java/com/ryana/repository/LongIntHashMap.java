@@ -0,0 +1,143 @@
+package com.ryana.repository;
+
+import java.util.Arrays;
+
+/*
+ * Open addressing map from long to int with linear probing: two parallel primitive arrays kept
+ * at most half full, no boxing and no entry objects. A removal shifts the following entries of
+ * the run back instead of leaving a tombstone, so probes stay short however much the map churns.
+ * Not thread safe, every instance is guarded by the lock of its owner: an InMemoryEmployeeRepository
+ * stripe or the EmployeeColumnStore.
+ */
+public final class LongIntHashMap {
+
+	public static final int MISSING = -1;
+
+	private static final long FREE = Long.MIN_VALUE;
+	private static final int MIN_CAPACITY = 8;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+
+	public LongIntHashMap() {
+		allocate(MIN_CAPACITY);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int get(long key) {
+		for (var slot = slot(key); keys[slot] != FREE; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+		}
+		return MISSING;
+	}
+
+	/*
+	 * Returns the previous value of key, MISSING when it was absent.
+	 */
+	public int put(long key, int value) {
+		if (key == FREE) {
+			throw new IllegalArgumentException("key " + key + " is reserved");
+		}
+		var slot = slot(key);
+		for (; keys[slot] != FREE; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				final var previous = values[slot];
+				values[slot] = value;
+				return previous;
+			}
+		}
+		if ((size + 1) * 2 > keys.length) {
+			rehash(keys.length * 2);
+			return put(key, value);
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		size++;
+		return MISSING;
+	}
+
+	/*
+	 * Returns the value key was mapped to, MISSING when it was absent.
+	 */
+	public int remove(long key) {
+		var hole = slot(key);
+		for (; keys[hole] != key; hole = (hole + 1) & mask) {
+			if (keys[hole] == FREE) {
+				return MISSING;
+			}
+		}
+		final var removed = values[hole];
+		// an entry moves into the hole unless its home slot lies between the hole and itself
+		for (var next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+			if (((next - slot(keys[next])) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+		}
+		keys[hole] = FREE;
+		size--;
+		return removed;
+	}
+
+	public void clear() {
+		allocate(MIN_CAPACITY);
+	}
+
+	public void forEach(LongIntConsumer action) {
+		for (var slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != FREE) {
+				action.accept(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	private int slot(long key) {
+		final var hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ hash >>> 32) & mask;
+	}
+
+	private void rehash(int capacity) {
+		final var oldKeys = keys;
+		final var oldValues = values;
+		allocate(capacity);
+		for (var slot = 0; slot < oldKeys.length; slot++) {
+			if (oldKeys[slot] != FREE) {
+				var target = slot(oldKeys[slot]);
+				while (keys[target] != FREE) {
+					target = (target + 1) & mask;
+				}
+				keys[target] = oldKeys[slot];
+				values[target] = oldValues[slot];
+				size++;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, FREE);
+		values = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+
+	@FunctionalInterface
+	public interface LongIntConsumer {
+
+		void accept(long key, int value);
+
+	}
+
+}
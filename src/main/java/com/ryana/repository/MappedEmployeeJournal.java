@@ -0,0 +1,352 @@
+package com.ryana.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+import com.ryana.config.JournalProperties;
+import com.ryana.config.JournalProperties.Fsync;
+import com.ryana.domain.Gender;
+
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Append only log in memory mapped segment files wal-<position of their first byte>.log.
+ * A record is its payload length, the CRC32C of the payload and the payload: the type, the id
+ * and for a put the version, gender, join day, salary and the UTF-8 name. A zero length ends a segment,
+ * a record that does not fit starts the next one. Appending is a copy into the mapping under one lock,
+ * the page cache takes it from there; forcing the mapping to disk is the only system call.
+ *
+ * Group commit: a committer that finds its position not yet durable takes the sync lock and forces
+ * everything appended so far, the committers queued behind it usually find their records already covered.
+ * Recovery stops at the first torn or corrupt record and appends after the last good one.
+ */
+@Log4j2
+public class MappedEmployeeJournal implements EmployeeJournal, Closeable {
+
+	private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+	private static final int HEADER = 2 * Integer.BYTES;
+	private static final byte PUT = 1;
+	private static final byte DELETE = 2;
+	private static final byte CLEAR = 3;
+	private static final Gender[] GENDERS = Gender.values();
+
+	private final Path directory;
+	private final Fsync fsync;
+	private final int segmentSize;
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final ReentrantLock syncLock = new ReentrantLock();
+	private final CRC32C crc = new CRC32C();
+	private final ScheduledExecutorService flusher;
+	private Segment current;
+	private volatile long durable;
+
+	public MappedEmployeeJournal(JournalProperties journalProperties) {
+		directory = journalProperties.directory();
+		fsync = journalProperties.fsync();
+		segmentSize = (int) journalProperties.segmentSize().toBytes();
+		if (fsync == Fsync.INTERVAL) {
+			flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final var thread = new Thread(runnable, "journal-fsync");
+				thread.setDaemon(true);
+				return thread;
+			});
+			final var interval = journalProperties.fsyncInterval().toNanos();
+			flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+		} else {
+			flusher = null;
+		}
+	}
+
+	/*
+	 * Hands every record from position on to replay, then appends after the last good record.
+	 * Returns the end of the log. Must be called once, before anything is appended.
+	 */
+	public long open(long position, Replay replay) {
+		try {
+			Files.createDirectories(directory);
+			final var segments = segments();
+			for (var index = 0; index < segments.size() && current == null; index++) {
+				final var last = index + 1 == segments.size();
+				if (!last && segments.get(index + 1) <= position) {
+					continue;
+				}
+				final var segment = map(segments.get(index));
+				final var end = read(segment, position, replay);
+				final var torn = !complete(segment, end);
+				if (last || torn) {
+					if (torn) {
+						zero(segment, end);
+					}
+					segment.written = end;
+					current = segment;
+					for (var after = index + 1; after < segments.size(); after++) {
+						Files.delete(path(segments.get(after)));
+					}
+				}
+			}
+			if (current == null || current.base + current.written < position) {
+				// the log ends before the snapshot, start a new segment at the snapshot
+				current = map(position);
+			}
+			durable = current.base + current.written;
+			log.info("open:directory=>{} end=>{}", directory, durable);
+			return durable;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public long put(long id, String name, Gender gender, int joinDay, double salary, long version) {
+		final var bytes = name.getBytes(StandardCharsets.UTF_8);
+		appendLock.lock();
+		try {
+			final var buffer = reserve(1 + 2 * Long.BYTES + 1 + 2 * Integer.BYTES + Double.BYTES + bytes.length);
+			buffer.put(PUT).putLong(id).putLong(version).put((byte) gender.ordinal()).putInt(joinDay)
+					.putDouble(salary).putInt(bytes.length).put(bytes);
+			return commit(buffer);
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	@Override
+	public long delete(long id) {
+		appendLock.lock();
+		try {
+			return commit(reserve(1 + Long.BYTES).put(DELETE).putLong(id));
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	@Override
+	public long clear() {
+		appendLock.lock();
+		try {
+			return commit(reserve(1 + Long.BYTES).put(CLEAR).putLong(0));
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	@Override
+	public void sync(long position) {
+		if (fsync != Fsync.ALWAYS || position <= durable) {
+			return;
+		}
+		syncLock.lock();
+		try {
+			if (position > durable) {
+				force();
+			}
+		} finally {
+			syncLock.unlock();
+		}
+	}
+
+	/*
+	 * The position a snapshot taken from now on covers, the log before it can be dropped once it is written.
+	 */
+	public long position() {
+		appendLock.lock();
+		try {
+			return current.base + current.written;
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/*
+	 * Deletes the segments holding only records before position.
+	 */
+	public void truncate(long position) {
+		try {
+			final var segments = segments();
+			for (var index = 0; index + 1 < segments.size() && segments.get(index + 1) <= position; index++) {
+				Files.deleteIfExists(path(segments.get(index)));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (flusher != null) {
+			flusher.shutdown();
+		}
+		if (current != null && fsync != Fsync.NEVER) {
+			flush();
+		}
+	}
+
+	// a slice of the current segment after the header, the caller holds the append lock
+	private ByteBuffer reserve(int length) {
+		if (current.written + HEADER + length > current.buffer.capacity()) {
+			if (HEADER + length > segmentSize) {
+				throw new IllegalArgumentException("record of " + length + " bytes does not fit a segment");
+			}
+			roll();
+		}
+		return current.buffer.slice(current.written + HEADER, length);
+	}
+
+	private long commit(ByteBuffer payload) {
+		payload.flip();
+		crc.reset();
+		crc.update(payload.duplicate());
+		final var start = current.written;
+		current.buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+		current.buffer.putInt(start, payload.limit());
+		current.written = start + HEADER + payload.limit();
+		return current.base + current.written;
+	}
+
+	private void roll() {
+		final var full = current;
+		if (fsync != Fsync.NEVER) {
+			full.buffer.force();
+			full.forced = full.written;
+		}
+		try {
+			current = map(full.base + full.written);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void flush() {
+		syncLock.lock();
+		try {
+			force();
+		} finally {
+			syncLock.unlock();
+		}
+	}
+
+	// the caller holds the sync lock
+	private void force() {
+		final Segment segment;
+		final int to;
+		appendLock.lock();
+		try {
+			segment = current;
+			to = segment.written;
+		} finally {
+			appendLock.unlock();
+		}
+		if (to > segment.forced) {
+			segment.buffer.force(segment.forced, to - segment.forced);
+			segment.forced = to;
+		}
+		durable = Math.max(durable, segment.base + to);
+	}
+
+	private int read(Segment segment, long position, Replay replay) {
+		final var buffer = segment.buffer;
+		var offset = 0;
+		while (offset + HEADER <= buffer.capacity()) {
+			final var length = buffer.getInt(offset);
+			if (length <= 0 || offset + HEADER + length > buffer.capacity()) {
+				break;
+			}
+			final var payload = buffer.slice(offset + HEADER, length);
+			crc.reset();
+			crc.update(payload.duplicate());
+			if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+				log.warn("read:segment=>{} offset=>{} corrupt record, the log ends here", segment.base, offset);
+				break;
+			}
+			offset += HEADER + length;
+			if (segment.base + offset > position) {
+				apply(payload, replay);
+			}
+		}
+		return offset;
+	}
+
+	private static void apply(ByteBuffer payload, Replay replay) {
+		final var type = payload.get();
+		final var id = payload.getLong();
+		switch (type) {
+		case PUT -> {
+			final var version = payload.getLong();
+			final var gender = GENDERS[payload.get()];
+			final var joinDay = payload.getInt();
+			final var salary = payload.getDouble();
+			final var name = new byte[payload.getInt()];
+			payload.get(name);
+			replay.put(id, new String(name, StandardCharsets.UTF_8), gender, joinDay, salary, version);
+		}
+		case DELETE -> replay.delete(id);
+		case CLEAR -> replay.clear();
+		default -> throw new IllegalStateException("unknown journal record type " + type);
+		}
+	}
+
+	// the unused tail of a segment is all zeros, anything else after the last good record is a torn one
+	private static boolean complete(Segment segment, int end) {
+		return end + Integer.BYTES > segment.buffer.capacity() || segment.buffer.getInt(end) == 0;
+	}
+
+	private static void zero(Segment segment, int end) {
+		final var zeros = new byte[8192];
+		for (var offset = end; offset < segment.buffer.capacity(); offset += zeros.length) {
+			segment.buffer.put(offset, zeros, 0, Math.min(zeros.length, segment.buffer.capacity() - offset));
+		}
+	}
+
+	private Segment map(long base) throws IOException {
+		try (final var channel = FileChannel.open(path(base), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			return new Segment(base, channel.map(MapMode.READ_WRITE, 0, segmentSize));
+		}
+	}
+
+	private List<Long> segments() throws IOException {
+		final var segments = new ArrayList<Long>();
+		try (final var files = Files.list(directory)) {
+			files.map(file -> SEGMENT.matcher(file.getFileName().toString())).filter(matcher -> matcher.matches())
+					.forEach(matcher -> segments.add(Long.parseLong(matcher.group(1))));
+		}
+		segments.sort(null);
+		return segments;
+	}
+
+	private Path path(long base) {
+		return directory.resolve("wal-%020d.log".formatted(base));
+	}
+
+	private static final class Segment {
+
+		private final long base;
+		private final MappedByteBuffer buffer;
+		private int written;
+		private volatile int forced;
+
+		Segment(long base, MappedByteBuffer buffer) {
+			this.base = base;
+			this.buffer = buffer;
+		}
+
+	}
+
+}
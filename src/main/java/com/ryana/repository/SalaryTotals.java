@@ -0,0 +1,13 @@
+package com.ryana.repository;
+
+import com.ryana.domain.Gender;
+
+public interface SalaryTotals {
+
+	Gender getGender();
+
+	Long getEmployees();
+
+	Double getTotalSalary();
+
+}
@@ -0,0 +1,7 @@
+package com.ryana.repository;
+
+public interface SalaryTotalsByYear extends SalaryTotals {
+
+	Integer getJoinYear();
+
+}
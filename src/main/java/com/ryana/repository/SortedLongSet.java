@@ -0,0 +1,155 @@
+package com.ryana.repository;
+
+import java.util.Arrays;
+
+/*
+ * Sorted set of longs in chunks of at most CHUNK_SIZE sorted primitive values, a chunk found by a binary
+ * search over the last value of every chunk. An add or remove moves the values of one chunk only. A full
+ * chunk splits in two, or starts a new one when the value goes after all of them as a new id does, and
+ * a chunk merges into a neighbour once both fit into half of one.
+ * Not thread safe, every instance is guarded by the lock of its InMemoryEmployeeRepository stripe.
+ */
+final class SortedLongSet {
+
+	private static final int CHUNK_SIZE = 512;
+
+	private long[][] chunks = new long[8][];
+	private int[] sizes = new int[8];
+	private int chunkCount;
+	private int size;
+
+	int size() {
+		return size;
+	}
+
+	boolean add(long value) {
+		if (chunkCount == 0) {
+			insertChunk(0);
+		}
+		var chunk = sizes[0] == 0 ? 0 : Math.min(chunkOf(value), chunkCount - 1);
+		var index = Arrays.binarySearch(chunks[chunk], 0, sizes[chunk], value);
+		if (index >= 0) {
+			return false;
+		}
+		index = -index - 1;
+		if (sizes[chunk] == CHUNK_SIZE) {
+			if (chunk == chunkCount - 1 && index == CHUNK_SIZE) {
+				insertChunk(++chunk);
+				index = 0;
+			} else {
+				split(chunk);
+				if (index > CHUNK_SIZE / 2) {
+					chunk++;
+					index -= CHUNK_SIZE / 2;
+				}
+			}
+		}
+		final var values = chunks[chunk];
+		System.arraycopy(values, index, values, index + 1, sizes[chunk] - index);
+		values[index] = value;
+		sizes[chunk]++;
+		size++;
+		return true;
+	}
+
+	boolean remove(long value) {
+		final var chunk = chunkOf(value);
+		if (chunk == chunkCount) {
+			return false;
+		}
+		final var values = chunks[chunk];
+		final var index = Arrays.binarySearch(values, 0, sizes[chunk], value);
+		if (index < 0) {
+			return false;
+		}
+		System.arraycopy(values, index + 1, values, index, sizes[chunk] - index - 1);
+		sizes[chunk]--;
+		size--;
+		if (sizes[chunk] == 0) {
+			removeChunk(chunk);
+		} else if (chunk + 1 < chunkCount && sizes[chunk] + sizes[chunk + 1] <= CHUNK_SIZE / 2) {
+			merge(chunk);
+		} else if (chunk > 0 && sizes[chunk - 1] + sizes[chunk] <= CHUNK_SIZE / 2) {
+			merge(chunk - 1);
+		}
+		return true;
+	}
+
+	/*
+	 * Copies the values greater than after, in order, into target up to its length and returns how many.
+	 */
+	int copyAfter(long after, long[] target) {
+		if (after == Long.MAX_VALUE) {
+			return 0;
+		}
+		var copied = 0;
+		var chunk = chunkOf(after + 1);
+		if (chunk == chunkCount) {
+			return 0;
+		}
+		final var found = Arrays.binarySearch(chunks[chunk], 0, sizes[chunk], after + 1);
+		var from = found >= 0 ? found : -found - 1;
+		for (; chunk < chunkCount && copied < target.length; chunk++, from = 0) {
+			final var length = Math.min(sizes[chunk] - from, target.length - copied);
+			System.arraycopy(chunks[chunk], from, target, copied, length);
+			copied += length;
+		}
+		return copied;
+	}
+
+	void clear() {
+		chunks = new long[8][];
+		sizes = new int[8];
+		chunkCount = 0;
+		size = 0;
+	}
+
+	// the first chunk whose last value is at least value, chunkCount when there is none
+	private int chunkOf(long value) {
+		var low = 0;
+		var high = chunkCount;
+		while (low < high) {
+			final var middle = (low + high) >>> 1;
+			if (chunks[middle][sizes[middle] - 1] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private void split(int chunk) {
+		insertChunk(chunk + 1);
+		final var upper = CHUNK_SIZE - CHUNK_SIZE / 2;
+		System.arraycopy(chunks[chunk], CHUNK_SIZE / 2, chunks[chunk + 1], 0, upper);
+		sizes[chunk] = CHUNK_SIZE / 2;
+		sizes[chunk + 1] = upper;
+	}
+
+	// appends the values of chunk + 1 to chunk
+	private void merge(int chunk) {
+		System.arraycopy(chunks[chunk + 1], 0, chunks[chunk], sizes[chunk], sizes[chunk + 1]);
+		sizes[chunk] += sizes[chunk + 1];
+		removeChunk(chunk + 1);
+	}
+
+	private void insertChunk(int chunk) {
+		if (chunkCount == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunkCount * 2);
+			sizes = Arrays.copyOf(sizes, chunkCount * 2);
+		}
+		System.arraycopy(chunks, chunk, chunks, chunk + 1, chunkCount - chunk);
+		System.arraycopy(sizes, chunk, sizes, chunk + 1, chunkCount - chunk);
+		chunks[chunk] = new long[CHUNK_SIZE];
+		sizes[chunk] = 0;
+		chunkCount++;
+	}
+
+	private void removeChunk(int chunk) {
+		System.arraycopy(chunks, chunk + 1, chunks, chunk, chunkCount - chunk - 1);
+		System.arraycopy(sizes, chunk + 1, sizes, chunk, chunkCount - chunk - 1);
+		chunks[--chunkCount] = null;
+	}
+
+}
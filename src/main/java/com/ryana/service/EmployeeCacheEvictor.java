@@ -0,0 +1,23 @@
+package com.ryana.service;
+
+import java.util.Optional;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Component
+public class EmployeeCacheEvictor {
+
+	private final CacheManager cacheManager;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		Optional.ofNullable(cacheManager.getCache(EmployeeService.EMPLOYEES_CACHE))
+				.ifPresent(cache -> cache.evict(event.id()));
+	}
+
+}
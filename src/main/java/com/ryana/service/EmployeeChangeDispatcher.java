@@ -0,0 +1,138 @@
+package com.ryana.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ryana.config.ChangeFeedProperties;
+import com.ryana.repository.EmployeeChangeRepository;
+
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Numbers the committed outbox rows in batches: one transaction reads up to batchSize pending rows
+ * in insertion order, gives them the next sequence numbers and writes them back, then the batch is appended
+ * to the feed. A single thread does it, woken after every commit and at the latest every pollInterval,
+ * so the sequence has no gaps and a row committed after a later inserted one is simply numbered after it.
+ * The changes dispatched longer than retention ago are deleted every hour.
+ * One dispatcher per database: the in-process feed, like the caches, assumes a single node.
+ */
+@Log4j2
+@Component
+public class EmployeeChangeDispatcher {
+
+	private static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+	private final EmployeeChangeRepository employeeChangeRepository;
+	private final EmployeeChangeFeed employeeChangeFeed;
+	private final ChangeFeedProperties changeFeedProperties;
+	private final TransactionTemplate transactionTemplate;
+	private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final var thread = new Thread(runnable, "employee-change-dispatcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean woken = new AtomicBoolean();
+	private volatile boolean started;
+	// only touched on the dispatcher thread
+	private long last;
+
+	public EmployeeChangeDispatcher(EmployeeChangeRepository employeeChangeRepository,
+			EmployeeChangeFeed employeeChangeFeed, ChangeFeedProperties changeFeedProperties,
+			PlatformTransactionManager transactionManager) {
+		this.employeeChangeRepository = employeeChangeRepository;
+		this.employeeChangeFeed = employeeChangeFeed;
+		this.changeFeedProperties = changeFeedProperties;
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		dispatcher.execute(this::open);
+		final var interval = changeFeedProperties.pollInterval().toMillis();
+		dispatcher.scheduleWithFixedDelay(this::dispatch, 0, interval, TimeUnit.MILLISECONDS);
+		final var prune = PRUNE_INTERVAL.toMillis();
+		dispatcher.scheduleWithFixedDelay(this::prune, prune, prune, TimeUnit.MILLISECONDS);
+		started = true;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (started && woken.compareAndSet(false, true)) {
+			dispatcher.execute(this::dispatch);
+		}
+	}
+
+	void open() {
+		final var lastSeq = employeeChangeRepository.findLastSeq();
+		last = lastSeq == null ? 0 : lastSeq;
+		employeeChangeFeed.open(employeeChangeRepository.findFirstSeq(), lastSeq);
+	}
+
+	/*
+	 * Dispatches batches until no pending row is left, a failed batch is retried on the next wake.
+	 */
+	void dispatch() {
+		woken.set(false);
+		try {
+			int dispatched;
+			do {
+				dispatched = dispatchBatch();
+			} while (dispatched == changeFeedProperties.batchSize());
+		} catch (RuntimeException e) {
+			log.error("dispatch:last=>{} failed", last, e);
+		}
+	}
+
+	private int dispatchBatch() {
+		final var changes = transactionTemplate.execute(status -> {
+			final var pending = employeeChangeRepository
+					.findPending(PageRequest.ofSize(changeFeedProperties.batchSize()));
+			var seq = last;
+			for (final var change : pending) {
+				change.setSeq(++seq);
+			}
+			return employeeChangeRepository.saveAll(pending);
+		});
+		if (changes.isEmpty()) {
+			return 0;
+		}
+		last = changes.get(changes.size() - 1).getSeq();
+		employeeChangeFeed.append(changes.stream().map(EmployeeChangeFeed::toEmployeeChangeDTO).toList());
+		if (log.isDebugEnabled()) {
+			log.debug("dispatch:changes=>{} last=>{}", changes.size(), last);
+		}
+		return changes.size();
+	}
+
+	/*
+	 * The feed stops handing out the pruned changes before they are deleted.
+	 */
+	void prune() {
+		try {
+			final var before = Instant.now().minus(changeFeedProperties.retention());
+			final var upTo = employeeChangeRepository.findLastSeqChangedBefore(before);
+			if (upTo == null) {
+				return;
+			}
+			employeeChangeFeed.pruned(upTo + 1);
+			final var deleted = transactionTemplate
+					.execute(status -> employeeChangeRepository.deleteDispatchedUpTo(upTo));
+			log.info("prune:before=>{} upTo=>{} deleted=>{}", before, upTo, deleted);
+		} catch (RuntimeException e) {
+			log.error("prune failed", e);
+		}
+	}
+
+}
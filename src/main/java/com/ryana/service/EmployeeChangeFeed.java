@@ -0,0 +1,317 @@
+package com.ryana.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ryana.config.ChangeFeedProperties;
+import com.ryana.domain.EmployeeChange;
+import com.ryana.dto.EmployeeChangeDTO;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeChangesExpiredException;
+import com.ryana.repository.EmployeeChangeRepository;
+
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * The dispatched changes as the consumers read them. The last bufferSize changes are held in a ring
+ * and answered from memory, a consumer further behind pages through the outbox. Long polls and event streams
+ * wait here for the dispatcher to append a change after their cursor and are then served on the
+ * applicationTaskExecutor, so a slow client never holds up the dispatcher.
+ * Until the dispatcher opens the feed at startup every consumer waits.
+ */
+@Log4j2
+@Component
+public class EmployeeChangeFeed {
+
+	private final EmployeeChangeRepository employeeChangeRepository;
+	private final AsyncTaskExecutor applicationTaskExecutor;
+	private final ChangeFeedProperties changeFeedProperties;
+
+	// a lock rather than synchronized, so a virtual thread is not pinned
+	private final ReentrantLock lock = new ReentrantLock();
+	private final EmployeeChangeDTO[] buffer;
+	private final Set<Subscriber> subscribers = new HashSet<>();
+	private boolean opened;
+	// the oldest seq kept in the outbox, the last one dispatched and the oldest one in the buffer
+	private long first = 1;
+	private long last;
+	private long buffered = 1;
+
+	public EmployeeChangeFeed(EmployeeChangeRepository employeeChangeRepository,
+			AsyncTaskExecutor applicationTaskExecutor, ChangeFeedProperties changeFeedProperties) {
+		this.employeeChangeRepository = employeeChangeRepository;
+		this.applicationTaskExecutor = applicationTaskExecutor;
+		this.changeFeedProperties = changeFeedProperties;
+		buffer = new EmployeeChangeDTO[changeFeedProperties.bufferSize()];
+	}
+
+	public long last() {
+		lock.lock();
+		try {
+			return last;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * Up to limit changes after since in seq order, since 0 reads from the oldest change kept.
+	 */
+	public List<EmployeeChangeDTO> read(long since, int limit) {
+		lock.lock();
+		try {
+			check(since);
+			if (!opened || since >= last) {
+				return List.of();
+			}
+			if (since + 1 >= Math.max(buffered, last - buffer.length + 1)) {
+				final var to = Math.min(last, since + limit);
+				final var changes = new ArrayList<EmployeeChangeDTO>((int) (to - since));
+				for (var seq = since + 1; seq <= to; seq++) {
+					changes.add(buffer[index(seq)]);
+				}
+				return changes;
+			}
+		} finally {
+			lock.unlock();
+		}
+		return employeeChangeRepository.findDispatchedAfter(since, PageRequest.ofSize(limit)).stream()
+				.map(EmployeeChangeFeed::toEmployeeChangeDTO).toList();
+	}
+
+	/*
+	 * Answered with the first changes after since, or empty once the poll timeout has passed without one.
+	 */
+	public DeferredResult<List<EmployeeChangeDTO>> poll(long since, int limit) {
+		final var result = new DeferredResult<List<EmployeeChangeDTO>>(changeFeedProperties.pollTimeout().toMillis(),
+				List.of());
+		final var subscriber = new Subscriber(since) {
+
+			@Override
+			boolean serve() {
+				final var changes = read(this.since, limit);
+				if (changes.isEmpty()) {
+					return false;
+				}
+				result.setResult(changes);
+				return true;
+			}
+
+			@Override
+			void fail(RuntimeException e) {
+				result.setErrorResult(e);
+			}
+
+		};
+		result.onCompletion(() -> remove(subscriber));
+		subscribe(subscriber);
+		return result;
+	}
+
+	/*
+	 * Every change after since as a Server-Sent-Event named by its type, with the seq as the event id.
+	 */
+	public SseEmitter stream(long since) {
+		final var emitter = new SseEmitter();
+		final var subscriber = new Subscriber(since) {
+
+			@Override
+			boolean serve() {
+				List<EmployeeChangeDTO> changes;
+				do {
+					changes = read(this.since, changeFeedProperties.batchSize());
+					for (final var change : changes) {
+						send(emitter, change);
+						this.since = change.seq();
+					}
+				} while (changes.size() == changeFeedProperties.batchSize());
+				return false;
+			}
+
+			@Override
+			void fail(RuntimeException e) {
+				emitter.completeWithError(e);
+			}
+
+		};
+		emitter.onCompletion(() -> remove(subscriber));
+		subscribe(subscriber);
+		return emitter;
+	}
+
+	/*
+	 * Called once by the dispatcher with the outbox as it found it at startup.
+	 */
+	void open(Long firstSeq, Long lastSeq) {
+		lock.lock();
+		try {
+			last = lastSeq == null ? 0 : lastSeq;
+			first = firstSeq == null ? last + 1 : firstSeq;
+			buffered = last + 1;
+			opened = true;
+		} finally {
+			lock.unlock();
+		}
+		log.info("open:first=>{} last=>{}", first, last);
+		wake();
+	}
+
+	/*
+	 * Called by the dispatcher with every batch it committed, in seq order.
+	 */
+	void append(List<EmployeeChangeDTO> changes) {
+		if (changes.isEmpty()) {
+			return;
+		}
+		lock.lock();
+		try {
+			for (final var change : changes) {
+				buffer[index(change.seq())] = change;
+				last = change.seq();
+			}
+		} finally {
+			lock.unlock();
+		}
+		wake();
+	}
+
+	/*
+	 * Called by the dispatcher before it deletes the changes before firstSeq from the outbox.
+	 */
+	void pruned(long firstSeq) {
+		lock.lock();
+		try {
+			first = firstSeq;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	static EmployeeChangeDTO toEmployeeChangeDTO(EmployeeChange change) {
+		final var employee = change.getType() == EmployeeChange.Type.DELETED ? null
+				: new EmployeeDTO(change.getEmployeeId(), change.getName(), change.getGender(), change.getDoj(),
+						change.getSalary(), change.getVersion());
+		return new EmployeeChangeDTO(change.getSeq(), change.getType(), change.getEmployeeId(), change.getVersion(),
+				employee, change.getChangedAt());
+	}
+
+	// a cursor from a previous run is ahead of the sequence, one from before the oldest change kept has a gap
+	private void check(long since) {
+		if (opened && (since > last || since != 0 && since + 1 < first)) {
+			throw new EmployeeChangesExpiredException();
+		}
+	}
+
+	private int index(long seq) {
+		return (int) (seq % buffer.length);
+	}
+
+	private void subscribe(Subscriber subscriber) {
+		final boolean behind;
+		lock.lock();
+		try {
+			check(subscriber.since);
+			subscribers.add(subscriber);
+			behind = opened && subscriber.since < last;
+		} finally {
+			lock.unlock();
+		}
+		if (behind) {
+			subscriber.wake();
+		}
+	}
+
+	private void remove(Subscriber subscriber) {
+		lock.lock();
+		try {
+			subscribers.remove(subscriber);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean subscribed(Subscriber subscriber) {
+		lock.lock();
+		try {
+			return subscribers.contains(subscriber);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void wake() {
+		final List<Subscriber> woken;
+		lock.lock();
+		try {
+			woken = new ArrayList<>(subscribers);
+		} finally {
+			lock.unlock();
+		}
+		woken.forEach(Subscriber::wake);
+	}
+
+	private static void send(SseEmitter emitter, EmployeeChangeDTO change) {
+		try {
+			emitter.send(SseEmitter.event().id(Long.toString(change.seq())).name(change.type().name()).data(change,
+					MediaType.APPLICATION_JSON));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * A consumer at since. At most one serve() runs per subscriber: a wake while it runs is caught up by the
+	 * check after it, so no append is missed.
+	 */
+	private abstract class Subscriber {
+
+		protected long since;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		Subscriber(long since) {
+			this.since = since;
+		}
+
+		// true once the subscriber needs no more changes
+		abstract boolean serve();
+
+		abstract void fail(RuntimeException e);
+
+		void wake() {
+			if (scheduled.compareAndSet(false, true)) {
+				applicationTaskExecutor.execute(this::run);
+			}
+		}
+
+		private void run() {
+			try {
+				if (serve()) {
+					remove(this);
+				}
+			} catch (RuntimeException e) {
+				remove(this);
+				fail(e);
+			} finally {
+				scheduled.set(false);
+			}
+			if (subscribed(this) && since < last()) {
+				wake();
+			}
+		}
+
+	}
+
+}
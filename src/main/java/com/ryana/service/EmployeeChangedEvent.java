@@ -0,0 +1,27 @@
+package com.ryana.service;
+
+import com.ryana.dto.EmployeeDTO;
+
+/*
+ * Published by EmployeeService for every write.
+ * previous is null for a created Employee and current is null for a deleted one.
+ */
+public record EmployeeChangedEvent(EmployeeDTO previous, EmployeeDTO current) {
+
+	public static EmployeeChangedEvent created(EmployeeDTO current) {
+		return new EmployeeChangedEvent(null, current);
+	}
+
+	public static EmployeeChangedEvent updated(EmployeeDTO previous, EmployeeDTO current) {
+		return new EmployeeChangedEvent(previous, current);
+	}
+
+	public static EmployeeChangedEvent deleted(EmployeeDTO previous) {
+		return new EmployeeChangedEvent(previous, null);
+	}
+
+	public Long id() {
+		return current != null ? current.id() : previous.id();
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.ryana.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/*
+ * Version of the employee collection as a whole, backs the ETag of the list endpoints.
+ * Seeded with the boot time so a restart never hands out a tag issued by a previous run,
+ * and bumped only after commit so a tag never describes uncommitted data.
+ */
+@Component
+public class EmployeeCollectionVersion {
+
+	private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		version.incrementAndGet();
+	}
+
+	public long get() {
+		return version.get();
+	}
+
+}
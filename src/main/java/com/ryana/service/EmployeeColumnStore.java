@@ -0,0 +1,319 @@
+package com.ryana.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.SalaryStatsDTO;
+import com.ryana.dto.SalaryStatsGroup;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+import com.ryana.repository.LongIntHashMap;
+
+/*
+ * Column oriented copy of the employee table for the salary statistics: one primitive
+ * array per column and rows addressed by position, a delete moves the last row into the hole.
+ * Tables of PARALLEL_THRESHOLD rows and more are scanned in slices on the common fork-join pool.
+ */
+@Component
+public class EmployeeColumnStore implements EmployeeIndex {
+
+	static final int PARALLEL_THRESHOLD = 1 << 16;
+	private static final int SLICE_SIZE = 1 << 14;
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final Gender[] GENDERS = Gender.values();
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final LongIntHashMap rows = new LongIntHashMap();
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private double[] salaries = new double[INITIAL_CAPACITY];
+	private byte[] genders = new byte[INITIAL_CAPACITY];
+	private int[] joinDays = new int[INITIAL_CAPACITY];
+	private int size;
+	private volatile boolean ready;
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			ready = false;
+			rows.clear();
+			size = 0;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void put(EmployeeDTO employee) {
+		lock.writeLock().lock();
+		try {
+			var row = rows.get(employee.id());
+			if (row == LongIntHashMap.MISSING) {
+				if (size == ids.length) {
+					grow();
+				}
+				row = size++;
+				rows.put(employee.id(), row);
+			}
+			ids[row] = employee.id();
+			salaries[row] = employee.salary();
+			genders[row] = (byte) employee.gender().ordinal();
+			joinDays[row] = (int) employee.doj().toEpochDay();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void grow() {
+		final var capacity = ids.length * 2;
+		ids = Arrays.copyOf(ids, capacity);
+		salaries = Arrays.copyOf(salaries, capacity);
+		genders = Arrays.copyOf(genders, capacity);
+		joinDays = Arrays.copyOf(joinDays, capacity);
+	}
+
+	/*
+	 * put and remove are keyed by id, replaying a change the initial scan already saw is harmless.
+	 */
+	@Override
+	public void apply(EmployeeChangedEvent event) {
+		if (event.current() != null) {
+			put(event.current());
+		} else {
+			remove(event.previous().id());
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			final var row = rows.remove(id);
+			if (row == LongIntHashMap.MISSING) {
+				return;
+			}
+			final var last = --size;
+			if (row != last) {
+				ids[row] = ids[last];
+				salaries[row] = salaries[last];
+				genders[row] = genders[last];
+				joinDays[row] = joinDays[last];
+				rows.put(ids[row], row);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void loaded() {
+		ready = true;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<SalaryStatsDTO> findSalaryStats(Set<SalaryStatsGroup> groupBy, List<Double> percentiles) {
+		if (!ready) {
+			throw new EmployeeIndexNotReadyException();
+		}
+		final var grouping = new Grouping(groupBy.contains(SalaryStatsGroup.GENDER),
+				groupBy.contains(SalaryStatsGroup.YEAR), groupBy.contains(SalaryStatsGroup.MONTH));
+		lock.readLock().lock();
+		try {
+			final var moments = size >= PARALLEL_THRESHOLD ? new ScanTask(grouping, 0, size).invoke()
+					: scan(grouping, 0, size);
+			final var values = percentiles.isEmpty() ? Map.<Long, double[]>of() : collect(grouping, moments);
+			final var stats = new ArrayList<SalaryStatsDTO>(moments.size());
+			moments.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(
+					group -> stats.add(toStats(grouping, group.getKey(), group.getValue(), values.get(group.getKey()),
+							percentiles)));
+			return stats;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Map<Long, Moments> scan(Grouping grouping, int from, int to) {
+		final var moments = new HashMap<Long, Moments>();
+		for (var row = from; row < to; row++) {
+			moments.computeIfAbsent(grouping.key(genders[row], joinDays[row]), key -> new Moments())
+					.add(salaries[row]);
+		}
+		return moments;
+	}
+
+	private Map<Long, double[]> collect(Grouping grouping, Map<Long, Moments> moments) {
+		final var values = new HashMap<Long, double[]>(moments.size() * 2);
+		final var filled = new HashMap<Long, int[]>(moments.size() * 2);
+		moments.forEach((key, group) -> {
+			values.put(key, new double[(int) group.count]);
+			filled.put(key, new int[1]);
+		});
+		for (var row = 0; row < size; row++) {
+			final var key = grouping.key(genders[row], joinDays[row]);
+			values.get(key)[filled.get(key)[0]++] = salaries[row];
+		}
+		values.values().forEach(group -> {
+			if (group.length >= PARALLEL_THRESHOLD) {
+				Arrays.parallelSort(group);
+			} else {
+				Arrays.sort(group);
+			}
+		});
+		return values;
+	}
+
+	private static SalaryStatsDTO toStats(Grouping grouping, long key, Moments moments, double[] sorted,
+			List<Double> percentiles) {
+		Map<String, Double> quantiles = null;
+		if (sorted != null) {
+			quantiles = new LinkedHashMap<>();
+			for (final var percentile : percentiles) {
+				quantiles.put(String.valueOf(percentile), percentile(sorted, percentile));
+			}
+		}
+		return new SalaryStatsDTO(grouping.gender(key), grouping.year(key), grouping.month(key), moments.count,
+				moments.sum, moments.min, moments.max, moments.mean, Math.sqrt(moments.m2 / moments.count),
+				quantiles);
+	}
+
+	// linear interpolation between the closest ranks
+	static double percentile(double[] sorted, double fraction) {
+		final var position = fraction * (sorted.length - 1);
+		final var lower = (int) Math.floor(position);
+		final var upper = (int) Math.ceil(position);
+		return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+	}
+
+	/*
+	 * Year and month of an epoch day without allocating a LocalDate per row,
+	 * packed as year << 4 | month (civil from days, proleptic Gregorian calendar).
+	 */
+	static int yearMonth(int epochDay) {
+		final var days = epochDay + 719_468;
+		final var era = Math.floorDiv(days, 146_097);
+		final var dayOfEra = days - era * 146_097;
+		final var yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+		final var dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final var shiftedMonth = (5 * dayOfYear + 2) / 153;
+		final var month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+		final var year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+		return year << 4 | month;
+	}
+
+	/*
+	 * A group is packed in a long: gender ordinal + 1, year + YEAR_OFFSET and month, 0 when not grouped by it.
+	 * Sorting the keys orders the groups by gender, year and month.
+	 */
+	private record Grouping(boolean byGender, boolean byYear, boolean byMonth) {
+
+		private static final long YEAR_OFFSET = 500_000;
+		private static final long YEARS = 1_000_000;
+
+		long key(byte gender, int joinDay) {
+			var key = byGender ? gender + 1L : 0L;
+			if (byYear || byMonth) {
+				final var yearMonth = yearMonth(joinDay);
+				key = key * YEARS + (byYear ? (yearMonth >> 4) + YEAR_OFFSET : 0);
+				return key * 16 + (byMonth ? yearMonth & 15 : 0);
+			}
+			return key * YEARS * 16;
+		}
+
+		Gender gender(long key) {
+			return byGender ? GENDERS[(int) (key / 16 / YEARS) - 1] : null;
+		}
+
+		Integer year(long key) {
+			return byYear ? (int) (key / 16 % YEARS - YEAR_OFFSET) : null;
+		}
+
+		Integer month(long key) {
+			return byMonth ? (int) (key % 16) : null;
+		}
+
+	}
+
+	/*
+	 * Count, sum, extremes and the running mean and sum of squared deviations (Welford),
+	 * slices are merged with the pairwise update of Chan et al.
+	 */
+	private static final class Moments {
+
+		private long count;
+		private double sum;
+		private double min = Double.POSITIVE_INFINITY;
+		private double max = Double.NEGATIVE_INFINITY;
+		private double mean;
+		private double m2;
+
+		void add(double salary) {
+			count++;
+			sum += salary;
+			min = Math.min(min, salary);
+			max = Math.max(max, salary);
+			final var delta = salary - mean;
+			mean += delta / count;
+			m2 += delta * (salary - mean);
+		}
+
+		Moments merge(Moments other) {
+			final var total = count + other.count;
+			final var delta = other.mean - mean;
+			mean += delta * other.count / total;
+			m2 += other.m2 + delta * delta * count * other.count / total;
+			count = total;
+			sum += other.sum;
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+			return this;
+		}
+
+	}
+
+	private final class ScanTask extends RecursiveTask<Map<Long, Moments>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Grouping grouping;
+		private final int from;
+		private final int to;
+
+		ScanTask(Grouping grouping, int from, int to) {
+			this.grouping = grouping;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Map<Long, Moments> compute() {
+			if (to - from <= SLICE_SIZE) {
+				return scan(grouping, from, to);
+			}
+			final var middle = (from + to) >>> 1;
+			final var left = new ScanTask(grouping, from, middle);
+			left.fork();
+			final var moments = new ScanTask(grouping, middle, to).compute();
+			left.join().forEach((key, slice) -> moments.merge(key, slice, Moments::merge));
+			return moments;
+		}
+
+	}
+
+}
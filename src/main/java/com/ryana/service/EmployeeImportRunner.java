@@ -0,0 +1,44 @@
+package com.ryana.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Command line import, e.g.
+ * java -jar employee-management.jar --import=employees.json --spring.main.web-application-type=none
+ * Files ending in .csv are read as CSV, anything else as JSON or NDJSON.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EmployeeImportRunner implements ApplicationRunner {
+
+	private static final String IMPORT_OPTION = "import";
+
+	private final EmployeeImportService employeeImportService;
+
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		if (!args.containsOption(IMPORT_OPTION)) {
+			return;
+		}
+		for (final var file : args.getOptionValues(IMPORT_OPTION)) {
+			final var path = Path.of(file);
+			try (final var inputStream = Files.newInputStream(path)) {
+				final var report = path.getFileName().toString().endsWith(".csv")
+						? employeeImportService.importCsv(inputStream)
+						: employeeImportService.importJson(inputStream);
+				log.info("run:file=>{} report=>{}", path, report);
+			}
+		}
+	}
+
+}
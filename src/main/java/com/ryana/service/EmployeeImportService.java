@@ -0,0 +1,189 @@
+package com.ryana.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.ryana.config.ImportProperties;
+import com.ryana.domain.Employee;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.ImportReport;
+import com.ryana.exception.EmployeeImportException;
+import com.ryana.mapper.EmployeeMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Parses employees one record at a time and hands validated batches to writer
+ * threads through a bounded queue, so the input is never held in memory as a whole.
+ * JSON input may be a single array or newline delimited objects, CSV input needs a
+ * name,gender,doj,salary header.
+ * The writers run on a pool of their own, sized by employee.import.writers, so an import never takes
+ * the threads streamed responses need from the applicationTaskExecutor. Overlapping imports queue
+ * their writers behind the running ones.
+ */
+@Log4j2
+@Service
+public class EmployeeImportService {
+
+	private static final long PROGRESS_INTERVAL = 100_000;
+	private static final CsvMapper CSV_MAPPER = CsvMapper.builder().findAndAddModules().build();
+
+	private final EmployeeService employeeService;
+	private final EmployeeMapper employeeMapper;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final ImportProperties importProperties;
+	private final ExecutorService writerExecutor;
+
+	public EmployeeImportService(EmployeeService employeeService, EmployeeMapper employeeMapper,
+			ObjectMapper objectMapper, Validator validator, ImportProperties importProperties) {
+		this.employeeService = employeeService;
+		this.employeeMapper = employeeMapper;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.importProperties = importProperties;
+		final var threads = new AtomicInteger();
+		writerExecutor = Executors.newFixedThreadPool(importProperties.writers(), runnable -> {
+			final var thread = new Thread(runnable, "employee-import-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public ImportReport importJson(InputStream inputStream) throws IOException {
+		return importRecords(objectMapper.readerFor(EmployeeDTO.class).readValues(inputStream));
+	}
+
+	public ImportReport importCsv(InputStream inputStream) throws IOException {
+		return importRecords(CSV_MAPPER.readerFor(EmployeeDTO.class).with(CsvSchema.emptySchema().withHeader())
+				.readValues(inputStream));
+	}
+
+	/*
+	 * Parsing stops at the first writer failure or unreadable record. The batches still queued are dropped,
+	 * the running ones finish, and EmployeeImportException carries what was committed until then.
+	 */
+	private ImportReport importRecords(MappingIterator<EmployeeDTO> records) {
+		final var started = System.nanoTime();
+		final var queue = new ArrayBlockingQueue<List<Employee>>(importProperties.queueCapacity());
+		final var accepted = new AtomicLong();
+		final var failed = new CompletableFuture<Void>();
+		final var writers = CompletableFuture.allOf(IntStream.range(0, importProperties.writers())
+				.mapToObj(writer -> CompletableFuture.runAsync(() -> write(queue, accepted), writerExecutor)
+						.whenComplete((result, e) -> {
+							if (e != null) {
+								failed.completeExceptionally(e);
+							}
+						}))
+				.toArray(CompletableFuture[]::new));
+		var rejected = 0L;
+		var read = 0L;
+		IOException unreadable = null;
+		try (records) {
+			var batch = new ArrayList<Employee>(importProperties.batchSize());
+			while (!failed.isDone() && records.hasNextValue()) {
+				read++;
+				try {
+					final var employeeDTO = records.nextValue();
+					if (validator.validate(employeeDTO).isEmpty()) {
+						batch.add(employeeMapper.toEmployee(employeeDTO));
+					} else {
+						rejected++;
+					}
+				} catch (JsonMappingException e) {
+					rejected++;
+					log.debug("importRecords:rejected=>{}", e.getOriginalMessage());
+				}
+				if (batch.size() == importProperties.batchSize()) {
+					enqueue(queue, batch, failed);
+					batch = new ArrayList<>(importProperties.batchSize());
+				}
+				if (read % PROGRESS_INTERVAL == 0) {
+					log.info("importRecords:{}", ImportReport.of(accepted.get(), rejected, System.nanoTime() - started));
+				}
+			}
+			if (!batch.isEmpty()) {
+				enqueue(queue, batch, failed);
+			}
+		} catch (IOException e) {
+			unreadable = e;
+		} finally {
+			if (failed.isDone()) {
+				queue.clear();
+			}
+			for (var writer = 0; writer < importProperties.writers(); writer++) {
+				enqueue(queue, List.of(), writers);
+			}
+		}
+		final var failure = writers.handle((result, e) -> e).join();
+		final var report = ImportReport.of(accepted.get(), rejected, System.nanoTime() - started);
+		if (failure != null || unreadable != null) {
+			log.warn("importRecords:stopped=>{}", report);
+			throw new EmployeeImportException(report.accepted(), failure != null ? failure.getCause() : unreadable);
+		}
+		log.info("importRecords:{}", report);
+		return report;
+	}
+
+	private void write(BlockingQueue<List<Employee>> queue, AtomicLong accepted) {
+		try {
+			for (var batch = queue.take(); !batch.isEmpty(); batch = queue.take()) {
+				accepted.addAndGet(employeeService.saveAll(batch).size());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/*
+	 * Gives up on batch once stopped is done, no writer is going to take it.
+	 */
+	private static void enqueue(BlockingQueue<List<Employee>> queue, List<Employee> batch,
+			CompletableFuture<Void> stopped) {
+		try {
+			while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+				if (stopped.isDone()) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		writerExecutor.shutdown();
+		try {
+			if (!writerExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+				writerExecutor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			writerExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
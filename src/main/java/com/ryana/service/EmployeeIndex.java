@@ -0,0 +1,19 @@
+package com.ryana.service;
+
+import com.ryana.dto.EmployeeDTO;
+
+/*
+ * An in-memory view of the employee table, filled by EmployeeIndexLoader with put at startup
+ * and kept current by the loader handing it every committed change.
+ */
+public interface EmployeeIndex {
+
+	void clear();
+
+	void put(EmployeeDTO employee);
+
+	void apply(EmployeeChangedEvent event);
+
+	void loaded();
+
+}
@@ -0,0 +1,106 @@
+package com.ryana.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ryana.mapper.EmployeeMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Fills every EmployeeIndex with a single scan of the table and then applies the write path to them.
+ * Changes committed while the scan runs are held back and replayed after it, each only when its previous
+ * image is the version of the row the indexes hold: the scan may already have seen the change, and
+ * a counting index would otherwise count the row twice or remove a salary it never added.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EmployeeIndexLoader {
+
+	private final EmployeeService employeeService;
+	private final EmployeeMapper employeeMapper;
+	private final List<EmployeeIndex> employeeIndexes;
+
+	// a lock rather than synchronized, so a virtual thread is not pinned
+	private final ReentrantLock lock = new ReentrantLock();
+	private List<EmployeeChangedEvent> pending;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		lock.lock();
+		try {
+			pending = new ArrayList<>();
+			employeeIndexes.forEach(EmployeeIndex::clear);
+		} finally {
+			lock.unlock();
+		}
+		final var start = System.nanoTime();
+		// the version of every row the scan put into the indexes, only needed until the replay
+		final var versions = new HashMap<Long, Long>();
+		employeeService.streamAll(employee -> {
+			final var employeeDTO = employeeMapper.toEmployeeDTO(employee);
+			versions.put(employeeDTO.id(), employeeDTO.version());
+			employeeIndexes.forEach(employeeIndex -> employeeIndex.put(employeeDTO));
+		});
+		lock.lock();
+		try {
+			final var replayed = pending.stream().filter(event -> replay(event, versions)).count();
+			log.info("load:indexes=>{} replayed=>{} skipped=>{} elapsedMillis=>{}", employeeIndexes.size(), replayed,
+					pending.size() - replayed, (System.nanoTime() - start) / 1_000_000);
+			pending = null;
+			employeeIndexes.forEach(EmployeeIndex::loaded);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		lock.lock();
+		try {
+			if (pending != null) {
+				pending.add(event);
+			} else {
+				apply(event);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * A change whose previous image is not the indexed version was committed before the scan read
+	 * the row (or deleted it before the scan got there), what the scan put already includes it.
+	 */
+	private boolean replay(EmployeeChangedEvent event, Map<Long, Long> versions) {
+		final var id = event.id();
+		final var indexed = event.previous() == null ? !versions.containsKey(id)
+				: versions.containsKey(id) && Objects.equals(versions.get(id), event.previous().version());
+		if (!indexed) {
+			return false;
+		}
+		apply(event);
+		if (event.current() != null) {
+			versions.put(id, event.current().version());
+		} else {
+			versions.remove(id);
+		}
+		return true;
+	}
+
+	private void apply(EmployeeChangedEvent event) {
+		employeeIndexes.forEach(employeeIndex -> employeeIndex.apply(event));
+	}
+
+}
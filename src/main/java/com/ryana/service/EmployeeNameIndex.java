@@ -0,0 +1,282 @@
+package com.ryana.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+
+/*
+ * Inverted index over the words of Employee.name, lower cased and without accents.
+ * Words are kept sorted so a prefix is a range scan, and every distinct word is also
+ * indexed by its trigrams so a misspelt word finds its neighbours without a full scan.
+ * Adding an id twice or removing an absent one is a no-op, replaying a change is harmless.
+ */
+@Component
+public class EmployeeNameIndex implements EmployeeIndex {
+
+	private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final TreeMap<String, Ids> words = new TreeMap<>();
+	private final Map<String, Set<String>> trigrams = new HashMap<>();
+	private volatile boolean ready;
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			ready = false;
+			words.clear();
+			trigrams.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void put(EmployeeDTO employee) {
+		lock.writeLock().lock();
+		try {
+			add(employee);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void apply(EmployeeChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			if (event.previous() != null) {
+				remove(event.previous());
+			}
+			if (event.current() != null) {
+				add(event.current());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void add(EmployeeDTO employee) {
+		for (final var word : words(employee.name())) {
+			words.computeIfAbsent(word, added -> {
+				trigrams(added)
+						.forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new HashSet<>()).add(added));
+				return new Ids();
+			}).add(employee.id());
+		}
+	}
+
+	private void remove(EmployeeDTO employee) {
+		for (final var word : words(employee.name())) {
+			final var ids = words.get(word);
+			if (ids != null && ids.remove(employee.id()) && ids.isEmpty()) {
+				words.remove(word);
+				trigrams(word).forEach(trigram -> {
+					final var indexed = trigrams.get(trigram);
+					indexed.remove(word);
+					if (indexed.isEmpty()) {
+						trigrams.remove(trigram);
+					}
+				});
+			}
+		}
+	}
+
+	@Override
+	public void loaded() {
+		ready = true;
+	}
+
+	/*
+	 * Ids, ascending, of the employees having a word starting with every word of name.
+	 * fuzzy also accepts words within maxEdits(word) edits of a word of name.
+	 */
+	public long[] search(String name, boolean fuzzy) {
+		if (!ready) {
+			throw new EmployeeIndexNotReadyException();
+		}
+		final var terms = words(name);
+		if (terms.isEmpty()) {
+			return new long[0];
+		}
+		lock.readLock().lock();
+		try {
+			long[] found = null;
+			for (final var term : terms) {
+				final var matches = fuzzy ? fuzzyMatches(term) : prefixMatches(term);
+				found = found == null ? matches : intersect(found, matches);
+				if (found.length == 0) {
+					break;
+				}
+			}
+			return found;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private long[] prefixMatches(String term) {
+		return union(words.subMap(term, true, term + Character.MAX_VALUE, false).values());
+	}
+
+	private long[] fuzzyMatches(String term) {
+		final var matching = new HashMap<String, Ids>(words.subMap(term, true, term + Character.MAX_VALUE, false));
+		final var maxEdits = maxEdits(term);
+		for (final var trigram : trigrams(term)) {
+			for (final var word : trigrams.getOrDefault(trigram, Set.of())) {
+				if (!matching.containsKey(word) && Math.abs(word.length() - term.length()) <= maxEdits
+						&& distance(term, word, maxEdits) <= maxEdits) {
+					matching.put(word, words.get(word));
+				}
+			}
+		}
+		return union(matching.values());
+	}
+
+	static int maxEdits(String term) {
+		return term.length() <= 2 ? 0 : term.length() <= 5 ? 1 : 2;
+	}
+
+	/*
+	 * Levenshtein distance, giving up with maxEdits + 1 as soon as it can not stay within maxEdits.
+	 */
+	static int distance(String source, String target, int maxEdits) {
+		var previous = new int[target.length() + 1];
+		var current = new int[target.length() + 1];
+		for (var column = 0; column <= target.length(); column++) {
+			previous[column] = column;
+		}
+		for (var row = 1; row <= source.length(); row++) {
+			current[0] = row;
+			var best = current[0];
+			for (var column = 1; column <= target.length(); column++) {
+				final var substitution = source.charAt(row - 1) == target.charAt(column - 1) ? 0 : 1;
+				current[column] = Math.min(Math.min(current[column - 1], previous[column]) + 1,
+						previous[column - 1] + substitution);
+				best = Math.min(best, current[column]);
+			}
+			if (best > maxEdits) {
+				return maxEdits + 1;
+			}
+			final var swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[target.length()];
+	}
+
+	static List<String> words(String name) {
+		if (name == null) {
+			return List.of();
+		}
+		final var plain = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+		return Arrays.stream(SEPARATOR.split(plain.toLowerCase(Locale.ROOT))).filter(word -> !word.isEmpty())
+				.distinct().toList();
+	}
+
+	private static Set<String> trigrams(String word) {
+		final var padded = "$" + word + "$";
+		final var trigrams = new HashSet<String>();
+		for (var start = 0; start + 3 <= padded.length(); start++) {
+			trigrams.add(padded.substring(start, start + 3));
+		}
+		return trigrams;
+	}
+
+	private static long[] union(Iterable<Ids> matches) {
+		var size = 0;
+		for (final var ids : matches) {
+			size += ids.size;
+		}
+		final var union = new long[size];
+		var position = 0;
+		for (final var ids : matches) {
+			System.arraycopy(ids.ids, 0, union, position, ids.size);
+			position += ids.size;
+		}
+		Arrays.sort(union);
+		return distinct(union);
+	}
+
+	private static long[] distinct(long[] sorted) {
+		var size = 0;
+		for (var index = 0; index < sorted.length; index++) {
+			if (index == 0 || sorted[index] != sorted[index - 1]) {
+				sorted[size++] = sorted[index];
+			}
+		}
+		return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+	}
+
+	private static long[] intersect(long[] left, long[] right) {
+		final var intersection = new long[Math.min(left.length, right.length)];
+		var size = 0;
+		for (int l = 0, r = 0; l < left.length && r < right.length;) {
+			if (left[l] < right[r]) {
+				l++;
+			} else if (left[l] > right[r]) {
+				r++;
+			} else {
+				intersection[size++] = left[l];
+				l++;
+				r++;
+			}
+		}
+		return Arrays.copyOf(intersection, size);
+	}
+
+	/*
+	 * Sorted ids of the employees having one word, a primitive array instead of a Set<Long>
+	 * keeps a million entries at 8 bytes each.
+	 */
+	private static final class Ids {
+
+		private long[] ids = new long[2];
+		private int size;
+
+		void add(long id) {
+			final var index = Arrays.binarySearch(ids, 0, size, id);
+			if (index >= 0) {
+				return;
+			}
+			final var insertion = -index - 1;
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+			ids[insertion] = id;
+			size++;
+		}
+
+		boolean remove(long id) {
+			final var index = Arrays.binarySearch(ids, 0, size, id);
+			if (index < 0) {
+				return false;
+			}
+			System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+			size--;
+			return true;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+	}
+
+}
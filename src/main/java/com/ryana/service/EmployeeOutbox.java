@@ -0,0 +1,40 @@
+package com.ryana.service;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ryana.domain.EmployeeChange;
+import com.ryana.repository.EmployeeChangeRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Writes every change into the outbox inside the transaction that made it, just before it commits,
+ * so the outbox row and the employee row are committed or rolled back together.
+ */
+@RequiredArgsConstructor
+@Component
+public class EmployeeOutbox {
+
+	private final EmployeeChangeRepository employeeChangeRepository;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		employeeChangeRepository.save(toEmployeeChange(event));
+	}
+
+	static EmployeeChange toEmployeeChange(EmployeeChangedEvent event) {
+		final var change = EmployeeChange.builder().employeeId(event.id()).changedAt(Instant.now());
+		if (event.current() == null) {
+			return change.type(EmployeeChange.Type.DELETED).version(event.previous().version()).build();
+		}
+		final var current = event.current();
+		return change.type(event.previous() == null ? EmployeeChange.Type.CREATED : EmployeeChange.Type.UPDATED)
+				.name(current.name()).gender(current.gender()).doj(current.doj()).salary(current.salary())
+				.version(current.version()).build();
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.ryana.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Single flight for the hot reads: concurrent callers for the same key share one in-flight load and its result
+ * instead of each running the same query. Nothing is kept once the load returns, a caller arriving after it
+ * starts the next one. A committed write detaches the flights it may have changed, so a caller arriving after
+ * the commit never joins a load that could have read before it. The shared result must not be modified.
+ * employee.reads counts the callers per read, outcome=loaded for the ones that ran the load,
+ * outcome=coalesced for the ones served by another caller's load.
+ */
+@Component
+public class EmployeeReadCoalescer {
+
+	public enum Read {
+		BY_ID, BY_YEAR
+	}
+
+	private final Map<Key, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+	private final Map<Read, Counter> loaded = new EnumMap<>(Read.class);
+	private final Map<Read, Counter> coalesced = new EnumMap<>(Read.class);
+
+	public EmployeeReadCoalescer(MeterRegistry meterRegistry) {
+		for (final var read : Read.values()) {
+			loaded.put(read, counter(meterRegistry, read, "loaded"));
+			coalesced.put(read, counter(meterRegistry, read, "coalesced"));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <V> V coalesce(Read read, Object argument, Supplier<V> loader) {
+		final var key = new Key(read, argument);
+		final var flight = new CompletableFuture<Object>();
+		final var inFlight = flights.putIfAbsent(key, flight);
+		if (inFlight != null) {
+			coalesced.get(read).increment();
+			return (V) join(inFlight);
+		}
+		loaded.get(read).increment();
+		try {
+			final var result = loader.get();
+			flight.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			flights.remove(key, flight);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		flights.remove(new Key(Read.BY_ID, event.id()));
+		Stream.of(event.previous(), event.current()).filter(Objects::nonNull).forEach(employeeDTO -> {
+			flights.remove(new Key(Read.BY_YEAR, employeeDTO.doj().getYear()));
+		});
+	}
+
+	// the caller sees what the loading caller saw, the same value or the same exception
+	private static Object join(CompletableFuture<Object> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static Counter counter(MeterRegistry meterRegistry, Read read, String outcome) {
+		return Counter.builder("employee.reads").description("Reads of the hot employee queries")
+				.tag("read", read.name().toLowerCase()).tag("outcome", outcome).register(meterRegistry);
+	}
+
+	private record Key(Read read, Object argument) {
+	}
+
+}
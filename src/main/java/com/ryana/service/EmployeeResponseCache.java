@@ -0,0 +1,128 @@
+package com.ryana.service;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ryana.dto.EmployeeDTO;
+
+/*
+ * Already encoded bodies of the hot list endpoints, keyed by format, endpoint and parameters.
+ * A format is any concrete media type of a Jackson message converter (JSON, CBOR, Smile),
+ * encoded with that converter's ObjectMapper so a cached body matches what MVC would write.
+ * An entry is only served for the collection version it was built under, so a response
+ * built while a write was committing can never outlive it; the write path also drops
+ * every entry after commit to release the memory early.
+ */
+@Component
+public class EmployeeResponseCache {
+
+	private static final long MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+	private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_DTOS = new TypeReference<>() {
+	};
+
+	private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+	private final GzipCompressor gzipCompressor;
+	private final Cache<String, EncodedResponse> responses = Caffeine.newBuilder()
+			.maximumWeight(MAXIMUM_WEIGHT)
+			.weigher((String key, EncodedResponse response) -> response.body().length)
+			.build();
+
+	public EmployeeResponseCache(HttpMessageConverters messageConverters, GzipCompressor gzipCompressor) {
+		this.gzipCompressor = gzipCompressor;
+		messageConverters.getConverters().stream()
+				.filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+				.map(AbstractJackson2HttpMessageConverter.class::cast)
+				.forEach(converter -> converter.getSupportedMediaTypes().stream().filter(MediaType::isConcrete)
+						.forEach(mediaType -> writers.putIfAbsent(new MediaType(mediaType.getType(),
+								mediaType.getSubtype()), converter.getObjectMapper().writerFor(EMPLOYEE_DTOS))));
+	}
+
+	public EncodedResponse get(String key, MediaType format, long version,
+			Supplier<? extends List<EmployeeDTO>> loader) {
+		final var writer = writers.get(format);
+		if (writer == null) {
+			throw new IllegalArgumentException("no Jackson converter writes " + format);
+		}
+		final var formatKey = format + " " + key;
+		final var cached = responses.getIfPresent(formatKey);
+		if (cached != null && cached.version() == version) {
+			return cached;
+		}
+		final var encoded = new EncodedResponse(version, format, serialize(writer, loader.get()), gzipCompressor);
+		responses.asMap().merge(formatKey, encoded, (old, built) -> old.version() > built.version() ? old : built);
+		return encoded;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		responses.invalidateAll();
+	}
+
+	private static byte[] serialize(ObjectWriter writer, List<EmployeeDTO> employeeDTOs) {
+		try {
+			return writer.writeValueAsBytes(employeeDTOs);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * The gzip variant is compressed once, on the first request that accepts it,
+	 * and only for bodies large enough to be worth it.
+	 */
+	public static final class EncodedResponse {
+
+		private final long version;
+		private final MediaType format;
+		private final byte[] body;
+		private final GzipCompressor gzipCompressor;
+		private volatile byte[] gzip;
+
+		EncodedResponse(long version, MediaType format, byte[] body, GzipCompressor gzipCompressor) {
+			this.version = version;
+			this.format = format;
+			this.body = body;
+			this.gzipCompressor = gzipCompressor;
+		}
+
+		public long version() {
+			return version;
+		}
+
+		public MediaType format() {
+			return format;
+		}
+
+		public byte[] body() {
+			return body;
+		}
+
+		public boolean compressible() {
+			return gzipCompressor.compressible(body.length);
+		}
+
+		public byte[] gzip() {
+			var compressed = gzip;
+			if (compressed == null) {
+				compressed = gzipCompressor.gzip(body);
+				gzip = compressed;
+			}
+			return compressed;
+		}
+	}
+
+}
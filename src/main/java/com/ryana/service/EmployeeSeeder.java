@@ -0,0 +1,135 @@
+package com.ryana.service;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.ryana.config.SeedProperties;
+import com.ryana.domain.Gender;
+import com.ryana.repository.EmployeeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Fills the employee table at startup for load and benchmark runs, e.g.
+ * java -jar employee-management.jar --spring.profiles.active=embedded --employee.seed.generated=1000000
+ * Runners finish before ApplicationReadyEvent, so the in-memory indexes load the seeded rows.
+ * Generated rows bypass JPA and the change events: plain JDBC batches, ids after the current maximum,
+ * and every batch drawn from its own random stream so the rows do not depend on thread scheduling.
+ * With employee.storage=memory there is no JdbcTemplate, only the seed location is imported.
+ * The location is imported into an empty table only, a journaled store keeps its rows across restarts.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class EmployeeSeeder implements ApplicationRunner {
+
+	private static final String INSERT = "insert into employee (id, name, gender, doj, salary, version) "
+			+ "values (?, ?, ?, ?, ?, 0)";
+	private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+	private static final LocalDate FIRST_JOINING_DATE = LocalDate.of(2010, 1, 1);
+	private static final int JOINING_DAYS = 15 * 365;
+	private static final String[] SYLLABLES = { "an", "bel", "cor", "da", "el", "fin", "ga", "hel", "i", "jo", "ka",
+			"lin", "mar", "na", "or", "pe", "ra", "sha", "th", "ul", "vi", "wen", "ya", "zo" };
+	private static final Gender[] GENDERS = Gender.values();
+
+	private final SeedProperties seedProperties;
+	private final EmployeeImportService employeeImportService;
+	private final EmployeeRepository employeeRepository;
+	private final Optional<JdbcTemplate> jdbcTemplate;
+	private final ResourceLoader resourceLoader;
+	private final AsyncTaskExecutor applicationTaskExecutor;
+
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		final var stored = StringUtils.hasText(seedProperties.location()) ? employeeRepository.count() : 0;
+		if (stored > 0) {
+			log.info("run:location=>{} skipped, employees=>{} already stored", seedProperties.location(), stored);
+		} else if (StringUtils.hasText(seedProperties.location())) {
+			final var resource = resourceLoader.getResource(seedProperties.location());
+			try (final var inputStream = resource.getInputStream()) {
+				final var report = resource.getFilename() != null && resource.getFilename().endsWith(".csv")
+						? employeeImportService.importCsv(inputStream)
+						: employeeImportService.importJson(inputStream);
+				log.info("run:location=>{} report=>{}", seedProperties.location(), report);
+			}
+		}
+		if (seedProperties.generated() > 0) {
+			generate(seedProperties.generated());
+		}
+	}
+
+	/*
+	 * Inserts count synthetic employees and moves employee_seq past them, returns the first generated id.
+	 */
+	public long generate(int count) {
+		final var jdbcTemplate = this.jdbcTemplate
+				.orElseThrow(() -> new IllegalStateException("generated employees need employee.storage=jpa"));
+		final var started = System.nanoTime();
+		final var first = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from employee", Long.class) + 1;
+		final var batches = (count + seedProperties.batchSize() - 1) / seedProperties.batchSize();
+		final var writers = Math.max(1, Math.min(seedProperties.writers(), batches));
+		CompletableFuture.allOf(IntStream.range(0, writers)
+				.mapToObj(writer -> CompletableFuture.runAsync(() -> {
+					for (var batch = writer; batch < batches; batch += writers) {
+						final var from = first + (long) batch * seedProperties.batchSize();
+						insert(jdbcTemplate, from, (int) Math.min(seedProperties.batchSize(), first + count - from));
+					}
+				}, applicationTaskExecutor))
+				.toArray(CompletableFuture[]::new)).join();
+		jdbcTemplate.execute("alter sequence employee_seq restart with " + (first + count + SEQUENCE_ALLOCATION_SIZE));
+		jdbcTemplate.execute("analyze");
+		final var elapsed = System.nanoTime() - started;
+		log.info("generate:employees=>{} millis=>{} perSecond=>{}", count, elapsed / 1_000_000,
+				count * 1_000_000_000L / Math.max(1, elapsed));
+		return first;
+	}
+
+	private void insert(JdbcTemplate jdbcTemplate, long from, int size) {
+		final var random = new SplittableRandom(seedProperties.randomSeed() ^ from);
+		jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+
+			@Override
+			public void setValues(PreparedStatement statement, int index) throws SQLException {
+				statement.setLong(1, from + index);
+				statement.setString(2, name(random));
+				statement.setString(3, GENDERS[random.nextInt(GENDERS.length)].name());
+				statement.setDate(4, Date.valueOf(FIRST_JOINING_DATE.plusDays(random.nextInt(JOINING_DAYS))));
+				statement.setDouble(5, Math.round(random.nextDouble(10_000, 100_000) * 100) / 100.0);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return size;
+			}
+
+		});
+	}
+
+	// two to four syllables, so the name index sees many distinct but overlapping words
+	private static String name(SplittableRandom random) {
+		final var name = new StringBuilder();
+		for (var syllable = random.nextInt(2, 5); syllable > 0; syllable--) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+		return name.toString();
+	}
+
+}
@@ -1,55 +1,306 @@
 package com.ryana.service;
 
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+import com.ryana.dto.SalaryStatsDTO;
+import com.ryana.dto.SalaryStatsGroup;
+import com.ryana.exception.EmployeeConflictException;
+import com.ryana.exception.EmployeePreconditionFailedException;
+import com.ryana.exception.EmployeeQueryException;
+import com.ryana.mapper.EmployeeMapper;
+import com.ryana.repository.EmployeeCursor;
 import com.ryana.repository.EmployeeRepository;
+import com.ryana.service.EmployeeReadCoalescer.Read;
 
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
 @Service
 public class EmployeeService {
 
+	public static final String EMPLOYEES_CACHE = "employees";
+
+	private static final int BULK_CHUNK_SIZE = 1000;
+	private static final Set<String> SORTABLE = Set.of("id", "salary", "doj");
+
 	private final EmployeeRepository employeeRepository;
+	private final EmployeeMapper employeeMapper;
+	private final SalaryAggregateStore salaryAggregateStore;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EmployeeCollectionVersion employeeCollectionVersion;
+	private final EmployeeColumnStore employeeColumnStore;
+	private final SalaryPercentileStore salaryPercentileStore;
+	private final EmployeeNameIndex employeeNameIndex;
+	private final EmployeeReadCoalescer employeeReadCoalescer;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public EmployeeService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper,
+			SalaryAggregateStore salaryAggregateStore, ApplicationEventPublisher eventPublisher,
+			EmployeeCollectionVersion employeeCollectionVersion, EmployeeColumnStore employeeColumnStore,
+			SalaryPercentileStore salaryPercentileStore, EmployeeNameIndex employeeNameIndex,
+			EmployeeReadCoalescer employeeReadCoalescer, PlatformTransactionManager transactionManager) {
+		this.employeeRepository = employeeRepository;
+		this.employeeMapper = employeeMapper;
+		this.salaryAggregateStore = salaryAggregateStore;
+		this.eventPublisher = eventPublisher;
+		this.employeeCollectionVersion = employeeCollectionVersion;
+		this.employeeColumnStore = employeeColumnStore;
+		this.salaryPercentileStore = salaryPercentileStore;
+		this.employeeNameIndex = employeeNameIndex;
+		this.employeeReadCoalescer = employeeReadCoalescer;
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+
+	public long collectionVersion() {
+		return employeeCollectionVersion.get();
+	}
+
+	@Transactional(readOnly = true)
+	public List<EmployeeDTO> findAll() {
+		return employeeRepository.findAllDTOs();
+	}
+
+	public List<Employee> findPage(Long after, int limit) {
+		return employeeRepository.findPage(Optional.ofNullable(after).orElse(0L), PageRequest.ofSize(limit));
+	}
 
-	public List<Employee> findAll() {
-		return employeeRepository.findAll();
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<? super Employee> action) {
+		employeeRepository.scrollAll(action);
+	}
+
+	/*
+	 * The index answers which ids match, only the requested page of them is read from the repository.
+	 */
+	public List<Employee> findByName(String name, boolean fuzzy, Pageable pageable) {
+		final var ids = employeeNameIndex.search(name, fuzzy);
+		final var from = (int) Math.min(pageable.getOffset(), ids.length);
+		final var to = (int) Math.min((long) from + pageable.getPageSize(), ids.length);
+		if (from == to) {
+			return List.of();
+		}
+		final var page = Arrays.stream(ids, from, to).boxed().toList();
+		final var employees = new ArrayList<>(employeeRepository.findAllById(page));
+		employees.sort(Comparator.comparing(Employee::getId));
+		return employees;
+	}
+
+	/*
+	 * One page of the Employees matching query, sorted by a single property with id breaking the ties
+	 * in the same direction. cursor is EmployeeCursor.encode() of the last row of the previous page.
+	 */
+	public List<Employee> query(EmployeeQuery query, Sort sort, String cursor, int limit) {
+		final var orders = sort.toList();
+		if (orders.size() != 1 || !SORTABLE.contains(orders.get(0).getProperty())) {
+			throw new EmployeeQueryException("sort by exactly one of " + SORTABLE);
+		}
+		final var order = orders.get(0);
+		final var after = Optional.ofNullable(cursor).map(token -> EmployeeCursor.decode(token, order.getProperty()))
+				.orElse(null);
+		return employeeRepository.findAll(query, order, after, limit);
 	}
 
 	public Optional<Employee> findById(Long id) {
 		return employeeRepository.findById(id);
 	}
 
+	/*
+	 * A cache miss is coalesced with the concurrent misses for the same id. Like findByYear only the load
+	 * runs in a read-only transaction, a caller waiting for another caller's query holds no connection.
+	 */
+	@Cacheable(cacheNames = EMPLOYEES_CACHE, unless = "#result == null")
+	public Optional<EmployeeDTO> findDTOById(Long id) {
+		return employeeReadCoalescer.coalesce(Read.BY_ID, id,
+				() -> readOnlyTransaction.execute(status -> employeeRepository.findDTOById(id)));
+	}
+
+	/*
+	 * Only the version, for answering If-None-Match without loading the row.
+	 */
+	public Optional<Long> findVersionById(Long id) {
+		return readOnlyTransaction.execute(status -> employeeRepository.findVersionById(id));
+	}
+
+	@Transactional
 	public Employee save(Employee employee) {
-		return employeeRepository.save(employee);
+		final var saved = employeeRepository.save(employee);
+		eventPublisher.publishEvent(EmployeeChangedEvent.created(employeeMapper.toEmployeeDTO(saved)));
+		return saved;
+	}
+
+	@Transactional
+	public List<Employee> saveAll(List<Employee> employees) {
+		final var saved = new ArrayList<Employee>(employees.size());
+		for (final var chunk : chunks(employees)) {
+			chunk.forEach(employee -> employee.setId(null));
+			saved.addAll(employeeRepository.saveAll(chunk));
+			employeeRepository.flushAndClear();
+		}
+		saved.forEach(employee -> eventPublisher
+				.publishEvent(EmployeeChangedEvent.created(employeeMapper.toEmployeeDTO(employee))));
+		return saved;
 	}
 
+	/*
+	 * Dirty checking with @DynamicUpdate writes only the changed columns,
+	 * the version column rejects a concurrent modification with EmployeeConflictException.
+	 */
+	@Transactional
 	public Optional<Employee> update(Long id, Employee employee) {
+		return update(id, employee, null);
+	}
+
+	/*
+	 * A non null version is the one the client expects (If-Match), any other current version fails the precondition.
+	 */
+	@Transactional
+	public Optional<Employee> update(Long id, Employee employee, Long version) {
 
 		return employeeRepository.findById(id).map(old -> {
-			BeanUtils.copyProperties(employee, old, Employee.class);
-			old.setId(id);
+			if (version != null && !version.equals(old.getVersion())) {
+				throw new EmployeePreconditionFailedException();
+			}
+			final var previous = employeeMapper.toEmployeeDTO(old);
+			employeeMapper.updateEmployee(employee, old);
+			flush(employeeRepository::flush);
+			eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, employeeMapper.toEmployeeDTO(old)));
 			return old;
-		}).map(employeeRepository::save);
+		});
+	}
+
+	/*
+	 * Applies only the non null fields of changes with a single version guarded UPDATE.
+	 * Not the single statement of an UPDATE ... RETURNING: JPQL has none, and the write path listeners need
+	 * the before image, so the row is read by primary key first, and read again after the UPDATE, which
+	 * clears the persistence context, for the row as the database wrote it.
+	 */
+	@Transactional
+	public Optional<Employee> patch(Long id, Employee changes) {
+		return employeeRepository.findById(id).map(old -> {
+			final var previous = employeeMapper.toEmployeeDTO(old);
+			final var patched = employeeRepository.patch(id, old.getVersion(), changes.getName(), changes.getGender(),
+					changes.getDoj(), changes.getSalary());
+			if (patched == 0) {
+				throw new EmployeeConflictException();
+			}
+			final var current = employeeRepository.findById(id).orElseThrow(EmployeeConflictException::new);
+			eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, employeeMapper.toEmployeeDTO(current)));
+			return current;
+		});
 	}
 
+	@Transactional
+	public List<Employee> updateAll(List<Employee> employees) {
+		final var updated = new ArrayList<Employee>(employees.size());
+		for (final var chunk : chunks(employees)) {
+			final var changes = chunk.stream().filter(employee -> employee.getId() != null)
+					.collect(Collectors.toMap(Employee::getId, Function.identity(), (first, last) -> last));
+			final var olds = employeeRepository.findAllById(changes.keySet());
+			final var previous = employeeMapper.toEmployeeDTOs(olds);
+			olds.forEach(old -> employeeMapper.updateEmployee(changes.get(old.getId()), old));
+			flush(employeeRepository::flushAndClear);
+			for (var index = 0; index < olds.size(); index++) {
+				eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous.get(index),
+						employeeMapper.toEmployeeDTO(olds.get(index))));
+			}
+			updated.addAll(olds);
+		}
+		return updated;
+	}
+
+	private static void flush(Runnable flush) {
+		try {
+			flush.run();
+		} catch (OptimisticLockingFailureException e) {
+			throw new EmployeeConflictException();
+		}
+	}
+
+	@Transactional
 	public void deleteById(Long id) {
-		employeeRepository.deleteById(id);
+		deleteById(id, null);
+	}
+
+	@Transactional
+	public void deleteById(Long id, Long version) {
+		final var found = employeeRepository.findById(id);
+		if (version != null && found.map(Employee::getVersion).filter(version::equals).isEmpty()) {
+			throw new EmployeePreconditionFailedException();
+		}
+		found.ifPresent(employee -> {
+			employeeRepository.delete(employee);
+			eventPublisher.publishEvent(EmployeeChangedEvent.deleted(employeeMapper.toEmployeeDTO(employee)));
+		});
+	}
+
+	@Transactional
+	public void deleteAllById(List<Long> ids) {
+		for (final var chunk : chunks(ids)) {
+			final var employees = employeeRepository.findAllById(chunk);
+			employeeRepository.deleteAllInBatch(employees);
+			employeeRepository.flushAndClear();
+			employees.forEach(employee -> eventPublisher
+					.publishEvent(EmployeeChangedEvent.deleted(employeeMapper.toEmployeeDTO(employee))));
+		}
 	}
 
 	public Double findAverageSalaryByGender(Gender gender) {
-		return employeeRepository.findAverageSalaryByGender(gender);
+		return salaryAggregateStore.findAverageSalary(gender);
+	}
+
+	public Map<String, Double> findSalaryPercentiles(Gender gender, Integer year, List<Double> fractions) {
+		return salaryPercentileStore.findSalaryPercentiles(gender, year, fractions);
+	}
+
+	public List<SalaryStatsDTO> findSalaryStats(Set<SalaryStatsGroup> groupBy, List<Double> percentiles) {
+		return employeeColumnStore.findSalaryStats(groupBy, percentiles);
+	}
+
+	public List<EmployeeDTO> findByYear(Integer doj) {
+		return Optional.ofNullable(doj).map(Year::of)
+				.map(year -> employeeReadCoalescer.coalesce(Read.BY_YEAR, doj,
+						() -> readOnlyTransaction.execute(status -> employeeRepository
+								.findDTOsJoinedBetween(year.atDay(1), year.plusYears(1).atDay(1)))))
+				.orElseGet(List::of);
+	}
+
+	public List<Employee> findJoinedBetween(LocalDate from, LocalDate to, Pageable pageable) {
+		if (!from.isBefore(to)) {
+			throw new EmployeeQueryException("from must be before to");
+		}
+		return employeeRepository.findJoinedBetween(from, to, pageable);
 	}
 
-	public List<Employee> findByYear(Integer doj) {
-		return Optional.ofNullable(doj)
-				.map(employeeRepository::findByYear).orElseGet(List::of);
+	private static <T> List<List<T>> chunks(List<T> items) {
+		return IntStream.range(0, (items.size() + BULK_CHUNK_SIZE - 1) / BULK_CHUNK_SIZE)
+				.mapToObj(chunk -> items.subList(chunk * BULK_CHUNK_SIZE,
+						Math.min(items.size(), (chunk + 1) * BULK_CHUNK_SIZE)))
+				.toList();
 	}
 
 }
@@ -0,0 +1,146 @@
+package com.ryana.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.ryana.config.CompressionProperties;
+
+/*
+ * gzip (RFC 1952) over a pool of Deflaters and their output buffers. GZIPOutputStream allocates
+ * a Deflater, with its native zlib state, and a buffer per response and frees them on close;
+ * here they are reset and handed to the next response instead. An empty pool creates a Deflater,
+ * a full one ends the returned Deflater, so the pool never blocks a request.
+ */
+@Component
+public class GzipCompressor {
+
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	private static final int BUFFER_SIZE = 8192;
+
+	private final CompressionProperties properties;
+	private final BlockingQueue<PooledDeflater> pool;
+
+	public GzipCompressor(CompressionProperties properties) {
+		this.properties = properties;
+		this.pool = new ArrayBlockingQueue<>(Math.max(1, properties.poolSize()));
+	}
+
+	public boolean compressible(int length) {
+		return length >= properties.minResponseSize();
+	}
+
+	public byte[] gzip(byte[] bytes) {
+		final var out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+		final var pooled = borrow();
+		try {
+			out.writeBytes(HEADER);
+			final var deflater = pooled.deflater;
+			deflater.setInput(bytes);
+			deflater.finish();
+			while (!deflater.finished()) {
+				out.write(pooled.buffer, 0, deflater.deflate(pooled.buffer));
+			}
+			pooled.crc.update(bytes);
+			out.writeBytes(trailer(pooled.crc, bytes.length));
+		} finally {
+			release(pooled);
+		}
+		return out.toByteArray();
+	}
+
+	/*
+	 * A gzip stream over out for bodies of unknown length, its Deflater goes back to the pool on close.
+	 */
+	public OutputStream gzip(OutputStream out) throws IOException {
+		return new GzipStream(out, borrow());
+	}
+
+	private PooledDeflater borrow() {
+		final var pooled = pool.poll();
+		return pooled != null ? pooled : new PooledDeflater(new Deflater(properties.level(), true));
+	}
+
+	private void release(PooledDeflater pooled) {
+		pooled.deflater.reset();
+		pooled.crc.reset();
+		if (!pool.offer(pooled)) {
+			pooled.deflater.end();
+		}
+	}
+
+	int idle() {
+		return pool.size();
+	}
+
+	// CRC-32 and the input size modulo 2^32, both little endian
+	private static byte[] trailer(CRC32 crc, long size) {
+		final var value = crc.getValue();
+		return new byte[] { (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24),
+				(byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24) };
+	}
+
+	private static final class PooledDeflater {
+
+		private final Deflater deflater;
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+		private final CRC32 crc = new CRC32();
+
+		PooledDeflater(Deflater deflater) {
+			this.deflater = deflater;
+		}
+
+	}
+
+	private final class GzipStream extends DeflaterOutputStream {
+
+		private final PooledDeflater pooled;
+		private long size;
+		private boolean closed;
+
+		GzipStream(OutputStream out, PooledDeflater pooled) throws IOException {
+			super(out, pooled.deflater, 1);
+			// deflate into the pooled buffer rather than one allocated per stream
+			this.buf = pooled.buffer;
+			this.pooled = pooled;
+			out.write(HEADER);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			super.write(bytes, offset, length);
+			pooled.crc.update(bytes, offset, length);
+			size += length;
+		}
+
+		@Override
+		public void finish() throws IOException {
+			if (!def.finished()) {
+				super.finish();
+				out.write(trailer(pooled.crc, size));
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				super.close();
+			} finally {
+				release(pooled);
+			}
+		}
+
+	}
+
+}
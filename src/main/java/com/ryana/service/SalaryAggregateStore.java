@@ -0,0 +1,128 @@
+package com.ryana.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ryana.config.AggregateProperties;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.repository.EmployeeRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+/*
+ * Count and sum of salaries per Gender and per Gender and year of joining,
+ * kept current from the write path so averages are answered in O(1).
+ * Until the first rebuild completes every answer comes from the database.
+ * A rebuild fills fresh maps and swaps them in, readers never see them half built, and holds
+ * off the write events meanwhile so none of them is applied to the maps it replaces.
+ */
+@Log4j2
+@RequiredArgsConstructor
+@Component
+public class SalaryAggregateStore {
+
+	private static final double TOLERANCE = 1e-9;
+
+	private final EmployeeRepository employeeRepository;
+	private final AggregateProperties aggregateProperties;
+
+	private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+	private volatile Map<Key, SalaryAggregate> aggregates = new ConcurrentHashMap<>();
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		// a lock rather than synchronized, so a virtual thread is not pinned during the queries
+		rebuildLock.writeLock().lock();
+		try {
+			final var rebuilt = new ConcurrentHashMap<Key, SalaryAggregate>();
+			employeeRepository.findSalaryTotals().forEach(totals -> rebuilt.put(new Key(totals.getGender(), null),
+					new SalaryAggregate(totals.getEmployees(), totals.getTotalSalary())));
+			employeeRepository.findSalaryTotalsByYear()
+					.forEach(totals -> rebuilt.put(new Key(totals.getGender(), totals.getJoinYear()),
+							new SalaryAggregate(totals.getEmployees(), totals.getTotalSalary())));
+			aggregates = rebuilt;
+			ready = true;
+			log.info("rebuild:aggregates=>{}", rebuilt.size());
+		} finally {
+			rebuildLock.writeLock().unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		rebuildLock.readLock().lock();
+		try {
+			if (event.previous() != null) {
+				apply(event.previous(), -1);
+			}
+			if (event.current() != null) {
+				apply(event.current(), 1);
+			}
+		} finally {
+			rebuildLock.readLock().unlock();
+		}
+	}
+
+	private void apply(EmployeeDTO employee, int sign) {
+		final var delta = new SalaryAggregate(sign, sign * employee.salary());
+		aggregates.merge(new Key(employee.gender(), null), delta, SalaryAggregate::plus);
+		aggregates.merge(new Key(employee.gender(), employee.doj().getYear()), delta, SalaryAggregate::plus);
+	}
+
+	public Double findAverageSalary(Gender gender) {
+		if (!ready) {
+			return employeeRepository.findAverageSalaryByGender(gender);
+		}
+		final var averageSalary = average(new Key(gender, null));
+		if (aggregateProperties.consistencyCheck()) {
+			final var expected = employeeRepository.findAverageSalaryByGender(gender);
+			if (drifted(expected, averageSalary)) {
+				log.warn("findAverageSalary:gender=>{} expected=>{} actual=>{}", gender, expected, averageSalary);
+				return expected;
+			}
+		}
+		return averageSalary;
+	}
+
+	private static boolean drifted(Double expected, Double actual) {
+		if (expected == null || actual == null) {
+			return expected != actual;
+		}
+		return Math.abs(expected - actual) > TOLERANCE * Math.abs(expected);
+	}
+
+	public Double findAverageSalary(Gender gender, Integer year) {
+		if (!ready) {
+			return employeeRepository.findSalaryTotalsByYear().stream()
+					.filter(totals -> totals.getGender() == gender && year.equals(totals.getJoinYear())).findFirst()
+					.map(totals -> totals.getTotalSalary() / totals.getEmployees()).orElse(null);
+		}
+		return average(new Key(gender, year));
+	}
+
+	private Double average(Key key) {
+		final var aggregate = aggregates.get(key);
+		return aggregate == null || aggregate.count() == 0 ? null : aggregate.sum() / aggregate.count();
+	}
+
+	private record Key(Gender gender, Integer year) {
+	}
+
+	private record SalaryAggregate(long count, double sum) {
+
+		SalaryAggregate plus(SalaryAggregate other) {
+			return new SalaryAggregate(count + other.count, sum + other.sum);
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.ryana.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.ryana.config.SketchProperties;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * One SalarySketch per Gender and year of joining, following every committed change.
+ * The percentiles of a Gender merge the sketches of all its years, which is cheap
+ * as a sketch has a few hundred buckets whatever the number of employees.
+ */
+@RequiredArgsConstructor
+@Component
+public class SalaryPercentileStore implements EmployeeIndex {
+
+	private final SketchProperties sketchProperties;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Key, SalarySketch> sketches = new HashMap<>();
+	private volatile boolean ready;
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			ready = false;
+			sketches.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void put(EmployeeDTO employee) {
+		lock.writeLock().lock();
+		try {
+			sketch(employee).add(employee.salary());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void apply(EmployeeChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			if (event.previous() != null) {
+				sketch(event.previous()).remove(event.previous().salary());
+			}
+			if (event.current() != null) {
+				sketch(event.current()).add(event.current().salary());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private SalarySketch sketch(EmployeeDTO employee) {
+		return sketches.computeIfAbsent(new Key(employee.gender(), employee.doj().getYear()),
+				key -> new SalarySketch(sketchProperties.relativeAccuracy()));
+	}
+
+	@Override
+	public void loaded() {
+		ready = true;
+	}
+
+	/*
+	 * Percentiles keyed by the requested fraction, empty when nobody matches.
+	 * A null year covers every year of joining.
+	 */
+	public Map<String, Double> findSalaryPercentiles(Gender gender, Integer year, List<Double> fractions) {
+		if (!ready) {
+			throw new EmployeeIndexNotReadyException();
+		}
+		final var merged = new SalarySketch(sketchProperties.relativeAccuracy());
+		lock.readLock().lock();
+		try {
+			sketches.forEach((key, sketch) -> {
+				if (key.gender() == gender && (year == null || key.year() == year)) {
+					merged.merge(sketch);
+				}
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+		final var percentiles = new LinkedHashMap<String, Double>();
+		if (merged.count() > 0) {
+			fractions.forEach(fraction -> percentiles.put(String.valueOf(fraction), merged.quantile(fraction)));
+		}
+		return percentiles;
+	}
+
+	private record Key(Gender gender, int year) {
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.ryana.service;
+
+/*
+ * Quantile sketch with a relative error guarantee (DDSketch): a value x > 0 is counted in bucket
+ * ceil(log(x) / log(gamma)) and answered with the bucket midpoint, so every percentile is within
+ * relativeAccuracy of the exact one. Unlike t-digest or KLL, a bucket count can simply be decremented,
+ * which lets the sketch follow updates and deletes, and two sketches merge by adding their buckets.
+ * Values <= 0 are counted, and answered, as 0. Not thread safe.
+ */
+public final class SalarySketch {
+
+	private static final int INITIAL_BUCKETS = 256;
+
+	private final double relativeAccuracy;
+	private final double gamma;
+	private final double logGamma;
+
+	private long[] buckets = new long[0];
+	private int minIndex;
+	private long zeroCount;
+	private long count;
+
+	public SalarySketch(double relativeAccuracy) {
+		if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+			throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1: " + relativeAccuracy);
+		}
+		this.relativeAccuracy = relativeAccuracy;
+		this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+		this.logGamma = Math.log(gamma);
+	}
+
+	public void add(double value) {
+		add(value, 1);
+	}
+
+	public void remove(double value) {
+		add(value, -1);
+	}
+
+	private void add(double value, long delta) {
+		count += delta;
+		if (value <= 0) {
+			zeroCount += delta;
+			return;
+		}
+		final var index = (int) Math.ceil(Math.log(value) / logGamma);
+		ensureBucket(index);
+		buckets[index - minIndex] += delta;
+	}
+
+	private void ensureBucket(int index) {
+		if (buckets.length == 0) {
+			buckets = new long[INITIAL_BUCKETS];
+			minIndex = index - INITIAL_BUCKETS / 2;
+			return;
+		}
+		final var maxIndex = minIndex + buckets.length - 1;
+		if (index >= minIndex && index <= maxIndex) {
+			return;
+		}
+		final var newMinIndex = Math.min(minIndex, index);
+		final var span = Math.max(maxIndex, index) - newMinIndex + 1;
+		final var grown = new long[Math.max(span, buckets.length * 2)];
+		final var shift = index < minIndex ? grown.length - span : 0;
+		System.arraycopy(buckets, 0, grown, minIndex - newMinIndex + shift, buckets.length);
+		buckets = grown;
+		minIndex = newMinIndex - shift;
+	}
+
+	public void merge(SalarySketch other) {
+		if (other.gamma != gamma) {
+			throw new IllegalArgumentException("sketches of a different accuracy can not be merged");
+		}
+		count += other.count;
+		zeroCount += other.zeroCount;
+		for (var bucket = 0; bucket < other.buckets.length; bucket++) {
+			if (other.buckets[bucket] != 0) {
+				ensureBucket(other.minIndex + bucket);
+				buckets[other.minIndex + bucket - minIndex] += other.buckets[bucket];
+			}
+		}
+	}
+
+	public long count() {
+		return count;
+	}
+
+	public double relativeAccuracy() {
+		return relativeAccuracy;
+	}
+
+	/*
+	 * The value of rank floor(fraction * (count - 1)), NaN for an empty sketch.
+	 */
+	public double quantile(double fraction) {
+		if (count <= 0) {
+			return Double.NaN;
+		}
+		final var rank = (long) (fraction * (count - 1));
+		var seen = zeroCount;
+		if (rank < seen) {
+			return 0;
+		}
+		for (var bucket = 0; bucket < buckets.length; bucket++) {
+			seen += buckets[bucket];
+			if (seen > rank) {
+				return 2 * Math.pow(gamma, minIndex + bucket) / (gamma + 1);
+			}
+		}
+		return 2 * Math.pow(gamma, minIndex + lastBucket()) / (gamma + 1);
+	}
+
+	private int lastBucket() {
+		var bucket = buckets.length - 1;
+		while (bucket > 0 && buckets[bucket] == 0) {
+			bucket--;
+		}
+		return bucket;
+	}
+
+}
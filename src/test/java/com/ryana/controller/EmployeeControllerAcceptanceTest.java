@@ -1,10 +1,14 @@
 package com.ryana.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.net.URI;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Order;
@@ -17,7 +21,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 
 import com.ryana.domain.Employee;
+import com.ryana.domain.EmployeeChange;
 import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeChangeDTO;
 import com.ryana.dto.EmployeeDTO;
 import com.ryana.mapper.EmployeeMapper;
 
@@ -114,6 +120,36 @@ class EmployeeControllerAcceptanceTest {
 		assertThat(responseEntity.getBody()).extracting(EmployeeDTO::id).isNull();
 	}
 
+	@Test
+	@DisplayName("Should follow the committed changes after a sequence")
+	void shouldFollowTheChangesAfterASequence() {
+		final var last = testRestTemplate.getForObject("/employees/changes/last", Long.class);
+		final var kumarDTO = new EmployeeDTO(null, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15),
+				20000.00);
+		final var id = testRestTemplate.postForEntity(URI.create("/employees"), kumarDTO, EmployeeDTO.class).getBody()
+				.id();
+		testRestTemplate.delete("/employees/" + id);
+
+		final var changes = new ArrayList<EmployeeChangeDTO>();
+		var since = last;
+		for (var poll = 0; poll < 10 && changes.stream().noneMatch(change -> change.id().equals(id)
+				&& change.type() == EmployeeChange.Type.DELETED); poll++) {
+			final var responseEntity = testRestTemplate.getForEntity("/employees/changes?since=" + since,
+					EmployeeChangeDTO[].class);
+			assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+			changes.addAll(List.of(responseEntity.getBody()));
+			since = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+		}
+
+		assertThat(changes).extracting(EmployeeChangeDTO::seq).isSorted().doesNotHaveDuplicates();
+		// the version of the row travels in the change, the EmployeeDTO representation leaves it out
+		assertThat(changes).filteredOn(change -> change.id().equals(id)).extracting(EmployeeChangeDTO::type,
+				EmployeeChangeDTO::version, EmployeeChangeDTO::employee).containsExactly(
+						tuple(EmployeeChange.Type.CREATED, 0l, new EmployeeDTO(id, "kumar", Gender.MALE,
+								LocalDate.of(2021, Month.DECEMBER, 15), 20000.00)),
+						tuple(EmployeeChange.Type.DELETED, 0l, null));
+	}
+
 	@Order(1)
 	@Test
 	@DisplayName("Should get an Average salary of Male Employees")
@@ -156,4 +192,37 @@ class EmployeeControllerAcceptanceTest {
 		assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
 		assertThat(responseEntity.getBody()).isEmpty();
 	}
+
+	@Test
+	@DisplayName("Should get HttpStatus.BAD_REQUEST for a Year Of Joining no date can have")
+	void shouldGetBadRequestForAnOutOfRangeYear() {
+		final var responseEntity = testRestTemplate.getForEntity(URI.create("/employees/year/1000000000"),
+				String.class);
+		assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	@DisplayName("Should get HttpStatus.BAD_REQUEST for a date range that ends before it starts")
+	void shouldGetBadRequestForAnInvertedDateRange() {
+		final var responseEntity = testRestTemplate
+				.getForEntity(URI.create("/employees/joined?from=2022-01-01&to=2019-01-01"), String.class);
+		assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	@DisplayName("Should query the Employees by gender, salary and date of joining sorted by salary")
+	void shouldQueryTheEmployees() {
+		final var responseEntity = testRestTemplate.getForEntity(
+				"/employees/query?gender=FEMALE&minSalary=60000&joinedFrom=2019-01-01&joinedTo=2022-01-01"
+						+ "&sort=salary,desc&limit=100",
+				EmployeeDTO[].class);
+		assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(responseEntity.getBody()).isNotEmpty().allSatisfy(employeeDTO -> {
+			assertThat(employeeDTO.gender()).isEqualTo(Gender.FEMALE);
+			assertThat(employeeDTO.salary()).isGreaterThanOrEqualTo(60000.00);
+			assertThat(employeeDTO.doj()).isBetween(LocalDate.of(2019, Month.JANUARY, 1),
+					LocalDate.of(2021, Month.DECEMBER, 31));
+		}).extracting(EmployeeDTO::salary).isSortedAccordingTo(Comparator.reverseOrder());
+	}
+
 }
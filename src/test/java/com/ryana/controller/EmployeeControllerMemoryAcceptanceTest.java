@@ -0,0 +1,12 @@
+package com.ryana.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/* The same End to End tests against employee.storage=memory, no database at all.
+ * The rows of data.sql are seeded from data.json through the importer, so they get the same ids */
+@ActiveProfiles("memory")
+@TestPropertySource(properties = "employee.seed.location=classpath:data.json")
+class EmployeeControllerMemoryAcceptanceTest extends EmployeeControllerAcceptanceTest {
+
+}
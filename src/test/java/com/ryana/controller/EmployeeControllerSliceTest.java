@@ -1,43 +1,76 @@
 package com.ryana.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.json.AutoConfigureJsonTesters;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ryana.config.BinaryFormatConfig;
+import com.ryana.config.CompressionProperties;
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
 import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+import com.ryana.dto.SalaryStatsDTO;
+import com.ryana.dto.SalaryStatsGroup;
+import com.ryana.exception.EmployeePreconditionFailedException;
 import com.ryana.mapper.EmployeeMapper;
+import com.ryana.repository.EmployeeCursor;
+import com.ryana.service.EmployeeResponseCache;
 import com.ryana.service.EmployeeService;
+import com.ryana.service.GzipCompressor;
 
 /* This is not a pure unit test as it involves MockMVC
  * Prefer this test over unit testing of controller
@@ -45,6 +78,8 @@ import com.ryana.service.EmployeeService;
  * */
 @AutoConfigureJsonTesters
 @WebMvcTest(EmployeeController.class)
+@Import({ EmployeeResponseCache.class, GzipCompressor.class, BinaryFormatConfig.class })
+@EnableConfigurationProperties(CompressionProperties.class)
 class EmployeeControllerSliceTest {
 
 	@Autowired
@@ -67,10 +102,8 @@ class EmployeeControllerSliceTest {
 				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
-		final var employees = List.of(sharath, kumar);
-		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
-		given(employeeService.findAll()).willReturn(employees);
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(sharath, kumar));
+		given(employeeService.findAll()).willReturn(employeeDTOs);
 
 		mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_JSON)).andDo(print()).andExpect(status().isOk())
 				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
@@ -82,8 +115,7 @@ class EmployeeControllerSliceTest {
 		final var kumar = Employee.builder().id(3l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.findById(anyLong())).willReturn(Optional.of(kumar));
-		given(employeeMapper.toEmployeeDTO(any())).willReturn(employeeDTO);
+		given(employeeService.findDTOById(anyLong())).willReturn(Optional.of(employeeDTO));
 
 		mockMvc.perform(get("/employees/3").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andExpect(status().isOk()).andExpect(content().json(jsonEmployeeDTO.write(employeeDTO).getJson()));
@@ -92,7 +124,7 @@ class EmployeeControllerSliceTest {
 	@Test
 	@DisplayName("Should get HttpStatus.NOT_FOUND for invalid Id")
 	void shouldGetNotFoundStatusForInvalidId() throws Exception {
-		given(employeeService.findById(anyLong())).willReturn(Optional.empty());
+		given(employeeService.findDTOById(anyLong())).willReturn(Optional.empty());
 
 		final var response = mockMvc.perform(get("/employees/104").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andReturn().getResponse();
@@ -131,7 +163,7 @@ class EmployeeControllerSliceTest {
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.update(anyLong(), any())).willReturn(Optional.of(kumar));
+		given(employeeService.update(anyLong(), any(), any())).willReturn(Optional.of(kumar));
 		given(employeeMapper.toEmployeeDTO(any())).willReturn(employeeDTO);
 		mockMvc.perform(put("/employees/2").contentType(MediaType.APPLICATION_JSON)
 				.content(jsonEmployeeDTO.write(employeeDTO).getJson())).andDo(print()).andExpect(status().isOk())
@@ -144,7 +176,7 @@ class EmployeeControllerSliceTest {
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.update(anyLong(), any())).willReturn(Optional.empty());
+		given(employeeService.update(anyLong(), any(), any())).willReturn(Optional.empty());
 		mockMvc.perform(put("/employees/104").contentType(MediaType.APPLICATION_JSON)
 				.content(jsonEmployeeDTO.write(employeeDTO).getJson())).andDo(print()).andExpect(status().isNotFound())
 				.andExpect(content().string(""));
@@ -153,10 +185,10 @@ class EmployeeControllerSliceTest {
 	@Test
 	@DisplayName("Should delete an Employee for valid Id")
 	void shouldDeleteAnEmployeeById() throws Exception {
-		willDoNothing().given(employeeService).deleteById(anyLong());
+		willDoNothing().given(employeeService).deleteById(anyLong(), any());
 		mockMvc.perform(delete("/employees/50").contentType(MediaType.APPLICATION_JSON).content("{}")).andDo(print())
 				.andExpect(status().isNoContent());
-		verify(employeeService, times(1)).deleteById(anyLong());
+		verify(employeeService, times(1)).deleteById(anyLong(), any());
 	}
 
 	@Test
@@ -183,10 +215,8 @@ class EmployeeControllerSliceTest {
 				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2020, Month.DECEMBER, 15)).salary(20000.00).build();
-		final var employees = List.of(sharath, kumar);
-		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
-		given(employeeService.findByYear(anyInt())).willReturn(employees);
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(sharath, kumar));
+		given(employeeService.findByYear(anyInt())).willReturn(employeeDTOs);
 
 		mockMvc.perform(get("/employees/year/2020").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andExpect(status().isOk()).andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
@@ -196,9 +226,389 @@ class EmployeeControllerSliceTest {
 	@DisplayName("Should get Empty List of Employees for invalid Year Of Joining")
 	void shouldGetEmptyListOfEmployeesByYear() throws Exception {
 		given(employeeService.findByYear(anyInt())).willReturn(List.of());
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(List.of());
 		mockMvc.perform(get("/employees/year/2010").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andExpect(status().isOk()).andExpect(content().string("[]"));
 	}
 
+	@Test
+	@DisplayName("Should get a page of Employees after the given Id")
+	void shouldGetAPageOfEmployees() throws Exception {
+		final var sharath = Employee.builder().id(11l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var kumar = Employee.builder().id(12l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employees = List.of(sharath, kumar);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+		given(employeeService.findPage(10l, 2)).willReturn(employees);
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		mockMvc.perform(get("/employees?after=10&limit=2").accept(MediaType.APPLICATION_JSON))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(header().string("Link", "<http://localhost/employees?limit=2&after=12>; rel=\"next\""))
+				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should stream all the Employees as a JSON array")
+	void shouldStreamAllEmployees() throws Exception {
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employees = List.of(sharath, kumar);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+		willAnswer(invocation -> {
+			final Consumer<Employee> action = invocation.getArgument(0);
+			employees.forEach(action);
+			return null;
+		}).given(employeeService).streamAll(any());
+		given(employeeMapper.toEmployeeDTO(any())).willAnswer(invocation -> EmployeeMapper.INSTANCE
+				.toEmployeeDTO(invocation.getArgument(0)));
+
+		final var mvcResult = mockMvc.perform(get("/employees/stream").accept(MediaType.APPLICATION_JSON))
+				.andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(mvcResult)).andDo(print()).andExpect(status().isOk())
+				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should get Employees who joined within a date range")
+	void shouldGetEmployeesJoinedBetween() throws Exception {
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var employees = List.of(sharath);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+		given(employeeService.findJoinedBetween(eq(LocalDate.of(2019, Month.JANUARY, 1)),
+				eq(LocalDate.of(2022, Month.JANUARY, 1)), any())).willReturn(employees);
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		mockMvc.perform(get("/employees/joined").param("from", "2019-01-01").param("to", "2022-01-01")
+				.param("page", "0").param("size", "10").accept(MediaType.APPLICATION_JSON)).andDo(print())
+				.andExpect(status().isOk()).andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should save a batch of Employees and return them")
+	void shouldSaveABatchOfEmployees() throws Exception {
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employees = List.of(sharath, kumar);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+		given(employeeMapper.toEmployees(anyList())).willReturn(employees);
+		given(employeeService.saveAll(anyList())).willReturn(employees);
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		mockMvc.perform(post("/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(jsonEmployeeDTOs.write(employeeDTOs).getJson())).andDo(print())
+				.andExpect(status().isCreated()).andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should delete a batch of Employees by their Ids")
+	void shouldDeleteABatchOfEmployees() throws Exception {
+		mockMvc.perform(delete("/employees/batch").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"id\":50},{\"id\":51}]")).andDo(print()).andExpect(status().isNoContent());
+		verify(employeeService, times(1)).deleteAllById(List.of(50l, 51l));
+	}
+
+	@Test
+	@DisplayName("Should patch an Employee and return for Valid Id")
+	void shouldPatchAnEmployeeAndReturnForValidId() throws Exception {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(25000.00).build();
+		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
+		given(employeeService.patch(anyLong(), any())).willReturn(Optional.of(kumar));
+		given(employeeMapper.toEmployeeDTO(any())).willReturn(employeeDTO);
+		mockMvc.perform(patch("/employees/2").contentType(MediaType.APPLICATION_JSON).content("{\"salary\":25000.00}"))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(content().json(jsonEmployeeDTO.write(employeeDTO).getJson()));
+	}
+
+	@Test
+	@DisplayName("Patch Should get HttpStatus.NOT_FOUND for invalid Id")
+	void patchShouldGetNotFoundForInvalidId() throws Exception {
+		given(employeeService.patch(anyLong(), any())).willReturn(Optional.empty());
+		mockMvc.perform(patch("/employees/104").contentType(MediaType.APPLICATION_JSON).content("{\"salary\":25000.00}"))
+				.andDo(print()).andExpect(status().isNotFound());
+	}
+
+	@Test
+	@DisplayName("Should tag an Employee with its version and answer HttpStatus.NOT_MODIFIED without loading it when it is unchanged")
+	void shouldGetNotModifiedForAnUnchangedEmployee() throws Exception {
+		final var kumar = Employee.builder().id(3l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(4l).build();
+		given(employeeService.findDTOById(3l)).willReturn(Optional.of(EmployeeMapper.INSTANCE.toEmployeeDTO(kumar)));
+		given(employeeService.findVersionById(3l)).willReturn(Optional.of(4l));
+
+		mockMvc.perform(get("/employees/3").accept(MediaType.APPLICATION_JSON)).andDo(print())
+				.andExpect(status().isOk()).andExpect(header().stringValues(HttpHeaders.ETAG, "\"4\""));
+		mockMvc.perform(get("/employees/3").header(HttpHeaders.IF_NONE_MATCH, "\"3\"")).andDo(print())
+				.andExpect(status().isOk()).andExpect(header().stringValues(HttpHeaders.ETAG, "\"4\""));
+		clearInvocations(employeeService);
+		mockMvc.perform(get("/employees/3").header(HttpHeaders.IF_NONE_MATCH, "\"4\"")).andDo(print())
+				.andExpect(status().isNotModified()).andExpect(content().string(""));
+		verify(employeeService, never()).findDTOById(anyLong());
+	}
+
+	@Test
+	@DisplayName("Should answer HttpStatus.NOT_MODIFIED for an unchanged collection without reading it")
+	void shouldGetNotModifiedForAnUnchangedCollection() throws Exception {
+		given(employeeService.collectionVersion()).willReturn(42l);
+
+		mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, "\"42\"")).andDo(print())
+				.andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+		verify(employeeService, never()).findAll();
+	}
+
+	@Test
+	@DisplayName("Update Should get HttpStatus.PRECONDITION_FAILED when If-Match is stale")
+	void updateShouldGetPreconditionFailedForAStaleVersion() throws Exception {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
+		given(employeeService.update(eq(2l), any(), eq(3l))).willThrow(new EmployeePreconditionFailedException());
+
+		mockMvc.perform(put("/employees/2").header(HttpHeaders.IF_MATCH, "\"3\"")
+				.contentType(MediaType.APPLICATION_JSON).content(jsonEmployeeDTO.write(employeeDTO).getJson()))
+				.andDo(print()).andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	@DisplayName("Delete Should get HttpStatus.PRECONDITION_FAILED for a weak If-Match")
+	void deleteShouldGetPreconditionFailedForAWeakTag() throws Exception {
+		mockMvc.perform(delete("/employees/2").header(HttpHeaders.IF_MATCH, "W/\"3\"")).andDo(print())
+				.andExpect(status().isPreconditionFailed());
+		verify(employeeService, never()).deleteById(anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Should serve the cached Employees of a Year gzip compressed when the client accepts it")
+	void shouldGetEmployeesByYearGzipCompressed() throws Exception {
+		final var employeeDTOs = IntStream.rangeClosed(1, 50).mapToObj(id -> new EmployeeDTO((long) id,
+				"employee-" + id, Gender.MALE, LocalDate.of(2022, Month.JANUARY, 5), 10000.00)).toList();
+		given(employeeService.findByYear(2022)).willReturn(employeeDTOs);
+
+		given(employeeService.collectionVersion()).willReturn(42l);
+
+		final var response = mockMvc.perform(get("/employees/year/2022").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\"")).andReturn().getResponse();
+		try (final var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8))
+					.isEqualTo(jsonEmployeeDTOs.write(employeeDTOs).getJson());
+		}
+		mockMvc.perform(get("/employees/year/2022")).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+		verify(employeeService, times(1)).findByYear(2022);
+	}
+
+	@Test
+	@DisplayName("Should not revalidate the identity coded Employees for a client accepting gzip")
+	void shouldNotRevalidateTheIdentityCodedEmployeesForGzip() throws Exception {
+		given(employeeService.collectionVersion()).willReturn(42l);
+		given(employeeService.findAll()).willReturn(List.of());
+
+		mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42\"")).andDo(print()).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\""));
+		mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42-gzip\"")).andDo(print())
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	@DisplayName("Should get the salary statistics grouped by Gender")
+	void shouldGetTheSalaryStatisticsByGender() throws Exception {
+		final var male = new SalaryStatsDTO(Gender.MALE, null, null, 2, 30000.00, 10000.00, 20000.00, 15000.00,
+				5000.00, Map.of("0.5", 15000.00));
+		given(employeeService.findSalaryStats(Set.of(SalaryStatsGroup.GENDER), List.of(0.5)))
+				.willReturn(List.of(male));
+
+		mockMvc.perform(get("/employees/stats").param("groupBy", "GENDER").param("percentiles", "0.5"))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(content().json("[{\"gender\":\"MALE\",\"count\":2,\"mean\":15000.0,"
+						+ "\"percentiles\":{\"0.5\":15000.0}}]"));
+	}
+
+	@Test
+	@DisplayName("Should get the salary percentiles of Male Employees")
+	void shouldGetTheSalaryPercentilesOfMaleEmployees() throws Exception {
+		given(employeeService.findSalaryPercentiles(Gender.MALE, null, List.of(0.5, 0.99)))
+				.willReturn(Map.of("0.5", 15000.00, "0.99", 19900.00));
+
+		mockMvc.perform(get("/employees/salaryPercentiles/" + Gender.MALE).param("q", "0.5,0.99")).andDo(print())
+				.andExpect(status().isOk()).andExpect(content().json("{\"0.5\":15000.0,\"0.99\":19900.0}"));
+	}
+
+	@Test
+	@DisplayName("Should search Employees by name")
+	void shouldSearchEmployeesByName() throws Exception {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(kumar));
+		given(employeeService.findByName(eq("kumaar"), eq(true), any())).willReturn(List.of(kumar));
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		mockMvc.perform(get("/employees/search").param("name", "kumaar").param("fuzzy", "true")).andDo(print())
+				.andExpect(status().isOk()).andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should link a full page of queried Employees to the next one")
+	void shouldLinkAFullPageOfQueriedEmployeesToTheNextOne() throws Exception {
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(kumar, sharath));
+		final var query = new EmployeeQuery(Gender.MALE, 5000.00, null, null, null);
+		given(employeeService.query(query, Sort.by(Sort.Order.desc("salary")), null, 2))
+				.willReturn(List.of(kumar, sharath));
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		final var next = new EmployeeCursor("salary", 10000.00, 1l).encode();
+		mockMvc.perform(get("/employees/query").param("gender", "MALE").param("minSalary", "5000")
+				.param("sort", "salary,desc").param("limit", "2")).andDo(print()).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.LINK,
+						containsString("cursor=" + next + ">; rel=\"next\"")))
+				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should not link the last page of queried Employees")
+	void shouldNotLinkTheLastPageOfQueriedEmployees() throws Exception {
+		given(employeeService.query(any(), any(), eq("abc"), anyInt())).willReturn(List.of());
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(List.of());
+
+		mockMvc.perform(get("/employees/query").param("cursor", "abc")).andDo(print()).andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.LINK)).andExpect(content().json("[]"));
+	}
+
+	@Test
+	@DisplayName("Should not gzip a body below the minimum response size")
+	void shouldNotGzipASmallBody() throws Exception {
+		final var employeeDTOs = List.of(new EmployeeDTO(1l, "sharath", Gender.MALE,
+				LocalDate.of(2023, Month.JANUARY, 5), 10000.00));
+		given(employeeService.findByYear(2023)).willReturn(employeeDTOs);
+
+		mockMvc.perform(get("/employees/year/2023").header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andDo(print())
+				.andExpect(status().isOk()).andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
+	}
+
+	@Test
+	@DisplayName("Should stream all the Employees gzip compressed when the client accepts it")
+	void shouldStreamAllEmployeesGzipCompressed() throws Exception {
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var employees = List.of(sharath);
+		willAnswer(invocation -> {
+			final Consumer<Employee> action = invocation.getArgument(0);
+			employees.forEach(action);
+			return null;
+		}).given(employeeService).streamAll(any());
+		given(employeeMapper.toEmployeeDTO(any())).willAnswer(invocation -> EmployeeMapper.INSTANCE
+				.toEmployeeDTO(invocation.getArgument(0)));
+
+		given(employeeService.collectionVersion()).willReturn(42l);
+
+		final var mvcResult = mockMvc.perform(get("/employees/stream").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(request().asyncStarted()).andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\""))
+				.andReturn();
+		final var response = mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip")).andReturn().getResponse();
+		try (final var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8))
+					.isEqualTo(jsonEmployeeDTOs.write(EmployeeMapper.INSTANCE.toEmployeeDTOs(employees)).getJson());
+		}
+	}
+
+	@Test
+	@DisplayName("Should get all the Employees as CBOR when the client prefers it")
+	void shouldGetAllEmployeesAsCbor() throws Exception {
+		final var cbor = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+		final var employeeDTOs = List.of(
+				new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 10000.00),
+				new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00));
+		given(employeeService.findAll()).willReturn(employeeDTOs);
+
+		final var response = mockMvc
+				.perform(get("/employees").header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+				.andDo(print()).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR)).andReturn().getResponse();
+
+		assertThat(cbor.readValue(response.getContentAsByteArray(), new TypeReference<List<EmployeeDTO>>() {
+		})).isEqualTo(employeeDTOs);
+	}
+
+	@Test
+	@DisplayName("Should not revalidate the JSON Employees for a client asking for CBOR")
+	void shouldNotRevalidateTheJsonEmployeesForCbor() throws Exception {
+		given(employeeService.collectionVersion()).willReturn(42l);
+		given(employeeService.findAll()).willReturn(List.of());
+
+		mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42\"")).andDo(print()).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-cbor\""));
+		mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42-cbor\"")).andDo(print())
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	@DisplayName("Should tag the salary statistics per format and coding")
+	void shouldTagTheSalaryStatisticsPerFormatAndCoding() throws Exception {
+		given(employeeService.collectionVersion()).willReturn(42l);
+		given(employeeService.findSalaryStats(Set.of(), List.of())).willReturn(List.of());
+
+		mockMvc.perform(get("/employees/stats").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42\"")).andDo(print()).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-cbor\""))
+				.andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+		mockMvc.perform(get("/employees/stats").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42\"")).andDo(print()).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\""));
+		mockMvc.perform(get("/employees/stats").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"42-cbor\"")).andDo(print())
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	@DisplayName("Should not send JSON to a client refusing it with q=0")
+	void shouldNotSendJsonRefusedWithAZeroQuality() throws Exception {
+		given(employeeService.collectionVersion()).willReturn(42l);
+		given(employeeService.findAll()).willReturn(List.of());
+
+		mockMvc.perform(get("/employees").header(HttpHeaders.ACCEPT, "*/*, application/json;q=0")).andDo(print())
+				.andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"42-cbor\""));
+	}
+
+	@Test
+	@DisplayName("Should save a batch of Employees sent and returned as Smile")
+	void shouldSaveABatchOfEmployeesAsSmile() throws Exception {
+		final var smile = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var employees = List.of(sharath);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
+		given(employeeMapper.toEmployees(employeeDTOs)).willReturn(employees);
+		given(employeeService.saveAll(anyList())).willReturn(employees);
+		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+
+		final var response = mockMvc
+				.perform(post("/employees/batch").contentType(EmployeeController.APPLICATION_SMILE_VALUE)
+						.accept(EmployeeController.APPLICATION_SMILE_VALUE).content(smile.writeValueAsBytes(employeeDTOs)))
+				.andDo(print()).andExpect(status().isCreated()).andReturn().getResponse();
+
+		assertThat(smile.readValue(response.getContentAsByteArray(), new TypeReference<List<EmployeeDTO>>() {
+		})).isEqualTo(employeeDTOs);
+	}
+
 }
@@ -3,7 +3,6 @@ package com.ryana.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
@@ -28,19 +27,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.accept.ContentNegotiationManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryana.config.CompressionProperties;
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
 import com.ryana.dto.EmployeeDTO;
 import com.ryana.mapper.EmployeeMapper;
+import com.ryana.service.EmployeeResponseCache;
 import com.ryana.service.EmployeeService;
+import com.ryana.service.GzipCompressor;
 
 /* This is not a pure unit test as it involves MockMVC
  * Using MockMVC Standalone Mode
@@ -54,6 +60,13 @@ class EmployeeControllerUnitTest {
 	private EmployeeService employeeService;
 	@Mock
 	private EmployeeMapper employeeMapper;
+	@Spy
+	private GzipCompressor gzipCompressor = new GzipCompressor(new CompressionProperties(2048, 6, 16));
+	@Spy
+	private EmployeeResponseCache employeeResponseCache = new EmployeeResponseCache(new HttpMessageConverters(
+			new MappingJackson2HttpMessageConverter(new ObjectMapper().findAndRegisterModules())), gzipCompressor);
+	@Spy
+	private ContentNegotiationManager contentNegotiationManager = new ContentNegotiationManager();
 
 	@InjectMocks
 	private EmployeeController employeeController;
@@ -76,10 +89,8 @@ class EmployeeControllerUnitTest {
 				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
-		final var employees = List.of(sharath, kumar);
-		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
-		given(employeeService.findAll()).willReturn(employees);
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(sharath, kumar));
+		given(employeeService.findAll()).willReturn(employeeDTOs);
 
 		final var response = mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andReturn().getResponse();
@@ -94,8 +105,7 @@ class EmployeeControllerUnitTest {
 		final var kumar = Employee.builder().id(3l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.findById(anyLong())).willReturn(Optional.of(kumar));
-		given(employeeMapper.toEmployeeDTO(any())).willReturn(employeeDTO);
+		given(employeeService.findDTOById(anyLong())).willReturn(Optional.of(employeeDTO));
 
 		final var response = mockMvc.perform(get("/employees/3").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andReturn().getResponse();
@@ -107,7 +117,7 @@ class EmployeeControllerUnitTest {
 	@Test
 	@DisplayName("Should get HttpStatus.NOT_FOUND for invalid Id")
 	void shouldGetNotFoundStatusForInvalidId() throws Exception {
-		given(employeeService.findById(anyLong())).willReturn(Optional.empty());
+		given(employeeService.findDTOById(anyLong())).willReturn(Optional.empty());
 
 		final var response = mockMvc.perform(get("/employees/104").accept(MediaType.APPLICATION_JSON)).andDo(print())
 				.andReturn().getResponse();
@@ -149,7 +159,7 @@ class EmployeeControllerUnitTest {
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.update(anyLong(), any())).willReturn(Optional.of(kumar));
+		given(employeeService.update(anyLong(), any(), any())).willReturn(Optional.of(kumar));
 		given(employeeMapper.toEmployeeDTO(any())).willReturn(employeeDTO);
 		final var response = mockMvc
 				.perform(put("/employees/2").contentType(MediaType.APPLICATION_JSON)
@@ -165,7 +175,7 @@ class EmployeeControllerUnitTest {
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		final var employeeDTO = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
-		given(employeeService.update(anyLong(), any())).willReturn(Optional.empty());
+		given(employeeService.update(anyLong(), any(), any())).willReturn(Optional.empty());
 		final var response = mockMvc
 				.perform(put("/employees/104").contentType(MediaType.APPLICATION_JSON)
 						.content(jsonEmployeeDTO.write(employeeDTO).getJson()))
@@ -177,10 +187,10 @@ class EmployeeControllerUnitTest {
 	@Test
 	@DisplayName("Should delete an Employee for valid Id")
 	void shouldDeleteAnEmployeeById() throws Exception {
-		willDoNothing().given(employeeService).deleteById(anyLong());
+		willDoNothing().given(employeeService).deleteById(anyLong(), any());
 		mockMvc.perform(delete("/employees/50").contentType(MediaType.APPLICATION_JSON).content("{}")).andDo(print())
 				.andExpect(status().isNoContent());
-		verify(employeeService, times(1)).deleteById(anyLong());
+		verify(employeeService, times(1)).deleteById(anyLong(), any());
 	}
 
 	@Test
@@ -207,10 +217,8 @@ class EmployeeControllerUnitTest {
 				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
 		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2020, Month.DECEMBER, 15)).salary(20000.00).build();
-		final var employees = List.of(sharath, kumar);
-		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(employees);
-		given(employeeService.findByYear(anyInt())).willReturn(employees);
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(employeeDTOs);
+		final var employeeDTOs = EmployeeMapper.INSTANCE.toEmployeeDTOs(List.of(sharath, kumar));
+		given(employeeService.findByYear(anyInt())).willReturn(employeeDTOs);
 
 		mockMvc.perform(get("/employees/year/2020").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
 				.andDo(print()).andExpect(content().json(jsonEmployeeDTOs.write(employeeDTOs).getJson()));
@@ -220,7 +228,6 @@ class EmployeeControllerUnitTest {
 	@DisplayName("Should get Empty List of Employees for invalid Year Of Joining")
 	void shouldGetEmptyListOfEmployeesByYear() throws Exception {
 		given(employeeService.findByYear(anyInt())).willReturn(List.of());
-		given(employeeMapper.toEmployeeDTOs(anyList())).willReturn(List.of());
 		final var response = mockMvc.perform(get("/employees/year/2010").accept(MediaType.APPLICATION_JSON))
 				.andDo(print()).andReturn().getResponse();
 		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
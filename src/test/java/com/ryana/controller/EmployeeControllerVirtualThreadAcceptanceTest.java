@@ -0,0 +1,50 @@
+package com.ryana.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+/* The End to End tests against employee.storage=memory once more, with employee.threads.virtual=true.
+ * Only with ./gradlew test -PvirtualThreads: on Java 20 a JVM runs virtual threads with --enable-preview only */
+@EnabledIfSystemProperty(named = "virtualThreads", matches = "true")
+@TestPropertySource(properties = "employee.threads.virtual=true")
+class EmployeeControllerVirtualThreadAcceptanceTest extends EmployeeControllerMemoryAcceptanceTest {
+
+	@Autowired
+	private ServletWebServerApplicationContext context;
+
+	@Autowired
+	@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	private AsyncTaskExecutor applicationTaskExecutor;
+
+	@Test
+	@DisplayName("Should run the requests and the application tasks on virtual threads")
+	void shouldRunOnVirtualThreads() throws Exception {
+		final var connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+		final var request = new FutureTask<>(() -> isVirtual(Thread.currentThread()));
+		((Executor) connector.getProtocolHandler().getExecutor()).execute(request);
+
+		assertThat(request.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(applicationTaskExecutor.submit(() -> isVirtual(Thread.currentThread())).get(10, TimeUnit.SECONDS))
+				.isTrue();
+	}
+
+	// Thread.isVirtual is a preview API on Java 20, looked up as VirtualThreadConfig looks up the executor
+	private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+		return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+	}
+
+}
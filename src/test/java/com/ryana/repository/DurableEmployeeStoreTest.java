@@ -0,0 +1,172 @@
+package com.ryana.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.ryana.config.JournalProperties;
+import com.ryana.config.JournalProperties.Fsync;
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+
+/* A store that is not closed stands for a crash: no final checkpoint, the journal is all there is */
+class DurableEmployeeStoreTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	@DisplayName("Should recover every committed write from the journal after a crash")
+	void shouldRecoverFromTheJournalAfterACrash() {
+		final var crashed = open(DataSize.ofMegabytes(1));
+		crashed.save(employee("sharath", Gender.MALE, 10000.00));
+		crashed.save(employee("kumar", Gender.MALE, 20000.00));
+		crashed.save(employee("anitha", Gender.FEMALE, 30000.00));
+		new TransactionTemplate(new InMemoryTransactionManager()).executeWithoutResult(
+				status -> crashed.findById(2l).orElseThrow().setSalary(25000.00));
+		crashed.deleteById(1l);
+
+		final var recovered = open(DataSize.ofMegabytes(1));
+
+		assertThat(recovered.findAllDTOs()).isEqualTo(crashed.findAllDTOs()).extracting(EmployeeDTO::salary)
+				.containsExactly(25000.00, 30000.00);
+		assertThat(recovered.findDTOById(2l)).map(EmployeeDTO::version).contains(1l);
+		assertThat(recovered.findAverageSalaryByGender(Gender.MALE)).isEqualTo(25000.00);
+	}
+
+	@Test
+	@DisplayName("Should recover from the last snapshot and the tail of the journal")
+	void shouldRecoverFromASnapshotAndTheTailOfTheJournal() throws IOException {
+		final var store = new DurableEmployeeStore(properties(DataSize.ofKilobytes(4)));
+		final var crashed = store.open();
+		IntStream.rangeClosed(1, 300).forEach(index -> crashed.save(employee("employee " + index,
+				index % 2 == 0 ? Gender.MALE : Gender.FEMALE, 1000.00 * index)));
+		store.checkpoint();
+		IntStream.rangeClosed(1, 100).forEach(id -> crashed.deleteById((long) id * 3));
+		crashed.save(employee("after the snapshot", Gender.FEMALE, 42.00));
+
+		final var recovered = open(DataSize.ofKilobytes(4));
+
+		assertThat(recovered.count()).isEqualTo(201);
+		assertThat(recovered.findAllDTOs()).isEqualTo(crashed.findAllDTOs());
+		assertThat(recovered.findSalaryTotalsByYear()).hasSameSizeAs(crashed.findSalaryTotalsByYear());
+		try (final var files = Files.list(directory)) {
+			assertThat(files.map(file -> file.getFileName().toString()))
+					.anyMatch(name -> name.startsWith("snapshot-"))
+					.noneMatch(name -> name.equals("wal-%020d.log".formatted(0)));
+		}
+	}
+
+	@Test
+	@DisplayName("Should not recover a rolled back transaction, not even from a snapshot taken while it was open")
+	void shouldNotRecoverARolledBackTransaction() {
+		final var store = new DurableEmployeeStore(properties(DataSize.ofMegabytes(1)));
+		final var crashed = store.open();
+		crashed.save(employee("sharath", Gender.MALE, 10000.00));
+		crashed.save(employee("kumar", Gender.MALE, 20000.00));
+		final var committed = crashed.findAllDTOs();
+		new TransactionTemplate(new InMemoryTransactionManager()).executeWithoutResult(status -> {
+			crashed.findById(1l).orElseThrow().setSalary(15000.00);
+			crashed.flush();
+			crashed.deleteById(2l);
+			crashed.save(employee("anitha", Gender.FEMALE, 30000.00));
+			store.checkpoint();
+			status.setRollbackOnly();
+		});
+
+		final var recovered = open(DataSize.ofMegabytes(1));
+
+		assertThat(crashed.findAllDTOs()).isEqualTo(committed);
+		assertThat(recovered.findAllDTOs()).isEqualTo(committed);
+	}
+
+	@Test
+	@DisplayName("Should recover a name longer than 65535 bytes from a snapshot")
+	void shouldRecoverALongNameFromASnapshot() {
+		final var store = new DurableEmployeeStore(properties(DataSize.ofMegabytes(1)));
+		final var crashed = store.open();
+		final var name = "\u00e9".repeat(40000);
+		crashed.save(employee(name, Gender.FEMALE, 30000.00));
+		store.checkpoint();
+
+		final var recovered = open(DataSize.ofMegabytes(1));
+
+		assertThat(recovered.findAllDTOs()).extracting(EmployeeDTO::name).containsExactly(name);
+	}
+
+	@Test
+	@DisplayName("Should end the journal at a torn record and append after the last good one")
+	void shouldEndTheJournalAtATornRecord() throws IOException {
+		final var crashed = open(DataSize.ofMegabytes(1));
+		crashed.save(employee("sharath", Gender.MALE, 10000.00));
+		crashed.save(employee("kumar", Gender.MALE, 20000.00));
+		tearTheLastRecord(directory.resolve("wal-%020d.log".formatted(0)));
+
+		final var recovered = open(DataSize.ofMegabytes(1));
+		assertThat(recovered.findAllDTOs()).extracting(EmployeeDTO::name).containsExactly("sharath");
+		recovered.save(employee("anitha", Gender.FEMALE, 30000.00));
+
+		assertThat(open(DataSize.ofMegabytes(1)).findAllDTOs()).extracting(EmployeeDTO::name)
+				.containsExactly("sharath", "anitha");
+	}
+
+	@Test
+	@DisplayName("Should not hand out the id of a deleted Employee again after a restart")
+	void shouldKeepTheSequenceAcrossRestarts() {
+		final var store = new DurableEmployeeStore(properties(DataSize.ofMegabytes(1)));
+		final var closed = store.open();
+		closed.save(employee("sharath", Gender.MALE, 10000.00));
+		closed.save(employee("kumar", Gender.MALE, 20000.00));
+		closed.deleteById(2l);
+		store.close();
+
+		final var reopened = open(DataSize.ofMegabytes(1));
+
+		assertThat(reopened.save(employee("anitha", Gender.FEMALE, 30000.00)).getId()).isEqualTo(3l);
+	}
+
+	private InMemoryEmployeeRepository open(DataSize segmentSize) {
+		return new DurableEmployeeStore(properties(segmentSize)).open();
+	}
+
+	private JournalProperties properties(DataSize segmentSize) {
+		return new JournalProperties(directory, Fsync.ALWAYS, Duration.ofMillis(10), segmentSize, Duration.ofHours(1));
+	}
+
+	// flips a byte in the payload of the last record, as a write cut short by the crash would leave it
+	private static void tearTheLastRecord(Path segment) throws IOException {
+		try (final var file = new RandomAccessFile(segment.toFile(), "rw")) {
+			var last = 0L;
+			var offset = 0L;
+			for (var length = file.readInt(); length > 0; length = file.readInt()) {
+				last = offset;
+				offset += 8 + length;
+				file.seek(offset);
+			}
+			file.seek(last + 8 + 1);
+			final var value = file.readByte();
+			file.seek(last + 8 + 1);
+			file.writeByte(value ^ 0xff);
+		}
+	}
+
+	private static Employee employee(String name, Gender gender, Double salary) {
+		return Employee.builder().name(name).gender(gender).doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(salary)
+				.build();
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.ryana.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeQuery;
+
+import jakarta.persistence.EntityManager;
+
+/*
+ * Runs the Criteria queries of /employees/query against PostgreSQL and checks their plans name the index
+ * that answers them. Sequential scans are disabled as the test table is small enough for one to be cheaper,
+ * so the absence of a Seq Scan proves nothing: a plan must scan the expected index in sort order, with
+ * the filter in its Index Cond, and need no Sort on top of it.
+ * The SQL is captured from Hibernate, prepared and explained with the same parameters.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.ryana.repository.EmployeeQueryPlanTest$LastStatement")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+class EmployeeQueryPlanTest {
+
+	private static final EmployeeQuery FEMALES_2019_TO_2021_OVER_60K = new EmployeeQuery(Gender.FEMALE, 60000.00,
+			null, LocalDate.of(2019, Month.JANUARY, 1), LocalDate.of(2022, Month.JANUARY, 1));
+	private static final Sort.Order BY_SALARY_DESC = Sort.Order.desc("salary");
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	@DisplayName("Should page through the filtered Employees in sort order with a keyset cursor")
+	void shouldPageThroughTheFilteredEmployeesWithACursor() {
+		final var expected = employeeRepository.findAll().stream()
+				.filter(employee -> employee.getGender() == Gender.FEMALE && employee.getSalary() >= 60000.00
+						&& employee.getDoj().getYear() >= 2019 && employee.getDoj().getYear() <= 2021)
+				.sorted(Comparator.comparing(Employee::getSalary).thenComparing(Employee::getId).reversed())
+				.map(Employee::getId).toList();
+
+		final var pages = new ArrayList<Long>();
+		EmployeeCursor cursor = null;
+		List<Employee> page;
+		do {
+			page = query(cursor, 4);
+			page.stream().map(Employee::getId).forEach(pages::add);
+			cursor = page.isEmpty() ? null : EmployeeCursor.of(page.get(page.size() - 1), "salary");
+		} while (page.size() == 4);
+
+		assertThat(expected).hasSize(14);
+		assertThat(pages).isEqualTo(expected);
+	}
+
+	@Test
+	@DisplayName("Should answer a filtered and sorted query from the gender, salary and id index")
+	void shouldAnswerAFilteredQueryFromTheGenderSalaryIndex() {
+		query(null, 10);
+		assertThat(plan(LastStatement.sql, "FEMALE", 60000.00, "2019-01-01", "2022-01-01", 10))
+				.contains("Index Scan Backward using employee_gender_salary_id_idx", "Index Cond")
+				.doesNotContain("Seq Scan", "Sort");
+	}
+
+	@Test
+	@DisplayName("Should continue after a cursor from the gender, salary and id index")
+	void shouldContinueAfterACursorFromTheGenderSalaryIndex() {
+		final var cursor = new EmployeeCursor("salary", 85851.04, 53l);
+		query(cursor, 10);
+		assertThat(plan(LastStatement.sql, "FEMALE", 60000.00, "2019-01-01", "2022-01-01", 85851.04, 85851.04,
+				85851.04, 53, 10)).contains("Index Scan Backward using employee_gender_salary_id_idx", "Index Cond")
+				.doesNotContain("Seq Scan", "Sort");
+	}
+
+	@Test
+	@DisplayName("Should sort the whole table from the salary and id index")
+	void shouldSortBySalaryFromTheSalaryIndex() {
+		employeeRepository.findAll(new EmployeeQuery(null, null, null, null, null), BY_SALARY_DESC, null, 10);
+		assertThat(plan(LastStatement.sql, 10)).contains("Index Scan Backward using employee_salary_id_idx")
+				.doesNotContain("Seq Scan", "Sort");
+	}
+
+	private List<Employee> query(EmployeeCursor cursor, int limit) {
+		return employeeRepository.findAll(FEMALES_2019_TO_2021_OVER_60K, BY_SALARY_DESC, cursor, limit);
+	}
+
+	private String plan(String sql, Object... parameters) {
+		final var numbered = new StringBuilder();
+		var parameter = 0;
+		for (final var character : sql.toCharArray()) {
+			if (character == '?') {
+				numbered.append('$').append(++parameter);
+			} else {
+				numbered.append(character);
+			}
+		}
+		assertThat(parameter).as(sql).isEqualTo(parameters.length);
+		entityManager.createNativeQuery("set local enable_seqscan = off").executeUpdate();
+		entityManager.createNativeQuery("prepare employee_query as " + numbered).executeUpdate();
+		final var arguments = Arrays.stream(parameters).map(value -> "'" + value + "'")
+				.collect(Collectors.joining(", "));
+		final List<?> plan = entityManager.createNativeQuery("explain execute employee_query(" + arguments + ")")
+				.getResultList();
+		entityManager.createNativeQuery("deallocate employee_query").executeUpdate();
+		return plan.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+	}
+
+	public static class LastStatement implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		static volatile String sql;
+
+		@Override
+		public String inspect(String sql) {
+			LastStatement.sql = sql;
+			return sql;
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.ryana.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+
+/*
+ * Every EmployeeRepository query against the embedded profile (H2 in PostgreSQL mode), seeded from data.sql.
+ * No container is needed, the same checks run against PostgreSQL in EmployeeRepositoryTest.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embedded")
+class EmployeeRepositoryEmbeddedTest {
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	@DisplayName("Should aggregate salaries by Gender and Year of Joining")
+	void shouldAggregateSalaries() {
+		assertThat(employeeRepository.findAverageSalaryByGender(Gender.FEMALE)).isCloseTo(62144.493, within(0.001));
+		final var totals = employeeRepository.findSalaryTotals();
+		assertThat(totals).extracting(SalaryTotals::getEmployees).containsOnly(43l, 57l);
+		final var byYear = employeeRepository.findSalaryTotalsByYear();
+		assertThat(byYear.stream().mapToLong(SalaryTotalsByYear::getEmployees).sum()).isEqualTo(100l);
+		assertThat(byYear).extracting(SalaryTotalsByYear::getJoinYear).allMatch(year -> year >= 2000);
+	}
+
+	@Test
+	@DisplayName("Should find Employees by Year of Joining and by page")
+	void shouldFindEmployeesByYearAndPage() {
+		final var joined = employeeRepository.findJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1),
+				LocalDate.of(2021, Month.JANUARY, 1), Pageable.unpaged());
+		assertThat(joined).isNotEmpty().extracting(Employee::getDoj).allMatch(doj -> doj.getYear() == 2020);
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1),
+				LocalDate.of(2021, Month.JANUARY, 1))).hasSameSizeAs(joined);
+		assertThat(employeeRepository.findPage(10l, PageRequest.ofSize(5))).extracting(Employee::getId)
+				.containsExactly(11l, 12l, 13l, 14l, 15l);
+	}
+
+	@Test
+	@DisplayName("Should project, scroll and query with Specifications")
+	void shouldProjectScrollAndQuery() {
+		assertThat(employeeRepository.findAllDTOs()).hasSize(100);
+		assertThat(employeeRepository.findDTOById(1l)).get().extracting(EmployeeDTO::name)
+				.isEqualTo("Dorothee");
+		assertThat(employeeRepository.findVersionById(1l)).contains(0l);
+		assertThat(employeeRepository.findVersionById(1000l)).isEmpty();
+		final var scrolled = new ArrayList<Long>();
+		employeeRepository.scrollAll(employee -> scrolled.add(employee.getId()));
+		assertThat(scrolled).hasSize(100).isSorted();
+		final var query = new EmployeeQuery(Gender.FEMALE, 60000.00, null, LocalDate.of(2019, Month.JANUARY, 1),
+				LocalDate.of(2022, Month.JANUARY, 1));
+		assertThat(employeeRepository.findAll(query, Sort.Order.desc("salary"), null, 100)).hasSize(14);
+	}
+
+	@Test
+	@DisplayName("Should patch an Employee guarded by its version and insert after the seeded ids")
+	void shouldPatchAndInsert() {
+		final var employee = employeeRepository.findById(1l).orElseThrow();
+		assertThat(employeeRepository.patch(1l, employee.getVersion(), null, null, null, 70000.00)).isOne();
+		assertThat(employeeRepository.patch(1l, employee.getVersion(), null, null, null, 80000.00)).isZero();
+		final var saved = employeeRepository.save(Employee.builder().name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build());
+		assertThat(saved.getId()).isGreaterThan(100l);
+	}
+
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.time.LocalDate;
+import java.time.Month;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +12,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
 
 
 /*
@@ -55,8 +59,27 @@ class EmployeeRepositoryTest {
 	@Test
 	@DisplayName("Should find all Employees by Year of Joining")
 	void shouldFindEmployeesByDoj() {
-		assertTrue(employeeRepository.findByYear(2020).stream().map(Employee::getDoj).map(LocalDate::getYear)
-				.allMatch(year -> year == 2020));
+		assertTrue(employeeRepository
+				.findJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1), LocalDate.of(2021, Month.JANUARY, 1),
+						Pageable.unpaged())
+				.stream().map(Employee::getDoj).map(LocalDate::getYear).allMatch(year -> year == 2020));
+	}
+
+	@Test
+	@DisplayName("Should project Employees straight into EmployeeDTOs")
+	void shouldProjectEmployeesIntoEmployeeDTOs() {
+		final var employees = employeeRepository.findAll(Sort.by("id"));
+		final var employeeDTOs = employeeRepository.findAllDTOs();
+		assertEquals(employees.size(), employeeDTOs.size());
+		for (var index = 0; index < employees.size(); index++) {
+			final var employee = employees.get(index);
+			assertEquals(new EmployeeDTO(employee.getId(), employee.getName(), employee.getGender(), employee.getDoj(),
+					employee.getSalary(), employee.getVersion()), employeeDTOs.get(index));
+		}
+		assertEquals(employeeDTOs.get(0), employeeRepository.findDTOById(employeeDTOs.get(0).id()).orElseThrow());
+		assertTrue(employeeRepository
+				.findDTOsJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1), LocalDate.of(2021, Month.JANUARY, 1))
+				.stream().map(EmployeeDTO::doj).map(LocalDate::getYear).allMatch(year -> year == 2020));
 	}
 
 }
@@ -0,0 +1,261 @@
+package com.ryana.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+
+class InMemoryEmployeeRepositoryTest {
+
+	private final InMemoryEmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+	private final TransactionTemplate transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager());
+
+	@BeforeEach
+	void setup() {
+		employeeRepository.save(employee("sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 10000.00));
+		employeeRepository.save(employee("kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00));
+		employeeRepository.save(employee("anitha", Gender.FEMALE, LocalDate.of(2020, Month.MARCH, 1), 30000.00));
+		employeeRepository.save(employee("bob", Gender.MALE, LocalDate.of(2020, Month.MARCH, 9), 60000.00));
+	}
+
+	@Test
+	@DisplayName("Should assign ids and versions and find the Employees by id")
+	void shouldSaveAndFindEmployeesById() {
+		assertThat(employeeRepository.count()).isEqualTo(4);
+		assertThat(employeeRepository.findDTOById(3l)).contains(new EmployeeDTO(3l, "anitha", Gender.FEMALE,
+				LocalDate.of(2020, Month.MARCH, 1), 30000.00, 0l));
+		assertThat(employeeRepository.findById(5l)).isEmpty();
+		assertThat(employeeRepository.findAllDTOs()).extracting(EmployeeDTO::id).containsExactly(1l, 2l, 3l, 4l);
+		assertThat(employeeRepository.save(employee("clara", Gender.FEMALE, LocalDate.of(2022, Month.MAY, 2),
+				40000.00)).getId()).isEqualTo(5l);
+	}
+
+	@Test
+	@DisplayName("Should answer the averages and totals from the Gender and year indexes")
+	void shouldAnswerTheAveragesAndTotalsFromTheIndexes() {
+		assertThat(employeeRepository.findAverageSalaryByGender(Gender.MALE)).isEqualTo(30000.00);
+		assertThat(employeeRepository.findSalaryTotals()).extracting(SalaryTotals::getGender,
+				SalaryTotals::getEmployees, SalaryTotals::getTotalSalary).containsExactlyInAnyOrder(
+						tuple(Gender.MALE, 3l, 90000.00),
+						tuple(Gender.FEMALE, 1l, 30000.00));
+		assertThat(employeeRepository.findSalaryTotalsByYear()).filteredOn(totals -> totals.getJoinYear() == 2020)
+				.extracting(SalaryTotals::getGender, SalaryTotals::getEmployees).containsExactlyInAnyOrder(
+						tuple(Gender.MALE, 2l),
+						tuple(Gender.FEMALE, 1l));
+
+		employeeRepository.deleteById(4l);
+
+		assertThat(employeeRepository.findAverageSalaryByGender(Gender.MALE)).isEqualTo(15000.00);
+		employeeRepository.deleteById(3l);
+		assertThat(employeeRepository.findAverageSalaryByGender(Gender.FEMALE)).isNull();
+	}
+
+	@Test
+	@DisplayName("Should find the Employees joined in a date range ordered by date of joining")
+	void shouldFindEmployeesJoinedBetween() {
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1),
+				LocalDate.of(2021, Month.JANUARY, 1))).extracting(EmployeeDTO::id).containsExactly(1l, 3l, 4l);
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2020, Month.MARCH, 1),
+				LocalDate.of(2021, Month.DECEMBER, 16))).extracting(EmployeeDTO::id).containsExactly(3l, 4l, 2l);
+		assertThat(employeeRepository.findJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1),
+				LocalDate.of(2022, Month.JANUARY, 1), PageRequest.of(1, 2))).extracting(Employee::getId)
+				.containsExactly(4l, 2l);
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2010, Month.JANUARY, 1),
+				LocalDate.of(2011, Month.JANUARY, 1))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should page by id and scroll over all the Employees in id order")
+	void shouldPageAndScrollInIdOrder() {
+		assertThat(employeeRepository.findPage(1l, PageRequest.ofSize(2))).extracting(Employee::getId)
+				.containsExactly(2l, 3l);
+		employeeRepository.deleteById(3l);
+		assertThat(employeeRepository.findPage(1l, PageRequest.of(1, 1))).extracting(Employee::getId)
+				.containsExactly(4l);
+		final var scrolled = new ArrayList<Long>();
+		employeeRepository.scrollAll(employee -> scrolled.add(employee.getId()));
+		assertThat(scrolled).containsExactly(1l, 2l, 4l);
+	}
+
+	@Test
+	@DisplayName("Should page through the Employees matching a query in sort order with a keyset cursor")
+	void shouldPageThroughAQueryWithACursor() {
+		final var males = new EmployeeQuery(Gender.MALE, 15000.00, null, null, null);
+		final var bySalary = Sort.Order.desc("salary");
+
+		final var first = employeeRepository.findAll(males, bySalary, null, 1);
+		final var second = employeeRepository.findAll(males, bySalary, EmployeeCursor.of(first.get(0), "salary"), 1);
+
+		assertThat(first).extracting(Employee::getId).containsExactly(4l);
+		assertThat(second).extracting(Employee::getId).containsExactly(2l);
+		assertThat(employeeRepository.findAll(males, bySalary, EmployeeCursor.of(second.get(0), "salary"), 1))
+				.isEmpty();
+		assertThat(employeeRepository.findAll(new EmployeeQuery(null, null, 30000.00,
+				LocalDate.of(2020, Month.MARCH, 1), LocalDate.of(2021, Month.JANUARY, 1)), Sort.Order.asc("doj"), null,
+				10)).extracting(Employee::getId).containsExactly(3l);
+	}
+
+	@Test
+	@DisplayName("Should write back a changed Employee at commit and bump its version")
+	void shouldWriteBackChangedEmployeesAtCommit() {
+		transactionTemplate.executeWithoutResult(status -> {
+			final var employee = employeeRepository.findById(2l).orElseThrow();
+			assertThat(employeeRepository.findById(2l)).containsSame(employee);
+			employee.setDoj(LocalDate.of(2020, Month.JUNE, 1));
+			employee.setSalary(25000.00);
+		});
+
+		assertThat(employeeRepository.findDTOById(2l)).contains(new EmployeeDTO(2l, "kumar", Gender.MALE,
+				LocalDate.of(2020, Month.JUNE, 1), 25000.00, 1l));
+		assertThat(employeeRepository.findVersionById(2l)).contains(1l);
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2021, Month.JANUARY, 1),
+				LocalDate.of(2022, Month.JANUARY, 1))).isEmpty();
+		assertThat(employeeRepository.findSalaryTotalsByYear()).filteredOn(totals -> totals.getJoinYear() == 2020
+				&& totals.getGender() == Gender.MALE).singleElement().extracting(SalaryTotals::getTotalSalary)
+				.isEqualTo(95000.00);
+	}
+
+	@Test
+	@DisplayName("Should not write back an Employee modified outside of a transaction")
+	void shouldNotWriteBackDetachedEmployees() {
+		employeeRepository.findById(1l).orElseThrow().setSalary(1.0);
+
+		assertThat(employeeRepository.findDTOById(1l)).map(EmployeeDTO::salary).contains(10000.00);
+	}
+
+	@Test
+	@DisplayName("Should reject a stale version on flush, patch and delete")
+	void shouldRejectStaleVersions() {
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+			final var employee = employeeRepository.findById(1l).orElseThrow();
+			CompletableFuture.runAsync(() -> employeeRepository.patch(1l, 0l, null, null, null, 11000.00)).join();
+			employee.setSalary(12000.00);
+		})).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(employeeRepository.patch(1l, 0l, "sharath kumar", null, null, null)).isZero();
+		assertThat(employeeRepository.findDTOById(1l)).contains(new EmployeeDTO(1l, "sharath", Gender.MALE,
+				LocalDate.of(2020, Month.JANUARY, 5), 11000.00, 1l));
+
+		final var stale = employee("sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 11000.00);
+		stale.setId(1l);
+		stale.setVersion(0l);
+		assertThatThrownBy(() -> employeeRepository.delete(stale))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+	}
+
+	@Test
+	@DisplayName("Should put back every row of a batch that fails on its second chunk")
+	void shouldRollBackABatchFailingOnItsSecondChunk() {
+		final var stale = employee("sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 12000.00);
+		stale.setId(1l);
+		stale.setVersion(5l);
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.saveAll(List.of(
+					employee("clara", Gender.FEMALE, LocalDate.of(2022, Month.MAY, 2), 40000.00),
+					employee("dev", Gender.MALE, LocalDate.of(2022, Month.JUNE, 7), 50000.00)));
+			employeeRepository.findById(2l).orElseThrow().setSalary(25000.00);
+			employeeRepository.deleteById(3l);
+			employeeRepository.flushAndClear();
+			employeeRepository.saveAll(List.of(stale));
+		})).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+		assertThat(employeeRepository.findAllDTOs()).containsExactly(
+				new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 10000.00, 0l),
+				new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00, 0l),
+				new EmployeeDTO(3l, "anitha", Gender.FEMALE, LocalDate.of(2020, Month.MARCH, 1), 30000.00, 0l),
+				new EmployeeDTO(4l, "bob", Gender.MALE, LocalDate.of(2020, Month.MARCH, 9), 60000.00, 0l));
+		assertThat(employeeRepository.findSalaryTotals()).extracting(SalaryTotals::getGender,
+				SalaryTotals::getEmployees, SalaryTotals::getTotalSalary).containsExactlyInAnyOrder(
+						tuple(Gender.MALE, 3l, 90000.00),
+						tuple(Gender.FEMALE, 1l, 30000.00));
+		assertThat(employeeRepository.findPage(4l, PageRequest.ofSize(10))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should refuse to write a row another open transaction has written")
+	void shouldRefuseToWriteARowClaimedByAnOpenTransaction() throws Exception {
+		final var written = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var transaction = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			employeeRepository.patch(1l, 0l, null, null, null, 11000.00);
+			written.countDown();
+			await(release);
+		}));
+		assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> employeeRepository.deleteById(1l))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		release.countDown();
+		transaction.join();
+
+		assertThat(employeeRepository.patch(1l, 1l, null, null, null, 12000.00)).isOne();
+	}
+
+	@Test
+	@DisplayName("Should keep the id map and the indexes consistent through random churn")
+	void shouldStayConsistentThroughRandomChurn() {
+		employeeRepository.deleteAll();
+		final var random = new SplittableRandom(42);
+		final var expected = new HashMap<Long, Double>();
+		for (var step = 0; step < 20_000; step++) {
+			final var id = 1 + random.nextLong(2_000);
+			if (random.nextInt(3) == 0) {
+				employeeRepository.deleteById(id);
+				expected.remove(id);
+			} else {
+				final var employee = employee("e" + id, Gender.values()[random.nextInt(Gender.values().length)],
+						LocalDate.of(2000 + random.nextInt(20), 1, 1).plusDays(random.nextInt(365)),
+						(double) random.nextInt(100_000));
+				employee.setId(id);
+				employeeRepository.save(employee);
+				expected.put(id, employee.getSalary());
+			}
+		}
+
+		assertThat(employeeRepository.count()).isEqualTo(expected.size());
+		expected.forEach((id, salary) -> assertThat(employeeRepository.findDTOById(id)).map(EmployeeDTO::salary)
+				.contains(salary));
+		final var total = employeeRepository.findSalaryTotals().stream().mapToDouble(SalaryTotals::getTotalSalary)
+				.sum();
+		assertThat(total).isCloseTo(expected.values().stream().mapToDouble(Double::doubleValue).sum(), within(1e-3));
+		assertThat(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2000, 1, 1), LocalDate.of(2021, 1, 1)))
+				.hasSize(expected.size());
+	}
+
+	private static Employee employee(String name, Gender gender, LocalDate doj, Double salary) {
+		return Employee.builder().name(name).gender(gender).doj(doj).salary(salary).build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
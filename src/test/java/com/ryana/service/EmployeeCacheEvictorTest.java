@@ -0,0 +1,37 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+
+class EmployeeCacheEvictorTest {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+			EmployeeService.EMPLOYEES_CACHE);
+	private final EmployeeCacheEvictor employeeCacheEvictor = new EmployeeCacheEvictor(cacheManager);
+
+	@Test
+	@DisplayName("Should evict only the changed Employee from the cache")
+	void shouldEvictOnlyTheChangedEmployee() {
+		final var cache = cacheManager.getCache(EmployeeService.EMPLOYEES_CACHE);
+		final var kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+		final var sharath = new EmployeeDTO(3l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5),
+				10000.00);
+		cache.put(kumar.id(), kumar);
+		cache.put(sharath.id(), sharath);
+
+		employeeCacheEvictor.onEmployeeChanged(EmployeeChangedEvent.deleted(kumar));
+
+		assertThat(cache.get(kumar.id())).isNull();
+		assertThat(cache.get(sharath.id())).isNotNull();
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.ryana.config.ChangeFeedProperties;
+import com.ryana.domain.EmployeeChange;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeChangeDTO;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeChangesExpiredException;
+import com.ryana.repository.InMemoryEmployeeChangeRepository;
+import com.ryana.repository.InMemoryTransactionManager;
+
+/* Consumers are served on the calling thread here, so a poll is answered by the dispatch that wakes it */
+class EmployeeChangeDispatcherTest {
+
+	private final InMemoryEmployeeChangeRepository employeeChangeRepository = new InMemoryEmployeeChangeRepository();
+	private final EmployeeOutbox employeeOutbox = new EmployeeOutbox(employeeChangeRepository);
+
+	private final EmployeeDTO sharath = new EmployeeDTO(1l, "sharath", Gender.MALE,
+			LocalDate.of(2020, Month.JANUARY, 5), 10000.00, 0l);
+	private final EmployeeDTO kumar = new EmployeeDTO(2l, "kumar", Gender.MALE,
+			LocalDate.of(2021, Month.DECEMBER, 15), 20000.00, 0l);
+	private final EmployeeDTO promoted = new EmployeeDTO(1l, "sharath", Gender.MALE,
+			LocalDate.of(2020, Month.JANUARY, 5), 15000.00, 1l);
+
+	@Test
+	@DisplayName("Should number the outbox rows in batches and read them back in order")
+	void shouldNumberTheOutboxRowsInBatches() {
+		final var employeeChangeFeed = feed(10);
+		final var employeeChangeDispatcher = dispatcher(employeeChangeFeed, Duration.ofDays(7));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.created(sharath));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.created(kumar));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.updated(sharath, promoted));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.deleted(kumar));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.created(kumar));
+
+		employeeChangeDispatcher.dispatch();
+
+		assertThat(employeeChangeFeed.last()).isEqualTo(5);
+		assertThat(employeeChangeFeed.read(0, 10)).extracting(EmployeeChangeDTO::seq, EmployeeChangeDTO::type,
+				EmployeeChangeDTO::id, EmployeeChangeDTO::version, EmployeeChangeDTO::employee).containsExactly(
+						tuple(1l, EmployeeChange.Type.CREATED, 1l, 0l, sharath),
+						tuple(2l, EmployeeChange.Type.CREATED, 2l, 0l, kumar),
+						tuple(3l, EmployeeChange.Type.UPDATED, 1l, 1l, promoted),
+						tuple(4l, EmployeeChange.Type.DELETED, 2l, 0l, null),
+						tuple(5l, EmployeeChange.Type.CREATED, 2l, 0l, kumar));
+		assertThat(employeeChangeFeed.read(3, 1)).extracting(EmployeeChangeDTO::seq).containsExactly(4l);
+		assertThat(employeeChangeRepository.findPending(PageRequest.ofSize(10))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should read the changes no longer buffered from the outbox")
+	void shouldReadOlderChangesFromTheOutbox() {
+		final var employeeChangeFeed = feed(2);
+		final var employeeChangeDispatcher = dispatcher(employeeChangeFeed, Duration.ofDays(7));
+		for (var index = 0; index < 5; index++) {
+			employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.updated(sharath, promoted));
+		}
+
+		employeeChangeDispatcher.dispatch();
+
+		assertThat(employeeChangeFeed.read(0, 10)).extracting(EmployeeChangeDTO::seq)
+				.containsExactly(1l, 2l, 3l, 4l, 5l);
+		assertThat(employeeChangeFeed.read(3, 10)).extracting(EmployeeChangeDTO::seq).containsExactly(4l, 5l);
+	}
+
+	@Test
+	@DisplayName("Should answer a waiting long poll with the changes dispatched after it")
+	void shouldAnswerAWaitingLongPoll() {
+		final var employeeChangeFeed = feed(10);
+		final var employeeChangeDispatcher = dispatcher(employeeChangeFeed, Duration.ofDays(7));
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.created(sharath));
+		employeeChangeDispatcher.dispatch();
+
+		final var poll = employeeChangeFeed.poll(1, 10);
+		assertThat(poll.hasResult()).isFalse();
+
+		employeeOutbox.onEmployeeChanged(EmployeeChangedEvent.created(kumar));
+		employeeChangeDispatcher.dispatch();
+
+		assertThat(result(poll)).extracting(EmployeeChangeDTO::seq, EmployeeChangeDTO::employee)
+				.containsExactly(tuple(2l, kumar));
+		assertThat(result(employeeChangeFeed.poll(0, 10))).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Should reject a sequence ahead of the changes or behind the pruned ones")
+	void shouldRejectExpiredSequences() {
+		final var employeeChangeFeed = feed(10);
+		// with a negative retention every dispatched change is due
+		final var employeeChangeDispatcher = dispatcher(employeeChangeFeed, Duration.ofSeconds(-1));
+		List.of(sharath, kumar).forEach(employee -> employeeOutbox
+				.onEmployeeChanged(EmployeeChangedEvent.created(employee)));
+		employeeChangeDispatcher.dispatch();
+
+		employeeChangeDispatcher.prune();
+
+		assertThat(employeeChangeRepository.findFirstSeq()).isNull();
+		assertThatThrownBy(() -> employeeChangeFeed.read(1, 10)).isInstanceOf(EmployeeChangesExpiredException.class);
+		assertThatThrownBy(() -> employeeChangeFeed.poll(3, 10))
+				.isInstanceOf(EmployeeChangesExpiredException.class);
+		assertThat(employeeChangeFeed.read(2, 10)).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<EmployeeChangeDTO> result(DeferredResult<List<EmployeeChangeDTO>> poll) {
+		return (List<EmployeeChangeDTO>) poll.getResult();
+	}
+
+	private EmployeeChangeFeed feed(int bufferSize) {
+		return new EmployeeChangeFeed(employeeChangeRepository, new TaskExecutorAdapter(Runnable::run),
+				new ChangeFeedProperties(2, Duration.ofSeconds(1), bufferSize, Duration.ofDays(7),
+						Duration.ofSeconds(30)));
+	}
+
+	private EmployeeChangeDispatcher dispatcher(EmployeeChangeFeed employeeChangeFeed, Duration retention) {
+		final var employeeChangeDispatcher = new EmployeeChangeDispatcher(employeeChangeRepository,
+				employeeChangeFeed, new ChangeFeedProperties(2, Duration.ofSeconds(1), 10, retention,
+						Duration.ofSeconds(30)),
+				new InMemoryTransactionManager());
+		employeeChangeDispatcher.open();
+		return employeeChangeDispatcher;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+
+class EmployeeCollectionVersionTest {
+
+	private final EmployeeCollectionVersion employeeCollectionVersion = new EmployeeCollectionVersion();
+
+	@Test
+	@DisplayName("Should move the collection version on every committed change")
+	void shouldMoveTheCollectionVersionOnEveryChange() {
+		final var kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+		final var initial = employeeCollectionVersion.get();
+
+		employeeCollectionVersion.onEmployeeChanged(EmployeeChangedEvent.created(kumar));
+		employeeCollectionVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(kumar));
+
+		assertThat(employeeCollectionVersion.get()).isEqualTo(initial + 2);
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.SalaryStatsGroup;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+
+class EmployeeColumnStoreTest {
+
+	private final EmployeeColumnStore employeeColumnStore = new EmployeeColumnStore();
+
+	@BeforeEach
+	void setup() {
+		employeeColumnStore.put(new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5),
+				10000.00));
+		employeeColumnStore.put(new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15),
+				20000.00));
+		employeeColumnStore.put(new EmployeeDTO(3l, "anitha", Gender.FEMALE, LocalDate.of(2020, Month.MARCH, 1),
+				30000.00));
+		employeeColumnStore.put(new EmployeeDTO(4l, "bob", Gender.MALE, LocalDate.of(2020, Month.MARCH, 9),
+				60000.00));
+		employeeColumnStore.loaded();
+	}
+
+	@Test
+	@DisplayName("Should compute the salary statistics of every Gender")
+	void shouldComputeTheSalaryStatisticsByGender() {
+		final var stats = employeeColumnStore.findSalaryStats(Set.of(SalaryStatsGroup.GENDER), List.of(0.5, 1.0));
+
+		assertThat(stats).hasSize(2);
+		final var male = stats.stream().filter(group -> group.gender() == Gender.MALE).findFirst().orElseThrow();
+		assertThat(male.year()).isNull();
+		assertThat(male.count()).isEqualTo(3);
+		assertThat(male.sum()).isEqualTo(90000.00);
+		assertThat(male.min()).isEqualTo(10000.00);
+		assertThat(male.max()).isEqualTo(60000.00);
+		assertThat(male.mean()).isEqualTo(30000.00);
+		assertThat(male.stddev()).isCloseTo(Math.sqrt((400_000_000.0 + 100_000_000.0 + 900_000_000.0) / 3),
+				within(1e-6));
+		assertThat(male.percentiles()).containsEntry("0.5", 20000.00).containsEntry("1.0", 60000.00);
+	}
+
+	@Test
+	@DisplayName("Should group by year and month of joining and follow updates and deletes")
+	void shouldGroupByYearAndMonthAndFollowTheWritePath() {
+		final var kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+		final var sharath = new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5),
+				10000.00);
+		employeeColumnStore.apply(EmployeeChangedEvent.updated(kumar,
+				new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2020, Month.MARCH, 15), 40000.00)));
+		employeeColumnStore.apply(EmployeeChangedEvent.deleted(sharath));
+
+		final var stats = employeeColumnStore.findSalaryStats(Set.of(SalaryStatsGroup.YEAR, SalaryStatsGroup.MONTH),
+				List.of());
+
+		assertThat(stats).hasSize(1);
+		assertThat(stats.get(0).year()).isEqualTo(2020);
+		assertThat(stats.get(0).month()).isEqualTo(3);
+		assertThat(stats.get(0).count()).isEqualTo(3);
+		assertThat(stats.get(0).sum()).isEqualTo(130000.00);
+		assertThat(stats.get(0).percentiles()).isNull();
+		assertThat(employeeColumnStore.size()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Should scan a large table in parallel with the same result as a sequential pass")
+	void shouldScanALargeTableInParallel() {
+		final var random = new SplittableRandom(42);
+		final var salaries = new ArrayList<Double>();
+		for (var id = 5l; id < EmployeeColumnStore.PARALLEL_THRESHOLD * 2; id++) {
+			final var salary = (double) random.nextInt(10_000, 200_000);
+			salaries.add(salary);
+			employeeColumnStore.put(new EmployeeDTO(id, "employee" + id, Gender.FEMALE,
+					LocalDate.ofEpochDay(random.nextInt(10_000, 20_000)), salary));
+		}
+		salaries.add(30000.00);
+
+		final var female = employeeColumnStore.findSalaryStats(Set.of(SalaryStatsGroup.GENDER), List.of()).stream()
+				.filter(group -> group.gender() == Gender.FEMALE).findFirst().orElseThrow();
+
+		final var expected = salaries.stream().mapToDouble(Double::doubleValue).summaryStatistics();
+		final var variance = salaries.stream().mapToDouble(salary -> Math.pow(salary - expected.getAverage(), 2))
+				.sum() / expected.getCount();
+		assertThat(female.count()).isEqualTo(expected.getCount());
+		assertThat(female.sum()).isEqualTo(expected.getSum());
+		assertThat(female.min()).isEqualTo(expected.getMin());
+		assertThat(female.max()).isEqualTo(expected.getMax());
+		assertThat(female.mean()).isCloseTo(expected.getAverage(), within(1e-6));
+		assertThat(female.stddev()).isCloseTo(Math.sqrt(variance), within(1e-6));
+	}
+
+	@Test
+	@DisplayName("Should decode the year and month of an epoch day like LocalDate")
+	void shouldDecodeTheYearAndMonthOfAnEpochDay() {
+		for (var epochDay = -800_000; epochDay < 800_000; epochDay += 17) {
+			final var date = LocalDate.ofEpochDay(epochDay);
+			final var yearMonth = EmployeeColumnStore.yearMonth(epochDay);
+			assertThat(yearMonth >> 4).isEqualTo(date.getYear());
+			assertThat(yearMonth & 15).isEqualTo(date.getMonthValue());
+		}
+	}
+
+	@Test
+	@DisplayName("Should refuse to answer until it is loaded")
+	void shouldRefuseToAnswerUntilLoaded() {
+		employeeColumnStore.clear();
+		assertThatThrownBy(() -> employeeColumnStore.findSalaryStats(Set.of(), List.of()))
+				.isInstanceOf(EmployeeIndexNotReadyException.class);
+	}
+
+}
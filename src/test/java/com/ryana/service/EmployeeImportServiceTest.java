@@ -0,0 +1,133 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ryana.config.ImportProperties;
+import com.ryana.exception.EmployeeImportException;
+import com.ryana.mapper.EmployeeMapper;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+	@Mock
+	private EmployeeService employeeService;
+
+	private EmployeeImportService employeeImportService;
+
+	@BeforeEach
+	void setup() {
+		final var objectMapper = new ObjectMapper();
+		objectMapper.findAndRegisterModules();
+		employeeImportService = new EmployeeImportService(employeeService, EmployeeMapper.INSTANCE, objectMapper,
+				Validation.buildDefaultValidatorFactory().getValidator(), new ImportProperties(2, 2, 1));
+		given(employeeService.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@AfterEach
+	void shutdown() {
+		employeeImportService.shutdown();
+	}
+
+	@Test
+	@DisplayName("Should import a JSON array and reject invalid records")
+	void shouldImportAJsonArray() throws Exception {
+		final var json = """
+				[
+				{"name": "Hermon", "gender": "MALE", "doj": "2022-07-20", "salary": 26052.58},
+				{"gender": "FEMALE", "doj": "2019-09-23", "salary": 75111.41},
+				{"name": "Eunice", "gender": "UNKNOWN", "doj": "2021-06-05", "salary": 29055.54},
+				{"name": "Vladamir", "gender": "MALE", "doj": "2017-06-09", "salary": 63559.03},
+				{"name": "Minny", "gender": "FEMALE", "doj": "2018-02-11", "salary": 41234.00}
+				]
+				""";
+		final var report = employeeImportService.importJson(inputStream(json));
+		assertThat(report.accepted()).isEqualTo(3);
+		assertThat(report.rejected()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Should import newline delimited JSON")
+	void shouldImportNdjson() throws Exception {
+		final var ndjson = """
+				{"name": "Hermon", "gender": "MALE", "doj": "2022-07-20", "salary": 26052.58}
+				{"name": "Daria", "gender": "FEMALE", "doj": "2019-09-23", "salary": 75111.41}
+				""";
+		final var report = employeeImportService.importJson(inputStream(ndjson));
+		assertThat(report.accepted()).isEqualTo(2);
+		assertThat(report.rejected()).isZero();
+	}
+
+	@Test
+	@DisplayName("Should import CSV with a header row")
+	void shouldImportCsv() throws Exception {
+		final var csv = """
+				name,gender,doj,salary
+				Hermon,MALE,2022-07-20,26052.58
+				Daria,FEMALE,2019-09-23,75111.41
+				,FEMALE,2021-06-05,29055.54
+				""";
+		final var report = employeeImportService.importCsv(inputStream(csv));
+		assertThat(report.accepted()).isEqualTo(2);
+		assertThat(report.rejected()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should stop at the first failed batch and report what was committed before it")
+	void shouldStopAtAFailedBatch() {
+		given(employeeService.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0))
+				.willThrow(new IllegalStateException("duplicate key"));
+		final var ndjson = IntStream.rangeClosed(1, 20).mapToObj(index -> """
+				{"name": "Employee %d", "gender": "MALE", "doj": "2022-07-20", "salary": 26052.58}
+				""".formatted(index)).collect(Collectors.joining());
+
+		assertThatThrownBy(() -> employeeImportService.importJson(inputStream(ndjson)))
+				.isInstanceOfSatisfying(EmployeeImportException.class,
+						e -> assertThat(e.getCommitted()).isEqualTo(2))
+				.hasRootCauseMessage("duplicate key");
+		verify(employeeService, times(2)).saveAll(anyList());
+	}
+
+	@Test
+	@DisplayName("Should report what was committed before a malformed record")
+	void shouldReportTheCommittedEmployeesBeforeAMalformedRecord() {
+		final var ndjson = """
+				{"name": "Hermon", "gender": "MALE", "doj": "2022-07-20", "salary": 26052.58}
+				{"name": "Daria", "gender": "FEMALE", "doj": "2019-09-23", "salary": 75111.41}
+				{"name": "Minny", "gender": "FEMALE", "doj": "2018-02-11", "salary": 41234.00}
+				{"name": "Vladamir", "gender":
+				{"name": "Eunice", "gender": "FEMALE", "doj": "2021-06-05", "salary": 29055.54}
+				""";
+
+		assertThatThrownBy(() -> employeeImportService.importJson(inputStream(ndjson)))
+				.isInstanceOfSatisfying(EmployeeImportException.class,
+						e -> assertThat(e.getCommitted()).isEqualTo(2))
+				.hasCauseInstanceOf(JsonParseException.class);
+	}
+
+	private static ByteArrayInputStream inputStream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ryana.config.SketchProperties;
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.mapper.EmployeeMapper;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeIndexLoaderTest {
+
+	@Mock
+	private EmployeeService employeeService;
+	@Mock
+	private EmployeeIndex employeeIndex;
+
+	@Test
+	@DisplayName("Should replay the changes committed during the scan after it")
+	@SuppressWarnings("unchecked")
+	void shouldReplayTheChangesCommittedDuringTheScan() {
+		final var loader = new EmployeeIndexLoader(employeeService, EmployeeMapper.INSTANCE, List.of(employeeIndex));
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var scanned = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
+		final var raised = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 25000.00);
+		final var raise = EmployeeChangedEvent.updated(scanned, raised);
+		willAnswer(invocation -> {
+			loader.onEmployeeChanged(raise);
+			((Consumer<Employee>) invocation.getArgument(0)).accept(kumar);
+			return null;
+		}).given(employeeService).streamAll(any());
+
+		loader.load();
+
+		final var inOrder = inOrder(employeeIndex);
+		inOrder.verify(employeeIndex).clear();
+		inOrder.verify(employeeIndex).put(scanned);
+		inOrder.verify(employeeIndex).apply(raise);
+		inOrder.verify(employeeIndex).loaded();
+	}
+
+	@Test
+	@DisplayName("Should not replay the changes the scan has already seen")
+	@SuppressWarnings("unchecked")
+	void shouldNotReplayTheChangesTheScanHasSeen() {
+		final var loader = new EmployeeIndexLoader(employeeService, EmployeeMapper.INSTANCE, List.of(employeeIndex));
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(25000.00).version(1l).build();
+		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).version(0l).build();
+		final var hired = EmployeeChangedEvent.created(EmployeeMapper.INSTANCE.toEmployeeDTO(sharath));
+		final var raise = EmployeeChangedEvent.updated(
+				new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00, 0l),
+				EmployeeMapper.INSTANCE.toEmployeeDTO(kumar));
+		final var resigned = EmployeeChangedEvent.deleted(EmployeeMapper.INSTANCE.toEmployeeDTO(sharath));
+		willAnswer(invocation -> {
+			final var action = (Consumer<Employee>) invocation.getArgument(0);
+			loader.onEmployeeChanged(hired);
+			loader.onEmployeeChanged(raise);
+			action.accept(sharath);
+			action.accept(kumar);
+			loader.onEmployeeChanged(resigned);
+			return null;
+		}).given(employeeService).streamAll(any());
+
+		loader.load();
+
+		verify(employeeIndex, never()).apply(hired);
+		verify(employeeIndex, never()).apply(raise);
+		verify(employeeIndex).apply(resigned);
+	}
+
+	@Test
+	@DisplayName("Should count a salary raised while the table is scanned once")
+	@SuppressWarnings("unchecked")
+	void shouldCountASalaryRaisedDuringTheScanOnce() {
+		final var salaryPercentileStore = new SalaryPercentileStore(new SketchProperties(0.01));
+		final var loader = new EmployeeIndexLoader(employeeService, EmployeeMapper.INSTANCE,
+				List.of(salaryPercentileStore));
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(0l).build();
+		final var previous = EmployeeMapper.INSTANCE.toEmployeeDTO(kumar);
+		willAnswer(invocation -> {
+			// the raise commits before the scan reads the row, which already has the new salary
+			kumar.setSalary(40000.00);
+			kumar.setVersion(1l);
+			loader.onEmployeeChanged(
+					EmployeeChangedEvent.updated(previous, EmployeeMapper.INSTANCE.toEmployeeDTO(kumar)));
+			((Consumer<Employee>) invocation.getArgument(0)).accept(kumar);
+			return null;
+		}).given(employeeService).streamAll(any());
+
+		loader.load();
+
+		final var male = salaryPercentileStore.findSalaryPercentiles(Gender.MALE, null, List.of(0.0, 1.0));
+		assertThat(male.get("0.0")).isCloseTo(40000.00, within(400.0));
+		assertThat(male.get("1.0")).isCloseTo(40000.00, within(400.0));
+	}
+
+}
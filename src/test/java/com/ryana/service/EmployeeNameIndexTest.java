@@ -0,0 +1,85 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+
+class EmployeeNameIndexTest {
+
+	private final EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+
+	private final EmployeeDTO sharath = employee(1l, "Sharath Kumar");
+	private final EmployeeDTO kumar = employee(2l, "kumar");
+	private final EmployeeDTO jose = employee(3l, "José Ramírez");
+
+	@BeforeEach
+	void setup() {
+		employeeNameIndex.put(sharath);
+		employeeNameIndex.put(kumar);
+		employeeNameIndex.put(jose);
+		employeeNameIndex.loaded();
+	}
+
+	@Test
+	@DisplayName("Should find Employees by a case insensitive prefix of any word of the name")
+	void shouldFindByACaseInsensitivePrefix() {
+		assertThat(employeeNameIndex.search("KUM", false)).containsExactly(1l, 2l);
+		assertThat(employeeNameIndex.search("sha ku", false)).containsExactly(1l);
+		assertThat(employeeNameIndex.search("jose", false)).containsExactly(3l);
+		assertThat(employeeNameIndex.search("ramirez", false)).containsExactly(3l);
+		assertThat(employeeNameIndex.search("kumaar", false)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should find misspelt names only when fuzzy")
+	void shouldFindMisspeltNamesWhenFuzzy() {
+		assertThat(employeeNameIndex.search("kumaar", true)).containsExactly(1l, 2l);
+		assertThat(employeeNameIndex.search("sharat", true)).containsExactly(1l);
+		assertThat(employeeNameIndex.search("ramires", true)).containsExactly(3l);
+		assertThat(employeeNameIndex.search("shrt", true)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should follow renames and deletes")
+	void shouldFollowRenamesAndDeletes() {
+		employeeNameIndex.apply(EmployeeChangedEvent.updated(kumar, employee(2l, "Ravi")));
+		employeeNameIndex.apply(EmployeeChangedEvent.deleted(jose));
+		// replaying a change is harmless
+		employeeNameIndex.apply(EmployeeChangedEvent.deleted(jose));
+
+		assertThat(employeeNameIndex.search("kumar", false)).containsExactly(1l);
+		assertThat(employeeNameIndex.search("ravi", false)).containsExactly(2l);
+		assertThat(employeeNameIndex.search("jose", true)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should bound the edit distance")
+	void shouldBoundTheEditDistance() {
+		assertThat(EmployeeNameIndex.distance("kumar", "kumaar", 1)).isEqualTo(1);
+		assertThat(EmployeeNameIndex.distance("kumar", "kmr", 1)).isEqualTo(2);
+		assertThat(EmployeeNameIndex.distance("sharath", "sharath", 2)).isZero();
+	}
+
+	@Test
+	@DisplayName("Should refuse to answer until it is loaded")
+	void shouldRefuseToAnswerUntilLoaded() {
+		employeeNameIndex.clear();
+		assertThatThrownBy(() -> employeeNameIndex.search("kumar", false))
+				.isInstanceOf(EmployeeIndexNotReadyException.class);
+	}
+
+	private static EmployeeDTO employee(Long id, String name) {
+		return new EmployeeDTO(id, name, Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.service.EmployeeReadCoalescer.Read;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeReadCoalescerTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final EmployeeReadCoalescer employeeReadCoalescer = new EmployeeReadCoalescer(meterRegistry);
+
+	private final EmployeeDTO sharath = new EmployeeDTO(1l, "sharath", Gender.MALE,
+			LocalDate.of(2020, Month.JANUARY, 5), 10000.00, 0l);
+	private final EmployeeDTO promoted = new EmployeeDTO(1l, "sharath", Gender.MALE,
+			LocalDate.of(2020, Month.JANUARY, 5), 15000.00, 1l);
+
+	@Test
+	@DisplayName("Should hand the exception of the shared load to every caller that joined it")
+	void shouldShareTheExceptionOfTheLoad() throws Exception {
+		final var failure = new IllegalStateException("database unavailable");
+		final var started = new CountDownLatch(1);
+		final var leader = CompletableFuture.runAsync(() -> employeeReadCoalescer.coalesce(Read.BY_YEAR, 2020, () -> {
+			started.countDown();
+			await(() -> count(Read.BY_YEAR, "coalesced") == 1);
+			throw failure;
+		}));
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> employeeReadCoalescer.coalesce(Read.BY_YEAR, 2020, () -> 0)).isSameAs(failure);
+		assertThatThrownBy(leader::join).isInstanceOf(CompletionException.class).hasCause(failure);
+		assertThat(count(Read.BY_YEAR, "loaded")).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should not join a load started before a committed change to the Employee")
+	void shouldNotJoinALoadStartedBeforeACommittedChange() throws Exception {
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var before = CompletableFuture.supplyAsync(() -> employeeReadCoalescer.coalesce(Read.BY_ID, 1l, () -> {
+			started.countDown();
+			await(() -> release.getCount() == 0);
+			return sharath;
+		}));
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+		employeeReadCoalescer.onEmployeeChanged(EmployeeChangedEvent.updated(sharath, promoted));
+		final var after = employeeReadCoalescer.coalesce(Read.BY_ID, 1l, () -> promoted);
+		release.countDown();
+
+		assertThat(after).isEqualTo(promoted);
+		assertThat(before.join()).isEqualTo(sharath);
+		assertThat(count(Read.BY_ID, "loaded")).isEqualTo(2);
+		assertThat(count(Read.BY_ID, "coalesced")).isZero();
+	}
+
+	@Test
+	@DisplayName("Should load again once the previous load has returned")
+	void shouldLoadAgainOnceThePreviousLoadHasReturned() {
+		assertThat(employeeReadCoalescer.coalesce(Read.BY_ID, 1l, () -> sharath)).isEqualTo(sharath);
+		assertThat(employeeReadCoalescer.coalesce(Read.BY_ID, 1l, () -> promoted)).isEqualTo(promoted);
+		assertThat(count(Read.BY_ID, "loaded")).isEqualTo(2);
+	}
+
+	private double count(Read read, String outcome) {
+		return meterRegistry.counter("employee.reads", "read", read.name().toLowerCase(), "outcome", outcome).count();
+	}
+
+	private static void await(BooleanSupplier condition) {
+		final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ryana.config.CompressionProperties;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+
+class EmployeeResponseCacheTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final EmployeeResponseCache employeeResponseCache = new EmployeeResponseCache(
+			new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper)),
+			new GzipCompressor(new CompressionProperties(2048, 6, 16)));
+
+	private final EmployeeDTO kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15),
+			20000.00);
+
+	@Test
+	@DisplayName("Should serve the encoded bytes without loading again while the collection version is unchanged")
+	void shouldServeTheEncodedBytesForTheSameVersion() throws IOException {
+		final var loads = new AtomicInteger();
+
+		final var first = employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 1l, () -> {
+			loads.incrementAndGet();
+			return List.of(kumar);
+		});
+		final var second = employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 1l, () -> {
+			loads.incrementAndGet();
+			return List.of(kumar);
+		});
+
+		assertThat(loads).hasValue(1);
+		assertThat(second).isSameAs(first);
+		assertThat(second.body()).isEqualTo(objectMapper.writeValueAsBytes(List.of(kumar)));
+	}
+
+	@Test
+	@DisplayName("Should load again once the collection version moves or the write path drops the entries")
+	void shouldLoadAgainForANewVersion() {
+		final var loads = new AtomicInteger();
+		final Supplier<List<EmployeeDTO>> loader = () -> {
+			loads.incrementAndGet();
+			return List.of(kumar);
+		};
+
+		employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 1l, loader);
+		final var rebuilt = employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 2l, loader);
+		employeeResponseCache.onEmployeeChanged(EmployeeChangedEvent.deleted(kumar));
+		employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 2l, loader);
+
+		assertThat(loads).hasValue(3);
+		assertThat(rebuilt.version()).isEqualTo(2l);
+	}
+
+	@Test
+	@DisplayName("Should gzip the encoded bytes once")
+	void shouldGzipTheEncodedBytesOnce() throws IOException {
+		final var response = employeeResponseCache.get("year:2021", MediaType.APPLICATION_JSON, 1l, () -> List.of(kumar));
+
+		final var gzip = response.gzip();
+
+		assertThat(response.gzip()).isSameAs(gzip);
+		try (final var in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			assertThat(in.readAllBytes()).isEqualTo(response.body());
+		}
+	}
+
+	@Test
+	@DisplayName("Should encode and cache each format on its own")
+	void shouldEncodeEachFormatOnItsOwn() throws IOException {
+		final var loads = new AtomicInteger();
+		final Supplier<List<EmployeeDTO>> loader = () -> {
+			loads.incrementAndGet();
+			return List.of(kumar);
+		};
+
+		final var json = employeeResponseCache.get("all", MediaType.APPLICATION_JSON, 1l, loader);
+		final var cbor = employeeResponseCache.get("all", MediaType.APPLICATION_CBOR, 1l, loader);
+
+		assertThat(loads).hasValue(2);
+		assertThat(cbor.format()).isEqualTo(MediaType.APPLICATION_CBOR);
+		assertThat(cbor.body()).isNotEqualTo(json.body());
+		assertThat(new ObjectMapper(new CBORFactory()).findAndRegisterModules().readValue(cbor.body(),
+				new TypeReference<List<EmployeeDTO>>() {
+				})).containsExactly(kumar);
+		assertThat(employeeResponseCache.get("all", MediaType.APPLICATION_CBOR, 1l, loader)).isSameAs(cbor);
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ryana.config.SeedProperties;
+import com.ryana.domain.Employee;
+import com.ryana.domain.Gender;
+import com.ryana.repository.EmployeeRepository;
+
+/*
+ * Runs on an H2 database of its own, generated rows are committed by the writer threads.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:employee_seed;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embedded")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeSeederTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	@DisplayName("Should generate Employees after the existing ids in parallel batches")
+	void shouldGenerateEmployees() {
+		final var employeeSeeder = new EmployeeSeeder(new SeedProperties(null, 0, 1000, 3, 42l), null,
+				employeeRepository, Optional.of(jdbcTemplate), new DefaultResourceLoader(), new SimpleAsyncTaskExecutor());
+
+		final var first = employeeSeeder.generate(10_500);
+
+		assertThat(first).isEqualTo(101l);
+		assertThat(jdbcTemplate.queryForObject("select count(distinct id) from employee where id >= 101", Long.class))
+				.isEqualTo(10_500l);
+		assertThat(jdbcTemplate.queryForObject("select max(id) from employee", Long.class)).isEqualTo(10_600l);
+		final var saved = employeeRepository.save(Employee.builder().name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build());
+		assertThat(saved.getId()).isGreaterThan(10_600l);
+	}
+
+}
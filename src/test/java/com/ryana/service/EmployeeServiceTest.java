@@ -1,32 +1,76 @@
 package com.ryana.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import com.ryana.domain.Employee;
 import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.dto.EmployeeQuery;
+import com.ryana.exception.EmployeeConflictException;
+import com.ryana.exception.EmployeePreconditionFailedException;
+import com.ryana.exception.EmployeeQueryException;
+import com.ryana.mapper.EmployeeMapper;
 import com.ryana.repository.EmployeeRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
 
 	@Mock
 	private EmployeeRepository employeeRepository;
+	@Spy
+	private EmployeeMapper employeeMapper = EmployeeMapper.INSTANCE;
+	@Mock
+	private SalaryAggregateStore salaryAggregateStore;
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+	@Mock
+	private EmployeeCollectionVersion employeeCollectionVersion;
+	@Mock
+	private EmployeeColumnStore employeeColumnStore;
+	@Mock
+	private SalaryPercentileStore salaryPercentileStore;
+	@Mock
+	private EmployeeNameIndex employeeNameIndex;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	@Spy
+	private EmployeeReadCoalescer employeeReadCoalescer = new EmployeeReadCoalescer(meterRegistry);
 
 	@InjectMocks
 	private EmployeeService employeeService;
@@ -37,9 +81,9 @@ class EmployeeServiceTest {
 		final var kumar = Employee.builder().name("kumar").gender(Gender.MALE)
 				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
 		given(employeeRepository.findById(anyLong())).willReturn(Optional.of(kumar));
-		given(employeeRepository.save(any())).willReturn(kumar);
 		final var employee = employeeService.update(2l, kumar).orElse(null);
 		assertThat(employee).isEqualTo(kumar);
+		verify(employeeRepository).flush();
 	}
 
 	@Test
@@ -55,7 +99,7 @@ class EmployeeServiceTest {
 	@Test
 	@DisplayName("Should return an Average salary of Male Employees")
 	void shouldReturnAnAverageSalaryOfMaleEmployees() {
-		given(employeeRepository.findAverageSalaryByGender(any())).willReturn(10000.00);
+		given(salaryAggregateStore.findAverageSalary(any())).willReturn(10000.00);
 		final var avgSalary = employeeService.findAverageSalaryByGender(Gender.MALE);
 		assertThat(avgSalary).isEqualTo(10000.00);
 	}
@@ -63,7 +107,7 @@ class EmployeeServiceTest {
 	@Test
 	@DisplayName("Should return an Average salary of Female Employees")
 	void shouldReturnAnAverageSalaryOfFemaleEmployees() {
-		given(employeeRepository.findAverageSalaryByGender(any())).willReturn(20000.00);
+		given(salaryAggregateStore.findAverageSalary(any())).willReturn(20000.00);
 		final var avgSalary = employeeService.findAverageSalaryByGender(Gender.FEMALE);
 		assertThat(avgSalary).isEqualTo(20000.00);
 	}
@@ -71,11 +115,10 @@ class EmployeeServiceTest {
 	@Test
 	@DisplayName("Should return Employees by Year Of Joining")
 	void shouldReturnEmployeesByYear() {
-		final var sharath = Employee.builder().id(1l).name("sharath").gender(Gender.MALE)
-				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
-		final var vivek = Employee.builder().id(3l).name("vivek").gender(Gender.MALE)
-				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
-		given(employeeRepository.findByYear(anyInt())).willReturn(List.of(sharath, vivek));
+		final var sharath = new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 10000.00);
+		final var vivek = new EmployeeDTO(3l, "vivek", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5), 10000.00);
+		given(employeeRepository.findDTOsJoinedBetween(LocalDate.of(2020, Month.JANUARY, 1),
+				LocalDate.of(2021, Month.JANUARY, 1))).willReturn(List.of(sharath, vivek));
 		final var employees = employeeService.findByYear(2020);
 		assertThat(employees).hasSize(2);
 	}
@@ -83,9 +126,174 @@ class EmployeeServiceTest {
 	@Test
 	@DisplayName("Should return Empty List of Employees for invalid Year Of Joining")
 	void shouldReturnEmptyListOfEmployeesByYear() {
-		given(employeeRepository.findByYear(anyInt())).willReturn(List.of());
+		given(employeeRepository.findDTOsJoinedBetween(any(), any())).willReturn(List.of());
 		final var employees = employeeService.findByYear(2010);
 		assertThat(employees).isEmpty();
 	}
 
+	@Test
+	@DisplayName("Should reject a date range that ends before it starts")
+	void shouldRejectAnInvertedDateRange() {
+		assertThatThrownBy(() -> employeeService.findJoinedBetween(LocalDate.of(2022, Month.JANUARY, 1),
+				LocalDate.of(2019, Month.JANUARY, 1), PageRequest.ofSize(10)))
+				.isInstanceOf(EmployeeQueryException.class);
+		verify(employeeRepository, never()).findJoinedBetween(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Should publish a change event when an Employee is deleted")
+	void shouldPublishAChangeEventWhenAnEmployeeIsDeleted() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar));
+		employeeService.deleteById(2l);
+		verify(employeeRepository).delete(kumar);
+		verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(EmployeeMapper.INSTANCE.toEmployeeDTO(kumar)));
+	}
+
+	@Test
+	@DisplayName("Should save a batch of Employees as new rows and publish a change event for each")
+	void shouldSaveABatchOfEmployees() {
+		final var sharath = Employee.builder().id(7l).name("sharath").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		final var kumar = Employee.builder().name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var employees = List.of(sharath, kumar);
+		given(employeeRepository.saveAll(employees)).willReturn(employees);
+		final var saved = employeeService.saveAll(employees);
+		assertThat(saved).hasSize(2).extracting(Employee::getId).containsOnlyNulls();
+		verify(employeeRepository).flushAndClear();
+		verify(eventPublisher, times(2)).publishEvent(any(EmployeeChangedEvent.class));
+	}
+
+	@Test
+	@DisplayName("Should delete a batch of Employees that exist")
+	void shouldDeleteABatchOfEmployees() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		given(employeeRepository.findAllById(List.of(2l, 104l))).willReturn(List.of(kumar));
+		employeeService.deleteAllById(List.of(2l, 104l));
+		verify(employeeRepository).deleteAllInBatch(List.of(kumar));
+		verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(EmployeeMapper.INSTANCE.toEmployeeDTO(kumar)));
+	}
+
+	@Test
+	@DisplayName("Should patch only the supplied fields of an Employee")
+	void shouldPatchOnlyTheSuppliedFields() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(3l).build();
+		final var raised = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(25000.00).version(4l).build();
+		final var raise = Employee.builder().salary(25000.00).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar), Optional.of(raised));
+		given(employeeRepository.patch(2l, 3l, null, null, null, 25000.00)).willReturn(1);
+		final var employee = employeeService.patch(2l, raise).orElseThrow();
+		assertThat(employee).isSameAs(raised);
+		verify(eventPublisher).publishEvent(EmployeeChangedEvent.updated(EmployeeMapper.INSTANCE.toEmployeeDTO(kumar),
+				EmployeeMapper.INSTANCE.toEmployeeDTO(raised)));
+	}
+
+	@Test
+	@DisplayName("Patch should fail with a conflict when the Employee was modified concurrently")
+	void patchShouldFailWithAConflictForAStaleVersion() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(3l).build();
+		final var raise = Employee.builder().salary(25000.00).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar));
+		given(employeeRepository.patch(2l, 3l, null, null, null, 25000.00)).willReturn(0);
+		assertThatThrownBy(() -> employeeService.patch(2l, raise)).isInstanceOf(EmployeeConflictException.class);
+	}
+
+	@Test
+	@DisplayName("Update should fail with a conflict when the optimistic lock check fails")
+	void updateShouldFailWithAConflictForAStaleVersion() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(3l).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar));
+		willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 2l)).given(employeeRepository).flush();
+		assertThatThrownBy(() -> employeeService.update(2l, kumar)).isInstanceOf(EmployeeConflictException.class);
+	}
+
+	@Test
+	@DisplayName("Update should fail the precondition when the expected version is not the current one")
+	void updateShouldFailThePreconditionForAnUnexpectedVersion() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(3l).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar));
+		assertThatThrownBy(() -> employeeService.update(2l, kumar, 2l))
+				.isInstanceOf(EmployeePreconditionFailedException.class);
+		verify(employeeRepository, never()).flush();
+	}
+
+	@Test
+	@DisplayName("Delete should fail the precondition when the expected version is not the current one")
+	void deleteShouldFailThePreconditionForAnUnexpectedVersion() {
+		final var kumar = Employee.builder().id(2l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).version(3l).build();
+		given(employeeRepository.findById(2l)).willReturn(Optional.of(kumar));
+		assertThatThrownBy(() -> employeeService.deleteById(2l, 2l))
+				.isInstanceOf(EmployeePreconditionFailedException.class);
+		verify(employeeRepository, never()).delete(any());
+	}
+
+	@Test
+	@DisplayName("Should read only the requested page of the Employees matching a name")
+	void shouldReadOnlyTheRequestedPageOfTheEmployeesMatchingAName() {
+		final var kumar = Employee.builder().id(5l).name("kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2021, Month.DECEMBER, 15)).salary(20000.00).build();
+		final var sharath = Employee.builder().id(3l).name("sharath kumar").gender(Gender.MALE)
+				.doj(LocalDate.of(2020, Month.JANUARY, 5)).salary(10000.00).build();
+		given(employeeNameIndex.search("kum", false)).willReturn(new long[] { 1l, 2l, 3l, 5l });
+		given(employeeRepository.findAllById(List.of(3l, 5l))).willReturn(List.of(kumar, sharath));
+
+		final var employees = employeeService.findByName("kum", false, PageRequest.of(1, 2));
+
+		assertThat(employees).containsExactly(sharath, kumar);
+	}
+
+	@Test
+	@DisplayName("Should reject a query sorted by anything but one indexed property")
+	void shouldRejectAQuerySortedByAnythingButOneIndexedProperty() {
+		final var query = new EmployeeQuery(null, null, null, null, null);
+
+		assertThatThrownBy(() -> employeeService.query(query, Sort.by("name"), null, 10))
+				.isInstanceOf(EmployeeQueryException.class);
+		assertThatThrownBy(() -> employeeService.query(query, Sort.by("salary", "doj"), null, 10))
+				.isInstanceOf(EmployeeQueryException.class);
+		assertThatThrownBy(() -> employeeService.query(query, Sort.by("salary"), "bm90IGEgY3Vyc29y", 10))
+				.isInstanceOf(EmployeeQueryException.class);
+		verify(employeeRepository, never()).findAll(any(EmployeeQuery.class), any(Sort.Order.class), any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("Should run one query for concurrent reads of the same Employee")
+	void shouldRunOneQueryForConcurrentReadsOfTheSameEmployee() {
+		final var callers = 32;
+		final var kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+		final var coalesced = meterRegistry.counter("employee.reads", "read", "by_id", "outcome", "coalesced");
+		given(employeeRepository.findDTOById(2l)).willAnswer(invocation -> {
+			// the query is held until every other caller has joined it
+			final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (coalesced.count() < callers - 1 && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			return Optional.of(kumar);
+		});
+		final var executor = Executors.newFixedThreadPool(callers);
+		try {
+			final var reads = IntStream.range(0, callers)
+					.mapToObj(caller -> CompletableFuture.supplyAsync(() -> employeeService.findDTOById(2l), executor))
+					.toList();
+			assertThat(reads).extracting(CompletableFuture::join).containsOnly(Optional.of(kumar));
+		} finally {
+			executor.shutdownNow();
+		}
+		verify(employeeRepository, times(1)).findDTOById(2l);
+		verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+		assertThat(coalesced.count()).isEqualTo(callers - 1);
+
+		employeeService.findDTOById(2l);
+		verify(employeeRepository, times(2)).findDTOById(2l);
+	}
+
 }
@@ -0,0 +1,70 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.config.CompressionProperties;
+
+class GzipCompressorTest {
+
+	private final GzipCompressor gzipCompressor = new GzipCompressor(new CompressionProperties(2048, 6, 2));
+
+	private final byte[] json = IntStream.rangeClosed(1, 1000)
+			.mapToObj(id -> "{\"id\":" + id + ",\"name\":\"employee-" + id + "\",\"gender\":\"MALE\"}")
+			.collect(Collectors.joining(",", "[", "]")).getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	@DisplayName("Should gzip bytes into a stream GZIPInputStream reads back")
+	void shouldGzipBytes() throws IOException {
+		final var gzip = gzipCompressor.gzip(json);
+
+		assertThat(gzip.length).isLessThan(json.length / 4);
+		assertThat(gunzip(gzip)).isEqualTo(json);
+		assertThat(gunzip(gzipCompressor.gzip(json))).isEqualTo(json);
+		assertThat(gzipCompressor.idle()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should gzip a stream written in pieces and return its Deflater to the pool on close")
+	void shouldGzipAStream() throws IOException {
+		final var out = new ByteArrayOutputStream();
+
+		try (final var gzip = gzipCompressor.gzip(out)) {
+			for (var offset = 0; offset < json.length; offset += 1000) {
+				gzip.write(json, offset, Math.min(1000, json.length - offset));
+			}
+			gzip.write('\n');
+			assertThat(gzipCompressor.idle()).isZero();
+		}
+
+		final var expected = new ByteArrayOutputStream();
+		expected.writeBytes(json);
+		expected.write('\n');
+		assertThat(gunzip(out.toByteArray())).isEqualTo(expected.toByteArray());
+		assertThat(gzipCompressor.idle()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should only compress bodies of at least the minimum response size")
+	void shouldOnlyCompressLargeBodies() {
+		assertThat(gzipCompressor.compressible(2047)).isFalse();
+		assertThat(gzipCompressor.compressible(2048)).isTrue();
+	}
+
+	private static byte[] gunzip(byte[] gzip) throws IOException {
+		try (final var in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			return in.readAllBytes();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ryana.config.AggregateProperties;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.repository.EmployeeRepository;
+import com.ryana.repository.SalaryTotals;
+import com.ryana.repository.SalaryTotalsByYear;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryAggregateStoreTest {
+
+	@Mock
+	private EmployeeRepository employeeRepository;
+
+	private SalaryAggregateStore salaryAggregateStore;
+
+	@BeforeEach
+	void setup() {
+		final var maleTotals = mock(SalaryTotals.class);
+		given(maleTotals.getGender()).willReturn(Gender.MALE);
+		given(maleTotals.getEmployees()).willReturn(2l);
+		given(maleTotals.getTotalSalary()).willReturn(30000.00);
+		final var maleTotalsByYear = mock(SalaryTotalsByYear.class);
+		given(maleTotalsByYear.getGender()).willReturn(Gender.MALE);
+		given(maleTotalsByYear.getJoinYear()).willReturn(2020);
+		given(maleTotalsByYear.getEmployees()).willReturn(2l);
+		given(maleTotalsByYear.getTotalSalary()).willReturn(30000.00);
+		given(employeeRepository.findSalaryTotals()).willReturn(List.of(maleTotals));
+		given(employeeRepository.findSalaryTotalsByYear()).willReturn(List.of(maleTotalsByYear));
+		salaryAggregateStore = new SalaryAggregateStore(employeeRepository, new AggregateProperties(false));
+		salaryAggregateStore.rebuild();
+	}
+
+	@Test
+	@DisplayName("Should answer the Average salary from the rebuilt aggregates")
+	void shouldAnswerTheAverageSalaryFromRebuiltAggregates() {
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE)).isEqualTo(15000.00);
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE, 2020)).isEqualTo(15000.00);
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.FEMALE)).isNull();
+		verify(employeeRepository, never()).findAverageSalaryByGender(Gender.MALE);
+	}
+
+	@Test
+	@DisplayName("Should keep the Average salary current on save, update and delete")
+	void shouldKeepTheAverageSalaryCurrentOnWrites() {
+		final var sharath = new EmployeeDTO(3l, "sharath", Gender.MALE, LocalDate.of(2021, Month.JANUARY, 5),
+				60000.00);
+		salaryAggregateStore.onEmployeeChanged(EmployeeChangedEvent.created(sharath));
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE)).isEqualTo(30000.00);
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE, 2021)).isEqualTo(60000.00);
+
+		final var promoted = new EmployeeDTO(3l, "sharath", Gender.FEMALE, LocalDate.of(2021, Month.JANUARY, 5),
+				90000.00);
+		salaryAggregateStore.onEmployeeChanged(EmployeeChangedEvent.updated(sharath, promoted));
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE)).isEqualTo(15000.00);
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.FEMALE)).isEqualTo(90000.00);
+
+		salaryAggregateStore.onEmployeeChanged(EmployeeChangedEvent.deleted(promoted));
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.FEMALE)).isNull();
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE, 2021)).isNull();
+	}
+
+	@Test
+	@DisplayName("Should answer the Average salary by year from the database until the first rebuild")
+	void shouldAnswerTheAverageSalaryByYearFromTheDatabaseUntilRebuilt() {
+		final var unbuiltStore = new SalaryAggregateStore(employeeRepository, new AggregateProperties(false));
+		assertThat(unbuiltStore.findAverageSalary(Gender.MALE, 2020)).isEqualTo(15000.00);
+		assertThat(unbuiltStore.findAverageSalary(Gender.MALE, 2021)).isNull();
+	}
+
+	@Test
+	@DisplayName("Should keep answering from the previous aggregates while a rebuild runs")
+	void shouldKeepAnsweringWhileARebuildRuns() {
+		final var during = new ArrayList<Double>();
+		given(employeeRepository.findSalaryTotals()).willAnswer(invocation -> {
+			during.add(salaryAggregateStore.findAverageSalary(Gender.MALE));
+			during.add(salaryAggregateStore.findAverageSalary(Gender.MALE, 2020));
+			return List.of();
+		});
+		salaryAggregateStore.rebuild();
+		assertThat(during).containsExactly(15000.00, 15000.00);
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE)).isNull();
+		assertThat(salaryAggregateStore.findAverageSalary(Gender.MALE, 2020)).isEqualTo(15000.00);
+	}
+
+	@Test
+	@DisplayName("Should serve the SQL Average salary when the consistency check finds drift")
+	void shouldServeTheSqlAverageSalaryOnDrift() {
+		final var checkedStore = new SalaryAggregateStore(employeeRepository, new AggregateProperties(true));
+		checkedStore.rebuild();
+		given(employeeRepository.findAverageSalaryByGender(Gender.MALE)).willReturn(16000.00);
+		assertThat(checkedStore.findAverageSalary(Gender.MALE)).isEqualTo(16000.00);
+	}
+
+}
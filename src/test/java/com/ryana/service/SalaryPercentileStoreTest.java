@@ -0,0 +1,53 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.ryana.config.SketchProperties;
+import com.ryana.domain.Gender;
+import com.ryana.dto.EmployeeDTO;
+import com.ryana.exception.EmployeeIndexNotReadyException;
+
+class SalaryPercentileStoreTest {
+
+	private final SalaryPercentileStore salaryPercentileStore = new SalaryPercentileStore(
+			new SketchProperties(0.01));
+
+	@Test
+	@DisplayName("Should answer the percentiles of a Gender and of a Gender and year of joining")
+	void shouldAnswerThePercentilesByGenderAndYear() {
+		final var kumar = new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 20000.00);
+		salaryPercentileStore.put(new EmployeeDTO(1l, "sharath", Gender.MALE, LocalDate.of(2020, Month.JANUARY, 5),
+				10000.00));
+		salaryPercentileStore.put(kumar);
+		salaryPercentileStore.put(new EmployeeDTO(3l, "anitha", Gender.FEMALE, LocalDate.of(2020, Month.MARCH, 1),
+				90000.00));
+		salaryPercentileStore.loaded();
+		salaryPercentileStore.apply(EmployeeChangedEvent.updated(kumar,
+				new EmployeeDTO(2l, "kumar", Gender.MALE, LocalDate.of(2021, Month.DECEMBER, 15), 40000.00)));
+
+		final var male = salaryPercentileStore.findSalaryPercentiles(Gender.MALE, null, List.of(0.0, 1.0));
+		final var male2021 = salaryPercentileStore.findSalaryPercentiles(Gender.MALE, 2021, List.of(0.5));
+
+		assertThat(male.get("0.0")).isCloseTo(10000.00, within(100.0));
+		assertThat(male.get("1.0")).isCloseTo(40000.00, within(400.0));
+		assertThat(male2021.get("0.5")).isCloseTo(40000.00, within(400.0));
+		assertThat(salaryPercentileStore.findSalaryPercentiles(Gender.FEMALE, 2021, List.of(0.5))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should refuse to answer until it is loaded")
+	void shouldRefuseToAnswerUntilLoaded() {
+		assertThatThrownBy(() -> salaryPercentileStore.findSalaryPercentiles(Gender.MALE, null, List.of(0.5)))
+				.isInstanceOf(EmployeeIndexNotReadyException.class);
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.ryana.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SalarySketchTest {
+
+	private static final double RELATIVE_ACCURACY = 0.01;
+	private static final List<Double> FRACTIONS = List.of(0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0);
+
+	@Test
+	@DisplayName("Should answer every percentile within the relative accuracy of the exact value")
+	void shouldAnswerWithinTheRelativeAccuracy() {
+		final var salaries = salaries(new SplittableRandom(7), 200_000);
+		final var sketch = new SalarySketch(RELATIVE_ACCURACY);
+		Arrays.stream(salaries).forEach(sketch::add);
+
+		assertWithinAccuracy(sketch, salaries);
+	}
+
+	@Test
+	@DisplayName("Should stay within the relative accuracy after deletes")
+	void shouldStayWithinTheRelativeAccuracyAfterDeletes() {
+		final var salaries = salaries(new SplittableRandom(11), 100_000);
+		final var sketch = new SalarySketch(RELATIVE_ACCURACY);
+		Arrays.stream(salaries).forEach(sketch::add);
+		// the lower half leaves, so every percentile moves
+		Arrays.sort(salaries);
+		final var remaining = Arrays.copyOfRange(salaries, salaries.length / 2, salaries.length);
+		Arrays.stream(salaries, 0, salaries.length / 2).forEach(sketch::remove);
+
+		assertThat(sketch.count()).isEqualTo(remaining.length);
+		assertWithinAccuracy(sketch, remaining);
+	}
+
+	@Test
+	@DisplayName("Should merge into the sketch of the union")
+	void shouldMergeIntoTheSketchOfTheUnion() {
+		final var random = new SplittableRandom(13);
+		final var low = salaries(random, 50_000);
+		final var high = Arrays.stream(salaries(random, 50_000)).map(salary -> salary * 40).toArray();
+		final var lowSketch = new SalarySketch(RELATIVE_ACCURACY);
+		final var highSketch = new SalarySketch(RELATIVE_ACCURACY);
+		Arrays.stream(low).forEach(lowSketch::add);
+		Arrays.stream(high).forEach(highSketch::add);
+
+		highSketch.merge(lowSketch);
+
+		final var union = new double[low.length + high.length];
+		System.arraycopy(low, 0, union, 0, low.length);
+		System.arraycopy(high, 0, union, low.length, high.length);
+		assertWithinAccuracy(highSketch, union);
+	}
+
+	@Test
+	@DisplayName("Should answer NaN when empty and 0 for non positive salaries")
+	void shouldAnswerNaNWhenEmptyAndZeroForNonPositiveSalaries() {
+		final var sketch = new SalarySketch(RELATIVE_ACCURACY);
+		assertThat(sketch.quantile(0.5)).isNaN();
+
+		sketch.add(0);
+		sketch.add(1000);
+		sketch.add(2000);
+		assertThat(sketch.quantile(0)).isZero();
+		assertThat(sketch.quantile(1)).isCloseTo(2000, within(2000 * RELATIVE_ACCURACY));
+	}
+
+	private static void assertWithinAccuracy(SalarySketch sketch, double[] values) {
+		final var sorted = values.clone();
+		Arrays.sort(sorted);
+		for (final var fraction : FRACTIONS) {
+			final var exact = sorted[(int) (fraction * (sorted.length - 1))];
+			assertThat(sketch.quantile(fraction)).as("percentile %s", fraction).isCloseTo(exact,
+					within(exact * RELATIVE_ACCURACY));
+		}
+	}
+
+	// log-normal around 50000, the usual shape of a salary distribution
+	private static double[] salaries(SplittableRandom random, int size) {
+		return random.doubles(size).map(uniform -> {
+			final var gaussian = Math.sqrt(-2 * Math.log(1 - uniform)) * Math.cos(2 * Math.PI * random.nextDouble());
+			return Math.round(50_000 * Math.exp(0.5 * gaussian) * 100) / 100.0;
+		}).toArray();
+	}
+
+}
@@ -1,100 +1,101 @@
-insert into employee (name, gender, doj, salary) values ('Dorothee', 'FEMALE', '2019-08-10', 56977.51);
-insert into employee (name, gender, doj, salary) values ('Domenico', 'MALE', '2020-10-11', 92940.19);
-insert into employee (name, gender, doj, salary) values ('Easter', 'FEMALE', '2021-05-28', 25854.56);
-insert into employee (name, gender, doj, salary) values ('Erastus', 'MALE', '2021-01-03', 40683.53);
-insert into employee (name, gender, doj, salary) values ('Guillaume', 'MALE', '2021-09-25', 27027.14);
-insert into employee (name, gender, doj, salary) values ('Maryl', 'FEMALE', '2018-11-01', 46478.51);
-insert into employee (name, gender, doj, salary) values ('Lucais', 'MALE', '2021-02-09', 53336.34);
-insert into employee (name, gender, doj, salary) values ('Eleanor', 'FEMALE', '2022-01-07', 94425.06);
-insert into employee (name, gender, doj, salary) values ('Merla', 'FEMALE', '2020-06-22', 89087.34);
-insert into employee (name, gender, doj, salary) values ('Bennie', 'MALE', '2022-04-21', 51933.9);
-insert into employee (name, gender, doj, salary) values ('Franky', 'MALE', '2018-10-23', 29326.51);
-insert into employee (name, gender, doj, salary) values ('Bernarr', 'MALE', '2019-11-18', 45972.36);
-insert into employee (name, gender, doj, salary) values ('Marillin', 'FEMALE', '2017-07-22', 31756.57);
-insert into employee (name, gender, doj, salary) values ('Raquel', 'FEMALE', '2022-06-21', 47463.5);
-insert into employee (name, gender, doj, salary) values ('Diana', 'FEMALE', '2021-06-10', 68749.59);
-insert into employee (name, gender, doj, salary) values ('Conant', 'MALE', '2018-10-07', 52354.5);
-insert into employee (name, gender, doj, salary) values ('Moina', 'FEMALE', '2021-04-04', 84220.94);
-insert into employee (name, gender, doj, salary) values ('Jobie', 'FEMALE', '2017-06-04', 19578.79);
-insert into employee (name, gender, doj, salary) values ('Hailey', 'MALE', '2019-12-20', 28537.06);
-insert into employee (name, gender, doj, salary) values ('Correy', 'FEMALE', '2021-08-09', 16570.26);
-insert into employee (name, gender, doj, salary) values ('Berry', 'FEMALE', '2018-02-23', 22315.5);
-insert into employee (name, gender, doj, salary) values ('Britney', 'FEMALE', '2018-05-12', 81592.98);
-insert into employee (name, gender, doj, salary) values ('Emalia', 'FEMALE', '2022-05-19', 90447.6);
-insert into employee (name, gender, doj, salary) values ('Kimbell', 'MALE', '2017-10-17', 47515.97);
-insert into employee (name, gender, doj, salary) values ('Joan', 'FEMALE', '2020-08-14', 32871.12);
-insert into employee (name, gender, doj, salary) values ('Jock', 'MALE', '2019-01-05', 15201.22);
-insert into employee (name, gender, doj, salary) values ('Daria', 'FEMALE', '2018-12-04', 88945.1);
-insert into employee (name, gender, doj, salary) values ('Roberta', 'FEMALE', '2019-10-15', 91711.73);
-insert into employee (name, gender, doj, salary) values ('Cyndi', 'FEMALE', '2017-06-14', 46598.44);
-insert into employee (name, gender, doj, salary) values ('Kyle', 'MALE', '2020-07-12', 26073.45);
-insert into employee (name, gender, doj, salary) values ('Marven', 'MALE', '2019-04-15', 86956.91);
-insert into employee (name, gender, doj, salary) values ('Chevalier', 'MALE', '2021-09-04', 63997.08);
-insert into employee (name, gender, doj, salary) values ('Dulce', 'FEMALE', '2020-02-09', 76876.55);
-insert into employee (name, gender, doj, salary) values ('Ruthe', 'FEMALE', '2019-07-18', 53041.36);
-insert into employee (name, gender, doj, salary) values ('Jeddy', 'MALE', '2017-12-16', 21188.9);
-insert into employee (name, gender, doj, salary) values ('Lanie', 'FEMALE', '2021-09-08', 73731.73);
-insert into employee (name, gender, doj, salary) values ('Faulkner', 'MALE', '2017-05-12', 73915.29);
-insert into employee (name, gender, doj, salary) values ('Mikey', 'MALE', '2018-12-22', 75336.88);
-insert into employee (name, gender, doj, salary) values ('Tyrus', 'MALE', '2020-09-20', 76427.47);
-insert into employee (name, gender, doj, salary) values ('Chrotoem', 'MALE', '2021-05-31', 60484.88);
-insert into employee (name, gender, doj, salary) values ('Beulah', 'FEMALE', '2021-07-20', 99964.14);
-insert into employee (name, gender, doj, salary) values ('Upton', 'MALE', '2021-04-08', 63976.56);
-insert into employee (name, gender, doj, salary) values ('Deloria', 'FEMALE', '2018-12-29', 26326.16);
-insert into employee (name, gender, doj, salary) values ('Haroun', 'MALE', '2017-08-08', 26329.6);
-insert into employee (name, gender, doj, salary) values ('Shanda', 'FEMALE', '2020-12-19', 49797.68);
-insert into employee (name, gender, doj, salary) values ('Giordano', 'MALE', '2019-06-17', 25716.98);
-insert into employee (name, gender, doj, salary) values ('Davey', 'MALE', '2019-01-06', 39060.79);
-insert into employee (name, gender, doj, salary) values ('Kerk', 'MALE', '2017-02-09', 93625.67);
-insert into employee (name, gender, doj, salary) values ('Torrence', 'MALE', '2018-03-15', 58440.24);
-insert into employee (name, gender, doj, salary) values ('Nahum', 'MALE', '2021-11-22', 11770.48);
-insert into employee (name, gender, doj, salary) values ('Laverna', 'FEMALE', '2019-08-08', 24718.5);
-insert into employee (name, gender, doj, salary) values ('Boycie', 'MALE', '2021-07-22', 92810.93);
-insert into employee (name, gender, doj, salary) values ('Lenna', 'FEMALE', '2020-04-24', 85851.04);
-insert into employee (name, gender, doj, salary) values ('Dalston', 'MALE', '2020-02-21', 89188.91);
-insert into employee (name, gender, doj, salary) values ('Ellsworth', 'MALE', '2022-08-06', 74357.3);
-insert into employee (name, gender, doj, salary) values ('Giselbert', 'MALE', '2020-12-11', 35165.01);
-insert into employee (name, gender, doj, salary) values ('Herbie', 'MALE', '2019-08-04', 46009.13);
-insert into employee (name, gender, doj, salary) values ('Radcliffe', 'MALE', '2022-04-13', 39050.92);
-insert into employee (name, gender, doj, salary) values ('Libbey', 'FEMALE', '2022-04-17', 68463.61);
-insert into employee (name, gender, doj, salary) values ('Sheridan', 'MALE', '2017-06-29', 79000.17);
-insert into employee (name, gender, doj, salary) values ('Dieter', 'MALE', '2018-05-05', 45988.72);
-insert into employee (name, gender, doj, salary) values ('Vite', 'MALE', '2021-08-14', 53623.27);
-insert into employee (name, gender, doj, salary) values ('Pattie', 'FEMALE', '2017-09-04', 88652.19);
-insert into employee (name, gender, doj, salary) values ('Sylvia', 'FEMALE', '2020-04-28', 26697.53);
-insert into employee (name, gender, doj, salary) values ('Arv', 'MALE', '2020-01-29', 24834.46);
-insert into employee (name, gender, doj, salary) values ('Raddy', 'MALE', '2020-07-10', 81729.09);
-insert into employee (name, gender, doj, salary) values ('Giraud', 'MALE', '2018-10-25', 66211.07);
-insert into employee (name, gender, doj, salary) values ('Ram', 'MALE', '2017-11-02', 50770.14);
-insert into employee (name, gender, doj, salary) values ('Craggie', 'MALE', '2019-05-13', 11698.11);
-insert into employee (name, gender, doj, salary) values ('Jonie', 'FEMALE', '2021-05-14', 93558.43);
-insert into employee (name, gender, doj, salary) values ('Jemima', 'FEMALE', '2020-12-30', 67440.35);
-insert into employee (name, gender, doj, salary) values ('Bendicty', 'MALE', '2021-04-08', 31203.92);
-insert into employee (name, gender, doj, salary) values ('Laurianne', 'FEMALE', '2022-07-10', 39404.43);
-insert into employee (name, gender, doj, salary) values ('Lanna', 'FEMALE', '2019-03-14', 39736.9);
-insert into employee (name, gender, doj, salary) values ('Shirleen', 'FEMALE', '2018-04-13', 88042.98);
-insert into employee (name, gender, doj, salary) values ('Zerk', 'MALE', '2018-09-25', 74699.43);
-insert into employee (name, gender, doj, salary) values ('Ilaire', 'MALE', '2020-12-12', 92247.33);
-insert into employee (name, gender, doj, salary) values ('Wade', 'MALE', '2021-12-24', 25507.16);
-insert into employee (name, gender, doj, salary) values ('Tabitha', 'FEMALE', '2022-02-27', 85163.52);
-insert into employee (name, gender, doj, salary) values ('Norry', 'FEMALE', '2018-05-02', 96649.66);
-insert into employee (name, gender, doj, salary) values ('Cole', 'MALE', '2017-08-10', 99226.23);
-insert into employee (name, gender, doj, salary) values ('Ode', 'MALE', '2017-03-20', 66590.29);
-insert into employee (name, gender, doj, salary) values ('Tabbitha', 'FEMALE', '2019-12-12', 86380.45);
-insert into employee (name, gender, doj, salary) values ('Del', 'FEMALE', '2021-09-23', 91432.2);
-insert into employee (name, gender, doj, salary) values ('Candra', 'FEMALE', '2021-09-25', 39076.55);
-insert into employee (name, gender, doj, salary) values ('Joey', 'MALE', '2021-06-30', 48912.88);
-insert into employee (name, gender, doj, salary) values ('Lannie', 'MALE', '2017-11-19', 60877.07);
-insert into employee (name, gender, doj, salary) values ('Joane', 'FEMALE', '2020-01-29', 88186.07);
-insert into employee (name, gender, doj, salary) values ('Lesley', 'MALE', '2019-05-10', 13316.13);
-insert into employee (name, gender, doj, salary) values ('Basilio', 'MALE', '2021-11-28', 71399.93);
-insert into employee (name, gender, doj, salary) values ('Obed', 'MALE', '2018-11-26', 64696.44);
-insert into employee (name, gender, doj, salary) values ('Giff', 'MALE', '2019-08-07', 38282.73);
-insert into employee (name, gender, doj, salary) values ('Gordan', 'MALE', '2017-01-17', 60318.02);
-insert into employee (name, gender, doj, salary) values ('Angelico', 'MALE', '2019-02-14', 88098.98);
-insert into employee (name, gender, doj, salary) values ('Ginnie', 'FEMALE', '2017-01-08', 59994.07);
-insert into employee (name, gender, doj, salary) values ('Hogan', 'MALE', '2018-10-30', 85567.81);
-insert into employee (name, gender, doj, salary) values ('Cassie', 'FEMALE', '2021-09-11', 20352.32);
-insert into employee (name, gender, doj, salary) values ('Marv', 'MALE', '2021-04-04', 80959.26);
-insert into employee (name, gender, doj, salary) values ('Der', 'MALE', '2018-04-07', 52445.96);
-insert into employee (name, gender, doj, salary) values ('Marcelline', 'FEMALE', '2019-12-01', 67029.68);
\ No newline at end of file
+insert into employee (id, name, gender, doj, salary) values (1, 'Dorothee', 'FEMALE', '2019-08-10', 56977.51);
+insert into employee (id, name, gender, doj, salary) values (2, 'Domenico', 'MALE', '2020-10-11', 92940.19);
+insert into employee (id, name, gender, doj, salary) values (3, 'Easter', 'FEMALE', '2021-05-28', 25854.56);
+insert into employee (id, name, gender, doj, salary) values (4, 'Erastus', 'MALE', '2021-01-03', 40683.53);
+insert into employee (id, name, gender, doj, salary) values (5, 'Guillaume', 'MALE', '2021-09-25', 27027.14);
+insert into employee (id, name, gender, doj, salary) values (6, 'Maryl', 'FEMALE', '2018-11-01', 46478.51);
+insert into employee (id, name, gender, doj, salary) values (7, 'Lucais', 'MALE', '2021-02-09', 53336.34);
+insert into employee (id, name, gender, doj, salary) values (8, 'Eleanor', 'FEMALE', '2022-01-07', 94425.06);
+insert into employee (id, name, gender, doj, salary) values (9, 'Merla', 'FEMALE', '2020-06-22', 89087.34);
+insert into employee (id, name, gender, doj, salary) values (10, 'Bennie', 'MALE', '2022-04-21', 51933.9);
+insert into employee (id, name, gender, doj, salary) values (11, 'Franky', 'MALE', '2018-10-23', 29326.51);
+insert into employee (id, name, gender, doj, salary) values (12, 'Bernarr', 'MALE', '2019-11-18', 45972.36);
+insert into employee (id, name, gender, doj, salary) values (13, 'Marillin', 'FEMALE', '2017-07-22', 31756.57);
+insert into employee (id, name, gender, doj, salary) values (14, 'Raquel', 'FEMALE', '2022-06-21', 47463.5);
+insert into employee (id, name, gender, doj, salary) values (15, 'Diana', 'FEMALE', '2021-06-10', 68749.59);
+insert into employee (id, name, gender, doj, salary) values (16, 'Conant', 'MALE', '2018-10-07', 52354.5);
+insert into employee (id, name, gender, doj, salary) values (17, 'Moina', 'FEMALE', '2021-04-04', 84220.94);
+insert into employee (id, name, gender, doj, salary) values (18, 'Jobie', 'FEMALE', '2017-06-04', 19578.79);
+insert into employee (id, name, gender, doj, salary) values (19, 'Hailey', 'MALE', '2019-12-20', 28537.06);
+insert into employee (id, name, gender, doj, salary) values (20, 'Correy', 'FEMALE', '2021-08-09', 16570.26);
+insert into employee (id, name, gender, doj, salary) values (21, 'Berry', 'FEMALE', '2018-02-23', 22315.5);
+insert into employee (id, name, gender, doj, salary) values (22, 'Britney', 'FEMALE', '2018-05-12', 81592.98);
+insert into employee (id, name, gender, doj, salary) values (23, 'Emalia', 'FEMALE', '2022-05-19', 90447.6);
+insert into employee (id, name, gender, doj, salary) values (24, 'Kimbell', 'MALE', '2017-10-17', 47515.97);
+insert into employee (id, name, gender, doj, salary) values (25, 'Joan', 'FEMALE', '2020-08-14', 32871.12);
+insert into employee (id, name, gender, doj, salary) values (26, 'Jock', 'MALE', '2019-01-05', 15201.22);
+insert into employee (id, name, gender, doj, salary) values (27, 'Daria', 'FEMALE', '2018-12-04', 88945.1);
+insert into employee (id, name, gender, doj, salary) values (28, 'Roberta', 'FEMALE', '2019-10-15', 91711.73);
+insert into employee (id, name, gender, doj, salary) values (29, 'Cyndi', 'FEMALE', '2017-06-14', 46598.44);
+insert into employee (id, name, gender, doj, salary) values (30, 'Kyle', 'MALE', '2020-07-12', 26073.45);
+insert into employee (id, name, gender, doj, salary) values (31, 'Marven', 'MALE', '2019-04-15', 86956.91);
+insert into employee (id, name, gender, doj, salary) values (32, 'Chevalier', 'MALE', '2021-09-04', 63997.08);
+insert into employee (id, name, gender, doj, salary) values (33, 'Dulce', 'FEMALE', '2020-02-09', 76876.55);
+insert into employee (id, name, gender, doj, salary) values (34, 'Ruthe', 'FEMALE', '2019-07-18', 53041.36);
+insert into employee (id, name, gender, doj, salary) values (35, 'Jeddy', 'MALE', '2017-12-16', 21188.9);
+insert into employee (id, name, gender, doj, salary) values (36, 'Lanie', 'FEMALE', '2021-09-08', 73731.73);
+insert into employee (id, name, gender, doj, salary) values (37, 'Faulkner', 'MALE', '2017-05-12', 73915.29);
+insert into employee (id, name, gender, doj, salary) values (38, 'Mikey', 'MALE', '2018-12-22', 75336.88);
+insert into employee (id, name, gender, doj, salary) values (39, 'Tyrus', 'MALE', '2020-09-20', 76427.47);
+insert into employee (id, name, gender, doj, salary) values (40, 'Chrotoem', 'MALE', '2021-05-31', 60484.88);
+insert into employee (id, name, gender, doj, salary) values (41, 'Beulah', 'FEMALE', '2021-07-20', 99964.14);
+insert into employee (id, name, gender, doj, salary) values (42, 'Upton', 'MALE', '2021-04-08', 63976.56);
+insert into employee (id, name, gender, doj, salary) values (43, 'Deloria', 'FEMALE', '2018-12-29', 26326.16);
+insert into employee (id, name, gender, doj, salary) values (44, 'Haroun', 'MALE', '2017-08-08', 26329.6);
+insert into employee (id, name, gender, doj, salary) values (45, 'Shanda', 'FEMALE', '2020-12-19', 49797.68);
+insert into employee (id, name, gender, doj, salary) values (46, 'Giordano', 'MALE', '2019-06-17', 25716.98);
+insert into employee (id, name, gender, doj, salary) values (47, 'Davey', 'MALE', '2019-01-06', 39060.79);
+insert into employee (id, name, gender, doj, salary) values (48, 'Kerk', 'MALE', '2017-02-09', 93625.67);
+insert into employee (id, name, gender, doj, salary) values (49, 'Torrence', 'MALE', '2018-03-15', 58440.24);
+insert into employee (id, name, gender, doj, salary) values (50, 'Nahum', 'MALE', '2021-11-22', 11770.48);
+insert into employee (id, name, gender, doj, salary) values (51, 'Laverna', 'FEMALE', '2019-08-08', 24718.5);
+insert into employee (id, name, gender, doj, salary) values (52, 'Boycie', 'MALE', '2021-07-22', 92810.93);
+insert into employee (id, name, gender, doj, salary) values (53, 'Lenna', 'FEMALE', '2020-04-24', 85851.04);
+insert into employee (id, name, gender, doj, salary) values (54, 'Dalston', 'MALE', '2020-02-21', 89188.91);
+insert into employee (id, name, gender, doj, salary) values (55, 'Ellsworth', 'MALE', '2022-08-06', 74357.3);
+insert into employee (id, name, gender, doj, salary) values (56, 'Giselbert', 'MALE', '2020-12-11', 35165.01);
+insert into employee (id, name, gender, doj, salary) values (57, 'Herbie', 'MALE', '2019-08-04', 46009.13);
+insert into employee (id, name, gender, doj, salary) values (58, 'Radcliffe', 'MALE', '2022-04-13', 39050.92);
+insert into employee (id, name, gender, doj, salary) values (59, 'Libbey', 'FEMALE', '2022-04-17', 68463.61);
+insert into employee (id, name, gender, doj, salary) values (60, 'Sheridan', 'MALE', '2017-06-29', 79000.17);
+insert into employee (id, name, gender, doj, salary) values (61, 'Dieter', 'MALE', '2018-05-05', 45988.72);
+insert into employee (id, name, gender, doj, salary) values (62, 'Vite', 'MALE', '2021-08-14', 53623.27);
+insert into employee (id, name, gender, doj, salary) values (63, 'Pattie', 'FEMALE', '2017-09-04', 88652.19);
+insert into employee (id, name, gender, doj, salary) values (64, 'Sylvia', 'FEMALE', '2020-04-28', 26697.53);
+insert into employee (id, name, gender, doj, salary) values (65, 'Arv', 'MALE', '2020-01-29', 24834.46);
+insert into employee (id, name, gender, doj, salary) values (66, 'Raddy', 'MALE', '2020-07-10', 81729.09);
+insert into employee (id, name, gender, doj, salary) values (67, 'Giraud', 'MALE', '2018-10-25', 66211.07);
+insert into employee (id, name, gender, doj, salary) values (68, 'Ram', 'MALE', '2017-11-02', 50770.14);
+insert into employee (id, name, gender, doj, salary) values (69, 'Craggie', 'MALE', '2019-05-13', 11698.11);
+insert into employee (id, name, gender, doj, salary) values (70, 'Jonie', 'FEMALE', '2021-05-14', 93558.43);
+insert into employee (id, name, gender, doj, salary) values (71, 'Jemima', 'FEMALE', '2020-12-30', 67440.35);
+insert into employee (id, name, gender, doj, salary) values (72, 'Bendicty', 'MALE', '2021-04-08', 31203.92);
+insert into employee (id, name, gender, doj, salary) values (73, 'Laurianne', 'FEMALE', '2022-07-10', 39404.43);
+insert into employee (id, name, gender, doj, salary) values (74, 'Lanna', 'FEMALE', '2019-03-14', 39736.9);
+insert into employee (id, name, gender, doj, salary) values (75, 'Shirleen', 'FEMALE', '2018-04-13', 88042.98);
+insert into employee (id, name, gender, doj, salary) values (76, 'Zerk', 'MALE', '2018-09-25', 74699.43);
+insert into employee (id, name, gender, doj, salary) values (77, 'Ilaire', 'MALE', '2020-12-12', 92247.33);
+insert into employee (id, name, gender, doj, salary) values (78, 'Wade', 'MALE', '2021-12-24', 25507.16);
+insert into employee (id, name, gender, doj, salary) values (79, 'Tabitha', 'FEMALE', '2022-02-27', 85163.52);
+insert into employee (id, name, gender, doj, salary) values (80, 'Norry', 'FEMALE', '2018-05-02', 96649.66);
+insert into employee (id, name, gender, doj, salary) values (81, 'Cole', 'MALE', '2017-08-10', 99226.23);
+insert into employee (id, name, gender, doj, salary) values (82, 'Ode', 'MALE', '2017-03-20', 66590.29);
+insert into employee (id, name, gender, doj, salary) values (83, 'Tabbitha', 'FEMALE', '2019-12-12', 86380.45);
+insert into employee (id, name, gender, doj, salary) values (84, 'Del', 'FEMALE', '2021-09-23', 91432.2);
+insert into employee (id, name, gender, doj, salary) values (85, 'Candra', 'FEMALE', '2021-09-25', 39076.55);
+insert into employee (id, name, gender, doj, salary) values (86, 'Joey', 'MALE', '2021-06-30', 48912.88);
+insert into employee (id, name, gender, doj, salary) values (87, 'Lannie', 'MALE', '2017-11-19', 60877.07);
+insert into employee (id, name, gender, doj, salary) values (88, 'Joane', 'FEMALE', '2020-01-29', 88186.07);
+insert into employee (id, name, gender, doj, salary) values (89, 'Lesley', 'MALE', '2019-05-10', 13316.13);
+insert into employee (id, name, gender, doj, salary) values (90, 'Basilio', 'MALE', '2021-11-28', 71399.93);
+insert into employee (id, name, gender, doj, salary) values (91, 'Obed', 'MALE', '2018-11-26', 64696.44);
+insert into employee (id, name, gender, doj, salary) values (92, 'Giff', 'MALE', '2019-08-07', 38282.73);
+insert into employee (id, name, gender, doj, salary) values (93, 'Gordan', 'MALE', '2017-01-17', 60318.02);
+insert into employee (id, name, gender, doj, salary) values (94, 'Angelico', 'MALE', '2019-02-14', 88098.98);
+insert into employee (id, name, gender, doj, salary) values (95, 'Ginnie', 'FEMALE', '2017-01-08', 59994.07);
+insert into employee (id, name, gender, doj, salary) values (96, 'Hogan', 'MALE', '2018-10-30', 85567.81);
+insert into employee (id, name, gender, doj, salary) values (97, 'Cassie', 'FEMALE', '2021-09-11', 20352.32);
+insert into employee (id, name, gender, doj, salary) values (98, 'Marv', 'MALE', '2021-04-04', 80959.26);
+insert into employee (id, name, gender, doj, salary) values (99, 'Der', 'MALE', '2018-04-07', 52445.96);
+insert into employee (id, name, gender, doj, salary) values (100, 'Marcelline', 'FEMALE', '2019-12-01', 67029.68);
+alter sequence employee_seq restart with 151;
\ No newline at end of file